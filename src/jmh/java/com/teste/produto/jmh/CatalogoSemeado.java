@@ -0,0 +1,87 @@
+package com.teste.produto.jmh;
+
+import com.teste.produto.ProdutoManagerApplication;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.service.IndiceTrigramaProduto;
+import com.teste.produto.service.ProdutoService;
+import com.teste.produto.service.ValorEstoqueService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A aplicação sem servidor web, com um banco H2 próprio semeado com {@code tamanho} produtos em
+ * dez categorias. Os índices de busca e o valor do estoque são reconstruídos depois da carga, que
+ * não passa pelos serviços.
+ */
+@State(Scope.Benchmark)
+public class CatalogoSemeado {
+
+    static final String[] PALAVRAS = {"Notebook", "Mouse", "Teclado", "Monitor", "Cabo", "Headset", "Webcam", "Impressora"};
+
+    @Param({"1000"})
+    public int tamanho;
+
+    ConfigurableApplicationContext contexto;
+    ProdutoService produtoService;
+    long primeiroId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ProdutoManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh",
+                        "--reativo.porta=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.teste.produto=WARN");
+        produtoService = contexto.getBean(ProdutoService.class);
+        semear();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private void semear() {
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setNome("Categoria JMH " + i);
+            categorias.add(categoria);
+        }
+        categorias = contexto.getBean(CategoriaRepository.class).saveAll(categorias);
+
+        ProdutoRepository produtoRepository = contexto.getBean(ProdutoRepository.class);
+        List<Produto> lote = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            Produto produto = new Produto(PALAVRAS[i % PALAVRAS.length] + " JMH " + i, "Produto semeado " + i,
+                    BigDecimal.valueOf(10 + i % 990, 0).add(new BigDecimal("0.90")), i % 100);
+            produto.setCategoria(categorias.get(i % categorias.size()));
+            lote.add(produto);
+            if (lote.size() == 500 || i == tamanho - 1) {
+                List<Produto> salvos = produtoRepository.saveAll(lote);
+                if (primeiroId == 0) {
+                    primeiroId = salvos.get(0).getId();
+                }
+                lote.clear();
+            }
+        }
+        contexto.getBean(IndiceTrigramaProduto.class).reconstruir();
+        contexto.getBean(ValorEstoqueService.class).reconciliar();
+    }
+}
@@ -0,0 +1,109 @@
+package com.teste.produto.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Executa os benchmarks, grava o resultado em JSON e o compara com a baseline. Termina com código 1
+ * se algum benchmark piorou além da tolerância, o que faz o {@code mvn -Pjmh verify} falhar.
+ *
+ * <p>Propriedades: {@code jmh.inclui} (regex dos benchmarks), {@code jmh.tamanhos} (produtos
+ * semeados), {@code jmh.tolerancia} (0.20 = 20%), {@code jmh.forks}, {@code jmh.aquecimento},
+ * {@code jmh.iteracoes} e {@code jmh.atualizar-baseline=true} para gravar o resultado como a nova
+ * baseline. A baseline só vale para a máquina em que foi gerada.
+ */
+public final class ExecutarBenchmarks {
+
+    private ExecutarBenchmarks() {}
+
+    public static void main(String[] args) throws Exception {
+        Path resultado = Path.of(System.getProperty("jmh.resultado", "target/jmh/resultado.json"));
+        Path baseline = Path.of(System.getProperty("jmh.baseline", "src/jmh/baseline.json"));
+        double tolerancia = Double.parseDouble(System.getProperty("jmh.tolerancia", "0.20"));
+        Files.createDirectories(resultado.toAbsolutePath().getParent());
+
+        Options opcoes = new OptionsBuilder()
+                .include(System.getProperty("jmh.inclui", ".*"))
+                .param("tamanho", System.getProperty("jmh.tamanhos", "1000").split(","))
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.aquecimento", 3))
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(Integer.getInteger("jmh.iteracoes", 5))
+                .measurementTime(TimeValue.seconds(2))
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultado.toString())
+                .build();
+        new Runner(opcoes).run();
+
+        if (Boolean.getBoolean("jmh.atualizar-baseline")) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(resultado, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline atualizada: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("Sem baseline em " + baseline + "; rode com -Djmh.atualizar-baseline=true para criá-la");
+            return;
+        }
+        List<String> regressoes = comparar(ler(baseline), ler(resultado), tolerancia);
+        if (!regressoes.isEmpty()) {
+            System.out.println("Regressões acima de " + Math.round(tolerancia * 100) + "%: " + regressoes);
+            System.exit(1);
+        }
+    }
+
+    private static List<String> comparar(Map<String, Medida> anteriores, Map<String, Medida> atuais, double tolerancia) {
+        List<String> regressoes = new ArrayList<>();
+        System.out.printf("%n%-75s %14s %14s %9s%n", "benchmark", "baseline", "atual", "variação");
+        atuais.forEach((chave, atual) -> {
+            Medida anterior = anteriores.get(chave);
+            if (anterior == null) {
+                System.out.printf("%-75s %14s %14.3f %9s%n", chave, "-", atual.score(), "novo");
+                return;
+            }
+            // Em tempo médio, menor é melhor; em vazão, maior é melhor
+            double variacao = atual.score() / anterior.score() - 1;
+            double piora = atual.modo().equals("thrpt") ? -variacao : variacao;
+            boolean regressao = piora > tolerancia;
+            System.out.printf("%-75s %14.3f %14.3f %+8.1f%%%s%n", chave, anterior.score(), atual.score(),
+                    variacao * 100, regressao ? "  REGRESSÃO" : "");
+            if (regressao) {
+                regressoes.add(chave);
+            }
+        });
+        return regressoes;
+    }
+
+    private static Map<String, Medida> ler(Path arquivo) throws IOException {
+        Map<String, Medida> medidas = new LinkedHashMap<>();
+        for (JsonNode item : new ObjectMapper().readTree(arquivo.toFile())) {
+            Map<String, String> parametros = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> campos = item.path("params").fields();
+            campos.forEachRemaining(campo -> parametros.put(campo.getKey(), campo.getValue().asText()));
+            String nome = item.get("benchmark").asText().replace("com.teste.produto.jmh.", "");
+            String chave = parametros.isEmpty() ? nome : nome + " " + parametros;
+            JsonNode metrica = item.get("primaryMetric");
+            medidas.put(chave, new Medida(item.get("mode").asText(), metrica.get("score").asDouble()));
+        }
+        return medidas;
+    }
+
+    private record Medida(String modo, double score) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.teste.produto.jmh;
+
+import com.teste.produto.dto.ProdutoResumo;
+import com.teste.produto.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caminhos quentes de {@code ProdutoService} sobre o catálogo semeado, com tempo médio por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProdutoServiceBenchmark {
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @Benchmark
+    public Optional<Produto> buscarPorId(CatalogoSemeado catalogo) {
+        long id = catalogo.primeiroId + ThreadLocalRandom.current().nextInt(catalogo.tamanho);
+        return catalogo.produtoService.buscarPorId(id);
+    }
+
+    @Benchmark
+    public List<ProdutoResumo> buscarPorNome(CatalogoSemeado catalogo) {
+        String termo = CatalogoSemeado.PALAVRAS[ThreadLocalRandom.current().nextInt(CatalogoSemeado.PALAVRAS.length)];
+        return catalogo.produtoService.buscarPorNome(termo, 20);
+    }
+
+    @Benchmark
+    public BigDecimal calcularValorTotalEstoque(CatalogoSemeado catalogo) {
+        return catalogo.produtoService.calcularValorTotalEstoque();
+    }
+
+    // Cada chamada grava um produto novo: o catálogo cresce durante a medição
+    @Benchmark
+    public Produto salvar(CatalogoSemeado catalogo) {
+        return catalogo.produtoService.salvar(new Produto("Produto JMH salvo " + sequencia.incrementAndGet(), null,
+                new BigDecimal("19.90"), 5));
+    }
+}
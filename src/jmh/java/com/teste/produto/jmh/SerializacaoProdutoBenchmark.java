@@ -0,0 +1,65 @@
+package com.teste.produto.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de páginas de produtos com a configuração padrão de Jackson do Spring Boot, como nas
+ * respostas paginadas da API. Não depende do banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoProdutoBenchmark {
+
+    @Param({"20", "100"})
+    public int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private Page<Produto> pagina;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Categoria categoria = new Categoria();
+        categoria.setId(1L);
+        categoria.setNome("Periféricos");
+        categoria.setDescricao("Dispositivos de entrada e saída");
+        categoria.setVersao(0L);
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < tamanhoPagina; i++) {
+            Produto produto = new Produto("Produto " + i, "Descrição do produto " + i, new BigDecimal("123.45"), i);
+            produto.setId((long) i + 1);
+            produto.setVersao(3L);
+            produto.setVersaoAlteracao(1000L + i);
+            produto.setCategoria(categoria);
+            produtos.add(produto);
+        }
+        pagina = new PageImpl<>(produtos, PageRequest.of(0, tamanhoPagina), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,33 @@
+package com.teste.produto.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final URI CONFIGURACAO_SEGUNDO_NIVEL = URI.create("classpath:hibernate-cache.conf");
+
+    /**
+     * Entrega ao Hibernate o CacheManager do cache de segundo nível já criado pelo Caffeine, que lê
+     * o {@code classpath:} sozinho; pela propriedade {@code hibernate.javax.cache.uri} o Hibernate
+     * converte o recurso num URL {@code jar:} que o Caffeine não sabe ler dentro do jar executável.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel() {
+        return propriedades -> {
+            CachingProvider provedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            propriedades.put(ConfigSettings.CACHE_MANAGER,
+                    provedor.getCacheManager(CONFIGURACAO_SEGUNDO_NIVEL, CacheConfig.class.getClassLoader()));
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.teste.produto.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envolve o DataSource em {@link DataSourceLimitada}, com o limite igual ao tamanho do pool do
+ * Hikari. Ligado pelo perfil virtual-threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.limite-concorrencia.habilitado", havingValue = "true")
+@Slf4j
+public class ConcorrenciaBancoConfig {
+
+    private static final int TAMANHO_PADRAO_POOL = 10;
+
+    @Bean
+    static BeanPostProcessor limitarConcorrenciaBanco(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DataSourceLimitada) {
+                    return bean;
+                }
+                int limite = environment.getProperty("banco.limite-concorrencia.permissoes", Integer.class, TAMANHO_PADRAO_POOL);
+                // Sem spring.datasource.hikari.maximum-pool-size, o Hikari só define o tamanho ao iniciar o pool
+                if (bean instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+                    limite = hikari.getMaximumPoolSize();
+                }
+                Duration espera = environment.getProperty("banco.limite-concorrencia.espera", Duration.class, Duration.ofSeconds(30));
+                log.info("Uso concorrente do banco limitado a {} conexões (espera máxima {})", limite, espera);
+                return new DataSourceLimitada(dataSource, limite, espera);
+            }
+        };
+    }
+}
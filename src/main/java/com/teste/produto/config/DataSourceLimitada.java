@@ -0,0 +1,102 @@
+package com.teste.produto.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita quantas conexões podem estar em uso ao mesmo tempo. Com virtual threads não há limite de
+ * requisições simultâneas: sem esta fila, milhares delas disputariam o pool e estourariam o timeout
+ * de conexão. Aqui a espera é uma fila justa e barata, e a permissão volta quando a conexão é fechada.
+ */
+public class DataSourceLimitada extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int limite;
+    private final long esperaMs;
+
+    public DataSourceLimitada(DataSource dataSource, int limite, Duration espera) {
+        super(dataSource);
+        this.permissoes = new Semaphore(limite, true);
+        this.limite = limite;
+        this.esperaMs = espera.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberandoAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return liberandoAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getEmUso() {
+        return limite - permissoes.availablePermits();
+    }
+
+    public int getAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(esperaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Nenhuma conexão liberada em " + esperaMs + " ms (" + getAguardando() + " aguardando)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Espera por conexão interrompida", e);
+        }
+    }
+
+    private Connection liberandoAoFechar(Connection conexao) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            if (metodo.getName().equals("close")) {
+                if (liberada.compareAndSet(false, true)) {
+                    try {
+                        conexao.close();
+                    } finally {
+                        permissoes.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return metodo.invoke(conexao, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -0,0 +1,58 @@
+package com.teste.produto.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ativa o {@code @Timed} nos serviços: cada método público vira um timer {@code catalogo.servico}
+ * com as tags {@code class}, {@code method} e {@code exception}. As consultas dos repositórios
+ * são medidas pelo Spring Data ({@code spring.data.repository.invocations}).
+ *
+ * <p>Publica também a taxa de acertos do cache de segundo nível ({@code catalogo.cache.acertos}),
+ * por região e para o cache de consultas, acumulada desde a inicialização.
+ */
+@Configuration
+public class MetricasConfig {
+
+    private static final String[] REGIOES_CACHE = {"categoria"};
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder acertosCacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String regiao : REGIOES_CACHE) {
+                Gauge.builder("catalogo.cache.acertos", estatisticas, e -> taxaAcertos(e.getCacheRegionStatistics(regiao)))
+                        .tag("regiao", regiao)
+                        .description("Fração das leituras da região atendidas pelo cache de segundo nível")
+                        .register(registry);
+            }
+            Gauge.builder("catalogo.cache.acertos", estatisticas,
+                            e -> taxa(e.getQueryCacheHitCount(), e.getQueryCacheMissCount()))
+                    .tag("regiao", "consultas")
+                    .description("Fração das consultas cacheáveis atendidas pelo cache de consultas")
+                    .register(registry);
+        };
+    }
+
+    private static double taxaAcertos(CacheRegionStatistics regiao) {
+        return regiao == null ? 0 : taxa(regiao.getHitCount(), regiao.getMissCount());
+    }
+
+    private static double taxa(long acertos, long falhas) {
+        long total = acertos + falhas;
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+}
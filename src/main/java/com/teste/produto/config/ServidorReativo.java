@@ -0,0 +1,75 @@
+package com.teste.produto.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.produto.controller.ProdutoReativoHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Servidor Netty das leituras reativas, ao lado do Tomcat. A aplicação continua sendo servlet;
+ * este servidor só atende as rotas de {@link ProdutoReativoHandler}, com o ObjectMapper do Spring
+ * Boot. {@code reativo.porta=-1} desliga o servidor; {@code 0} escolhe uma porta livre.
+ */
+@Component
+@Slf4j
+public class ServidorReativo implements SmartLifecycle {
+
+    private final ProdutoReativoHandler produtoReativoHandler;
+    private final ObjectMapper objectMapper;
+    private final int porta;
+    private volatile DisposableServer servidor;
+
+    public ServidorReativo(ProdutoReativoHandler produtoReativoHandler, ObjectMapper objectMapper,
+                           @Value("${reativo.porta:8082}") int porta) {
+        this.produtoReativoHandler = produtoReativoHandler;
+        this.objectMapper = objectMapper;
+        this.porta = porta;
+    }
+
+    @Override
+    public void start() {
+        if (porta < 0) {
+            log.info("Servidor reativo desligado");
+            return;
+        }
+        HandlerStrategies estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ReactorHttpHandlerAdapter adaptador = new ReactorHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(produtoReativoHandler.rotas(), estrategias));
+        servidor = HttpServer.create().port(porta).handle(adaptador).bindNow();
+        log.info("Servidor reativo iniciado na porta {}", servidor.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer atual = servidor;
+        if (atual != null) {
+            atual.disposeNow();
+            servidor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return servidor != null;
+    }
+
+    // Porta efetiva, ou -1 com o servidor parado
+    public int getPorta() {
+        DisposableServer atual = servidor;
+        return atual != null ? atual.port() : -1;
+    }
+}
@@ -2,12 +2,18 @@ package com.teste.produto.controller;
 
 import com.teste.produto.model.Categoria;
 import com.teste.produto.service.CategoriaService;
+import com.teste.produto.service.VersaoCatalogo;
+import com.teste.produto.util.ETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,21 +21,28 @@ import java.util.Optional;
 @Tag(name = "Categorias", description = "Operações relacionadas ao gerenciamento de categorias de produtos")
 @RestController
 @RequestMapping("/api/categorias")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class CategoriaController {
 	 private final CategoriaService categoriaService;
+	 private final VersaoCatalogo versaoCatalogo;
 
-	    public CategoriaController(CategoriaService categoriaService) {
+	    public CategoriaController(CategoriaService categoriaService, VersaoCatalogo versaoCatalogo) {
 	        this.categoriaService = categoriaService;
+	        this.versaoCatalogo = versaoCatalogo;
 	    }
 
 	    @Operation(summary = "Listar todas as categorias", description = "Retorna uma lista com todas as categorias cadastradas")
 	    @ApiResponses(value = {
-	        @ApiResponse(responseCode = "200", description = "Lista de categorias retornada com sucesso")
+	        @ApiResponse(responseCode = "200", description = "Lista de categorias retornada com sucesso"),
+	        @ApiResponse(responseCode = "304", description = "As categorias não mudaram desde a ETag informada no If-None-Match")
 	    })
 	    @GetMapping
-	    public List<Categoria> listarTodas() {
-	        return categoriaService.listarTodas();
+	    public ResponseEntity<List<Categoria>> listarTodas(WebRequest request) {
+	        String etag = versaoCatalogo.etagCategorias();
+	        if (request.checkNotModified(etag)) {
+	            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+	        }
+	        return ResponseEntity.ok().eTag(etag).body(categoriaService.listarTodas());
 	    }
 
 	    @Operation(summary = "Criar nova categoria", description = "Cria uma nova categoria no sistema")
@@ -49,10 +62,16 @@ public class CategoriaController {
 	        @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
 	    })
 	    @GetMapping("/{id}")
-	    public Categoria buscarPorId(
-	        @Parameter(description = "ID da categoria") @PathVariable Long id) {
+	    public ResponseEntity<Categoria> buscarPorId(
+	        @Parameter(description = "ID da categoria") @PathVariable Long id,
+	        WebRequest request) {
 	        Optional<Categoria> categoria = categoriaService.buscarPorId(id);
-	        return categoria.orElseThrow(() -> new RuntimeException("Categoria não encontrada"));
+	        Categoria encontrada = categoria.orElseThrow(() -> new RuntimeException("Categoria não encontrada"));
+	        String etag = ETag.daVersao(encontrada.getVersao());
+	        if (request.checkNotModified(etag)) {
+	            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+	        }
+	        return ResponseEntity.ok().eTag(etag).body(encontrada);
 	    }
 
 	    @Operation(summary = "Atualizar categoria", description = "Atualiza os dados de uma categoria existente")
@@ -0,0 +1,60 @@
+package com.teste.produto.controller;
+
+import com.teste.produto.dto.ImportacaoJob;
+import com.teste.produto.service.ImportacaoProdutoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+
+@Tag(name = "Importação de Produtos", description = "Importação assíncrona de produtos a partir de arquivos CSV")
+@RestController
+@RequestMapping("/api/products/import")
+@CrossOrigin(origins = "*")
+public class ImportacaoController {
+
+    private final ImportacaoProdutoService importacaoProdutoService;
+
+    public ImportacaoController(ImportacaoProdutoService importacaoProdutoService) {
+        this.importacaoProdutoService = importacaoProdutoService;
+    }
+
+    @Operation(summary = "Importar produtos de um CSV", description = "Recebe um CSV com as colunas nome, descricao, preco, quantidade e categoria (nome) e agenda a importação em segundo plano")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Importação agendada"),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio"),
+        @ApiResponse(responseCode = "503", description = "Limite de importações simultâneas atingido")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacaoJob> importar(
+        @Parameter(description = "Arquivo CSV (separado por vírgula ou ponto e vírgula, UTF-8)") @RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        ImportacaoJob job = importacaoProdutoService.iniciar(arquivo);
+        URI local = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(local).body(job);
+    }
+
+    @Operation(summary = "Acompanhar importação", description = "Retorna o progresso e os erros por linha de uma importação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Situação da importação"),
+        @ApiResponse(responseCode = "404", description = "Importação não encontrada")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportacaoJob> buscarPorId(
+        @Parameter(description = "ID da importação") @PathVariable String jobId) {
+        return importacaoProdutoService.buscarPorId(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,9 +1,34 @@
 package com.teste.produto.controller;
 
+import com.teste.produto.dto.AjusteEstoque;
+import com.teste.produto.dto.AlteracoesCatalogo;
+import com.teste.produto.dto.EstatisticasAcumuladorEstoque;
+import com.teste.produto.dto.MovimentoEstoque;
+import com.teste.produto.dto.PaginaCursor;
+import com.teste.produto.dto.ProdutoResumo;
+import com.teste.produto.dto.ReconciliacaoValorEstoque;
+import com.teste.produto.dto.ResultadoItemLote;
+import com.teste.produto.dto.SaldoLivroEstoque;
+import com.teste.produto.dto.SugestaoProduto;
+import com.teste.produto.dto.ValorEstoquePorCategoria;
+import com.teste.produto.model.MovimentacaoEstoque;
 import com.teste.produto.model.Produto;
+import com.teste.produto.service.AcumuladorEstoque;
+import com.teste.produto.service.CanalEventosCatalogo;
+import com.teste.produto.service.EstoqueService;
+import com.teste.produto.service.ExportacaoProdutoService;
+import com.teste.produto.service.LivroEstoqueService;
+import com.teste.produto.service.ProdutoLoteService;
 import com.teste.produto.service.ProdutoService;
+import com.teste.produto.service.SincronizacaoCatalogoService;
+import com.teste.produto.service.ValorEstoqueService;
+import com.teste.produto.service.VersaoCatalogo;
+import com.teste.produto.util.ETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,44 +38,143 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Tag(name = "Produtos", description = "Operações relacionadas ao gerenciamento de produtos")
 @RestController
 @RequestMapping("/api/products")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class ProdutoController {
     
     @Autowired
     private ProdutoService produtoService;
+
+    @Autowired
+    private ExportacaoProdutoService exportacaoProdutoService;
+
+    @Autowired
+    private ProdutoLoteService produtoLoteService;
+
+    @Autowired
+    private ValorEstoqueService valorEstoqueService;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private AcumuladorEstoque acumuladorEstoque;
+
+    @Autowired
+    private LivroEstoqueService livroEstoqueService;
+
+    @Autowired
+    private CanalEventosCatalogo canalEventosCatalogo;
+
+    @Autowired
+    private SincronizacaoCatalogoService sincronizacaoCatalogoService;
     
-    @Operation(summary = "Listar todos os produtos", description = "Retorna uma lista com todos os produtos cadastrados")
+    @Operation(summary = "Listar todos os produtos", description = "Retorna um resumo (ID, nome, descrição, preço, quantidade e nome da categoria) de todos os produtos cadastrados; o produto completo fica em GET /{id}")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso")
+        @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "O catálogo não mudou desde a ETag informada no If-None-Match")
     })
     @GetMapping
-    public ResponseEntity<List<Produto>> listarTodos() {
-        List<Produto> produtos = produtoService.listarTodos();
-        return ResponseEntity.ok(produtos);
+    public ResponseEntity<List<ProdutoResumo>> listarTodos(WebRequest request) {
+        return seModificado(request, produtoService::listarTodos);
+    }
+    
+    @Operation(summary = "Exportar catálogo completo", description = "Transmite todos os produtos em NDJSON (um produto JSON por linha) sem carregar o catálogo em memória")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catálogo transmitido com sucesso")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = saida -> exportacaoProdutoService.exportarCatalogo(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+    
+    @Operation(summary = "Alterações do catálogo desde uma versão", description = "Produtos e categorias criados ou alterados e os removidos depois da versão informada, "
+        + "em ordem de versão. Comece com since=0 e use a versão retornada na próxima chamada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alterações posteriores à versão; com ressincronizar=true, recarregue o catálogo e continue da versão retornada"),
+        @ApiResponse(responseCode = "400", description = "Versão inválida")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<AlteracoesCatalogo> alteracoes(
+        @Parameter(description = "Versão da última sincronização (0 para tudo)") @RequestParam(defaultValue = "0") long since,
+        @Parameter(description = "Quantidade máxima de alterações") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(sincronizacaoCatalogoService.alteracoesDesde(since, limit));
+    }
+
+    @Operation(summary = "Eventos do catálogo", description = "Server-Sent Events com os produtos e categorias criados, atualizados e removidos. "
+        + "O evento resync indica que eventos foram perdidos e as listagens devem ser recarregadas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fluxo de eventos aberto"),
+        @ApiResponse(responseCode = "503", description = "Limite de assinantes atingido")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(
+        @Parameter(description = "ID do último evento recebido, enviado pelo EventSource ao reconectar") @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return canalEventosCatalogo.assinar(ultimoEventoId);
+    }
+
+    @Operation(summary = "Listar produtos por cursor", description = "Retorna uma página de produtos ordenada por ID e o cursor opaco para a próxima página")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de produtos retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<PaginaCursor<ProdutoResumo>> listarPorCursor(
+        @Parameter(description = "Cursor retornado pela página anterior (vazio para a primeira página)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
+        WebRequest request) {
+        return seModificado(request, () -> produtoService.listarPorCursor(cursor, size));
     }
     
     @Operation(summary = "Buscar produto por ID", description = "Retorna um produto específico pelo seu identificador único")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Produto encontrado"),
+        @ApiResponse(responseCode = "200", description = "Produto encontrado; sem ETag enquanto houver ajuste de estoque write-behind a gravar"),
         @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Produto> buscarPorId(
-        @Parameter(description = "ID do produto a ser buscado") @PathVariable Long id) {
-        Optional<Produto> produto = produtoService.buscarPorId(id);
-        return produto.map(ResponseEntity::ok)
-                     .orElse(ResponseEntity.notFound().build());
+        @Parameter(description = "ID do produto a ser buscado") @PathVariable Long id,
+        WebRequest request) {
+        Optional<AcumuladorEstoque.Leitura> leitura = produtoService.buscarComPendentes(id);
+        if (leitura.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Produto produto = leitura.get().produto();
+        // A quantidade com deltas pendentes ainda não tem versão própria
+        if (leitura.get().comPendentes()) {
+            return ResponseEntity.ok(produto);
+        }
+        String etag = ETag.doProduto(produto);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(produto);
     }
     
     @Operation(summary = "Criar novo produto", description = "Cria um novo produto no sistema")
@@ -69,29 +193,112 @@ public class ProdutoController {
         }
     }
     
+    @Operation(summary = "Criar ou atualizar produtos em lote", description = "Recebe um array JSON de produtos, lido de forma incremental, e grava em lotes JDBC. Itens com ID atualizam o produto existente; os demais são criados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultado de cada item do lote"),
+        @ApiResponse(responseCode = "400", description = "Corpo da requisição não é um array JSON válido")
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Array de produtos",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Produto.class))))
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ResultadoItemLote>> processarLote(@Parameter(hidden = true) InputStream corpo) throws IOException {
+        List<ResultadoItemLote> resultados = produtoLoteService.processar(corpo);
+        return ResponseEntity.ok(resultados);
+    }
+    
     @Operation(summary = "Atualizar produto", description = "Atualiza os dados de um produto existente")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Produto atualizado com sucesso"),
         @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
-        @ApiResponse(responseCode = "404", description = "Produto não encontrado")
+        @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+        @ApiResponse(responseCode = "409", description = "A nova quantidade ficaria abaixo do total reservado"),
+        @ApiResponse(responseCode = "412", description = "O produto foi alterado desde a versão informada no If-Match")
     })
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizar(
         @Parameter(description = "ID do produto a ser atualizado") @PathVariable Long id, 
+        @Parameter(description = "ETag obtida na leitura do produto") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Parameter(description = "Novos dados do produto") @Valid @RequestBody Produto produto) {
         try {
-            Produto produtoAtualizado = produtoService.atualizar(id, produto);
-            return ResponseEntity.ok(produtoAtualizado);
+            Produto produtoAtualizado = produtoService.atualizar(id, produto, ETag.versaoEsperada(ifMatch));
+            return ResponseEntity.ok().eTag(ETag.doProduto(produtoAtualizado)).body(produtoAtualizado);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
+    @Operation(summary = "Ajustar estoque", description = "Soma o delta (positivo ou negativo) à quantidade do produto em uma única operação atômica")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estoque ajustado"),
+        @ApiResponse(responseCode = "202", description = "Ajuste aceito no modo write-behind; será gravado no próximo intervalo"),
+        @ApiResponse(responseCode = "400", description = "Delta fora do limite ou quantidade acima do máximo"),
+        @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+        @ApiResponse(responseCode = "409", description = "O ajuste deixaria o estoque negativo")
+    })
+    @PatchMapping("/{id}/stock")
+    public ResponseEntity<Produto> ajustarEstoque(
+        @Parameter(description = "ID do produto") @PathVariable Long id,
+        @Parameter(description = "Diferença a aplicar na quantidade") @Valid @RequestBody AjusteEstoque ajuste) {
+        if (acumuladorEstoque.isHabilitado()) {
+            return ResponseEntity.accepted().body(acumuladorEstoque.acumular(id, ajuste.getDelta()));
+        }
+        Produto produto = estoqueService.ajustar(id, ajuste.getDelta());
+        return ResponseEntity.ok().eTag(ETag.doProduto(produto)).body(produto);
+    }
+
+    @Operation(summary = "Estatísticas do write-behind de estoque", description = "Movimentos pendentes e gravados, razão de coalescência e tempos de gravação do modo write-behind")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas do acumulador de estoque")
+    })
+    @GetMapping("/stock/write-behind")
+    public ResponseEntity<EstatisticasAcumuladorEstoque> estatisticasWriteBehind() {
+        return ResponseEntity.ok(acumuladorEstoque.estatisticas());
+    }
+
+    @Operation(summary = "Movimentações de estoque do produto", description = "Lançamentos do livro de estoque do produto no intervalo [de, ate), em ordem cronológica, com o motivo de cada alteração")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de movimentações"),
+        @ApiResponse(responseCode = "400", description = "Intervalo inválido")
+    })
+    @GetMapping("/{id}/movements")
+    public ResponseEntity<Page<MovimentacaoEstoque>> listarMovimentacoes(
+        @Parameter(description = "ID do produto") @PathVariable Long id,
+        @Parameter(description = "Início do intervalo (ISO-8601, inclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant de,
+        @Parameter(description = "Fim do intervalo (ISO-8601, exclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant ate,
+        @Parameter(description = "Número da página (iniciando em 0)") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(livroEstoqueService.listar(id, de, ate, PageRequest.of(page, size)));
+    }
+
+    @Operation(summary = "Saldo do produto pelo livro de estoque", description = "Quantidade calculada pelo saldo consolidado mais os lançamentos recentes, comparada com a quantidade gravada no produto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Saldo pelo livro de estoque")
+    })
+    @GetMapping("/{id}/movements/balance")
+    public ResponseEntity<SaldoLivroEstoque> saldoLivroEstoque(
+        @Parameter(description = "ID do produto") @PathVariable Long id) {
+        return ResponseEntity.ok(livroEstoqueService.saldo(id));
+    }
+
+    @Operation(summary = "Ajustar estoque em lote", description = "Aplica vários movimentos de estoque em uma transação: se algum falhar, nenhum é aplicado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Produtos com o estoque ajustado, em ordem de ID"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, grande demais ou com movimentos incompletos"),
+        @ApiResponse(responseCode = "404", description = "Algum produto não foi encontrado"),
+        @ApiResponse(responseCode = "409", description = "Algum ajuste deixaria o estoque negativo")
+    })
+    @PatchMapping("/stock")
+    public ResponseEntity<List<Produto>> ajustarEstoqueEmLote(
+        @Parameter(description = "Movimentos de estoque") @RequestBody List<MovimentoEstoque> movimentos) {
+        return ResponseEntity.ok(estoqueService.ajustar(movimentos));
+    }
+
     @Operation(summary = "Deletar produto", description = "Remove um produto do sistema")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Produto deletado com sucesso"),
         @ApiResponse(responseCode = "400", description = "Erro ao deletar produto"),
-        @ApiResponse(responseCode = "404", description = "Produto não encontrado")
+        @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+        @ApiResponse(responseCode = "409", description = "O produto tem reservas ativas ou confirmadas ainda não baixadas")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletar(
@@ -104,15 +311,27 @@ public class ProdutoController {
         }
     }
     
-    @Operation(summary = "Buscar produtos por nome", description = "Busca produtos que contêm o nome especificado")
+    @Operation(summary = "Buscar produtos por nome", description = "Busca produtos que contêm o nome especificado, ignorando acentos e maiúsculas, ordenados por relevância")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de produtos encontrados")
     })
     @GetMapping("/search")
-    public ResponseEntity<List<Produto>> buscarPorNome(
-        @Parameter(description = "Nome ou parte do nome do produto") @RequestParam String nome) {
-        List<Produto> produtos = produtoService.buscarPorNome(nome);
-        return ResponseEntity.ok(produtos);
+    public ResponseEntity<List<ProdutoResumo>> buscarPorNome(
+        @Parameter(description = "Nome ou parte do nome do produto") @RequestParam String nome,
+        @Parameter(description = "Quantidade máxima de resultados") @RequestParam(required = false) Integer limite,
+        WebRequest request) {
+        return seModificado(request, () -> produtoService.buscarPorNome(nome, limite));
+    }
+    
+    @Operation(summary = "Sugerir nomes de produtos", description = "Autocompletar: retorna ID e nome dos produtos cujo nome ou alguma palavra do nome começa pelo prefixo, sem diferenciar acentos e maiúsculas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de sugestões")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SugestaoProduto>> sugerir(
+        @Parameter(description = "Início do nome ou de uma palavra do nome") @RequestParam String prefix,
+        @Parameter(description = "Quantidade máxima de sugestões") @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(produtoService.sugerir(prefix, limite));
     }
     
     @Operation(summary = "Buscar produtos com estoque baixo (paginado)", description = "Retorna produtos com quantidade menor ou igual ao valor especificado com paginação")
@@ -120,18 +339,32 @@ public class ProdutoController {
         @ApiResponse(responseCode = "200", description = "Página de produtos com estoque baixo")
     })
     @GetMapping("/low-stock")
-    public ResponseEntity<Page<Produto>> buscarProdutosComQuantidadeBaixa(
+    public ResponseEntity<Page<ProdutoResumo>> buscarProdutosComQuantidadeBaixa(
         @Parameter(description = "Quantidade máxima para considerar estoque baixo") @RequestParam(defaultValue = "10") Integer quantidade,
         @Parameter(description = "Número da página (iniciando em 0)") @RequestParam(defaultValue = "0") int page,
         @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
         @Parameter(description = "Campo para ordenação") @RequestParam(defaultValue = "quantidade") String sortBy,
-        @Parameter(description = "Direção da ordenação (asc ou desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+        @Parameter(description = "Direção da ordenação (asc ou desc)") @RequestParam(defaultValue = "asc") String sortDir,
+        WebRequest request) {
 
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        Page<Produto> produtos = produtoService.buscarProdutosComQuantidadeBaixa(quantidade, pageable);
-        return ResponseEntity.ok(produtos);
+        return seModificado(request, () -> produtoService.buscarProdutosComQuantidadeBaixa(quantidade, pageable));
+    }
+
+    @Operation(summary = "Buscar produtos com estoque baixo por cursor", description = "Retorna produtos com quantidade menor ou igual ao valor especificado, ordenados por quantidade e ID, com paginação por cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de produtos com estoque baixo"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/low-stock/scroll")
+    public ResponseEntity<PaginaCursor<ProdutoResumo>> buscarProdutosComQuantidadeBaixaPorCursor(
+        @Parameter(description = "Quantidade máxima para considerar estoque baixo") @RequestParam(defaultValue = "10") Integer quantidade,
+        @Parameter(description = "Cursor retornado pela página anterior (vazio para a primeira página)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
+        WebRequest request) {
+        return seModificado(request, () -> produtoService.buscarProdutosComQuantidadeBaixaPorCursor(quantidade, cursor, size));
     }
 
     @Operation(summary = "Calcular valor total do estoque", description = "Retorna o valor total do estoque (preço × quantidade) de todos os produtos")
@@ -144,23 +377,64 @@ public class ProdutoController {
         return ResponseEntity.ok(valorTotal);
     }
 
+    @Operation(summary = "Valor do estoque por categoria", description = "Retorna o valor do estoque de cada categoria (ID 0 agrupa os produtos sem categoria)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Valor do estoque por categoria")
+    })
+    @GetMapping("/stock-value/by-category")
+    public ResponseEntity<List<ValorEstoquePorCategoria>> listarValorEstoquePorCategoria() {
+        return ResponseEntity.ok(valorEstoqueService.listarPorCategoria());
+    }
+
+    @Operation(summary = "Reconciliar valor do estoque", description = "Recalcula o valor do estoque a partir dos produtos, corrige e informa as divergências encontradas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reconciliação executada")
+    })
+    @PostMapping("/stock-value/reconcile")
+    public ResponseEntity<ReconciliacaoValorEstoque> reconciliarValorEstoque() {
+        return ResponseEntity.ok(valorEstoqueService.reconciliar());
+    }
+
     @Operation(summary = "Listar produtos por categoria (paginado)", description = "Retorna produtos de uma categoria específica com paginação")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Página de produtos da categoria")
     })
     @GetMapping("/category/{categoriaId}")
-    public ResponseEntity<Page<Produto>> buscarProdutosPorCategoria(
+    public ResponseEntity<Page<ProdutoResumo>> buscarProdutosPorCategoria(
         @Parameter(description = "ID da categoria") @PathVariable Long categoriaId,
         @Parameter(description = "Número da página (iniciando em 0)") @RequestParam(defaultValue = "0") int page,
         @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
         @Parameter(description = "Campo para ordenação") @RequestParam(defaultValue = "nome") String sortBy,
-        @Parameter(description = "Direção da ordenação (asc ou desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+        @Parameter(description = "Direção da ordenação (asc ou desc)") @RequestParam(defaultValue = "asc") String sortDir,
+        WebRequest request) {
 
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        Page<Produto> produtos = produtoService.buscarProdutosPorCategoria(categoriaId, pageable);
-        return ResponseEntity.ok(produtos);
+        return seModificado(request, () -> produtoService.buscarProdutosPorCategoria(categoriaId, pageable));
+    }
+
+    @Operation(summary = "Listar produtos por categoria por cursor", description = "Retorna produtos de uma categoria ordenados por nome e ID, com paginação por cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de produtos da categoria"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/category/{categoriaId}/scroll")
+    public ResponseEntity<PaginaCursor<ProdutoResumo>> buscarProdutosPorCategoriaPorCursor(
+        @Parameter(description = "ID da categoria") @PathVariable Long categoriaId,
+        @Parameter(description = "Cursor retornado pela página anterior (vazio para a primeira página)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
+        WebRequest request) {
+        return seModificado(request, () -> produtoService.buscarProdutosPorCategoriaPorCursor(categoriaId, cursor, size));
+    }
+
+    // A ETag vem do contador de alterações do catálogo: com If-None-Match atual, responde 304 sem consultar o banco
+    private <T> ResponseEntity<T> seModificado(WebRequest request, Supplier<T> consulta) {
+        String etag = versaoCatalogo.etagProdutos();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(consulta.get());
     }
 }
 
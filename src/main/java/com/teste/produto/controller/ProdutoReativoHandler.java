@@ -0,0 +1,84 @@
+package com.teste.produto.controller;
+
+import com.teste.produto.dto.ErrorResponse;
+import com.teste.produto.model.Produto;
+import com.teste.produto.service.ProdutoReativoService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Leituras de {@link ProdutoController} em WebFlux, servidas por {@code ServidorReativo} nos
+ * mesmos caminhos, em outra porta. As listas são enviadas conforme saem do banco, no ritmo em que
+ * o cliente consome; com {@code Accept: application/x-ndjson}, um produto por linha.
+ */
+@Component
+public class ProdutoReativoHandler {
+
+    private final ProdutoReativoService produtoReativoService;
+
+    public ProdutoReativoHandler(ProdutoReativoService produtoReativoService) {
+        this.produtoReativoService = produtoReativoService;
+    }
+
+    public RouterFunction<ServerResponse> rotas() {
+        return RouterFunctions.route()
+                .path("/api/products", rotas -> rotas
+                        .GET("/search", this::buscarPorNome)
+                        .GET("/low-stock", this::buscarComQuantidadeBaixa)
+                        .GET("/stock-value", this::calcularValorTotalEstoque)
+                        .GET("/category/{categoriaId}", this::buscarPorCategoria)
+                        .GET("/{id:\\d+}", this::buscarPorId))
+                // Os parâmetros são lidos antes de o Mono existir; o defer também captura esses erros
+                .filter((requisicao, proximo) -> Mono.defer(() -> proximo.handle(requisicao))
+                        .onErrorResume(IllegalArgumentException.class, erro -> ServerResponse.badRequest()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(new ErrorResponse("Parâmetro inválido: " + erro.getMessage()))))
+                .build();
+    }
+
+    Mono<ServerResponse> buscarPorId(ServerRequest requisicao) {
+        return produtoReativoService.buscarPorId(Long.valueOf(requisicao.pathVariable("id")))
+                .flatMap(produto -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(produto))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    Mono<ServerResponse> buscarPorNome(ServerRequest requisicao) {
+        String nome = requisicao.queryParam("nome")
+                .orElseThrow(() -> new IllegalArgumentException("nome é obrigatório"));
+        return lista(requisicao, produtoReativoService.buscarPorNome(nome, inteiro(requisicao, "limite", 100)));
+    }
+
+    Mono<ServerResponse> buscarComQuantidadeBaixa(ServerRequest requisicao) {
+        return lista(requisicao, produtoReativoService.buscarComQuantidadeBaixa(
+                inteiro(requisicao, "quantidade", 10), inteiro(requisicao, "limite", 100)));
+    }
+
+    Mono<ServerResponse> buscarPorCategoria(ServerRequest requisicao) {
+        return lista(requisicao, produtoReativoService.buscarPorCategoria(
+                Long.valueOf(requisicao.pathVariable("categoriaId")), inteiro(requisicao, "limite", 100)));
+    }
+
+    Mono<ServerResponse> calcularValorTotalEstoque(ServerRequest requisicao) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(produtoReativoService.calcularValorTotalEstoque(), BigDecimal.class);
+    }
+
+    private Mono<ServerResponse> lista(ServerRequest requisicao, Flux<Produto> produtos) {
+        MediaType tipo = requisicao.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(tipo).body(produtos, Produto.class);
+    }
+
+    private static int inteiro(ServerRequest requisicao, String nome, int padrao) {
+        return requisicao.queryParam(nome).map(Integer::valueOf).orElse(padrao);
+    }
+}
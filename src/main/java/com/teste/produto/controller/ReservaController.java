@@ -0,0 +1,96 @@
+package com.teste.produto.controller;
+
+import com.teste.produto.dto.DisponibilidadeProduto;
+import com.teste.produto.dto.NovaReserva;
+import com.teste.produto.model.Reserva;
+import com.teste.produto.service.ReservaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Tag(name = "Reservas", description = "Reservas temporárias de estoque para o checkout")
+@RestController
+@RequestMapping("/api/reservas")
+@CrossOrigin(origins = "*")
+public class ReservaController {
+
+    private final ReservaService reservaService;
+
+    public ReservaController(ReservaService reservaService) {
+        this.reservaService = reservaService;
+    }
+
+    @Operation(summary = "Reservar estoque", description = "Segura a quantidade do produto até a confirmação, a liberação ou o fim do prazo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Reserva criada"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
+        @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Quantidade disponível insuficiente")
+    })
+    @PostMapping
+    public ResponseEntity<Reserva> reservar(
+        @Parameter(description = "Produto, quantidade e prazo opcional em segundos") @Valid @RequestBody NovaReserva novaReserva) {
+        Duration ttl = novaReserva.getTtlSegundos() != null ? Duration.ofSeconds(novaReserva.getTtlSegundos()) : null;
+        Reserva reserva = reservaService.reservar(novaReserva.getProdutoId(), novaReserva.getQuantidade(), ttl);
+        URI local = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(reserva.getId())
+                .toUri();
+        return ResponseEntity.created(local).body(reserva);
+    }
+
+    @Operation(summary = "Buscar reserva", description = "Retorna a situação de uma reserva")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reserva encontrada"),
+        @ApiResponse(responseCode = "404", description = "Reserva não encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<Reserva> buscar(
+        @Parameter(description = "ID da reserva") @PathVariable String id) {
+        return ResponseEntity.ok(reservaService.buscar(id));
+    }
+
+    @Operation(summary = "Confirmar reserva", description = "Confirma a reserva; a baixa na quantidade do produto é feita em lote logo em seguida")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reserva confirmada"),
+        @ApiResponse(responseCode = "404", description = "Reserva não encontrada"),
+        @ApiResponse(responseCode = "409", description = "A reserva não está mais ativa")
+    })
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<Reserva> confirmar(
+        @Parameter(description = "ID da reserva") @PathVariable String id) {
+        return ResponseEntity.ok(reservaService.confirmar(id));
+    }
+
+    @Operation(summary = "Liberar reserva", description = "Devolve a quantidade reservada ao disponível")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reserva liberada"),
+        @ApiResponse(responseCode = "404", description = "Reserva não encontrada"),
+        @ApiResponse(responseCode = "409", description = "A reserva não está mais ativa")
+    })
+    @PostMapping("/{id}/release")
+    public ResponseEntity<Reserva> liberar(
+        @Parameter(description = "ID da reserva") @PathVariable String id) {
+        return ResponseEntity.ok(reservaService.liberar(id));
+    }
+
+    @Operation(summary = "Disponibilidade do produto", description = "Retorna a quantidade do produto, o total reservado e o disponível para novas reservas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Disponibilidade do produto"),
+        @ApiResponse(responseCode = "404", description = "Produto não encontrado")
+    })
+    @GetMapping("/products/{produtoId}")
+    public ResponseEntity<DisponibilidadeProduto> disponibilidade(
+        @Parameter(description = "ID do produto") @PathVariable Long produtoId) {
+        return ResponseEntity.ok(reservaService.disponibilidade(produtoId));
+    }
+}
@@ -0,0 +1,27 @@
+package com.teste.produto.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class AjusteEstoque {
+
+    @NotNull(message = "O delta é obrigatório")
+    @Min(value = -MovimentoEstoque.MAXIMO_DELTA, message = "O delta deve estar entre -1000000 e 1000000")
+    @Max(value = MovimentoEstoque.MAXIMO_DELTA, message = "O delta deve estar entre -1000000 e 1000000")
+    private Integer delta;
+
+    public AjusteEstoque() {}
+
+    public AjusteEstoque(Integer delta) {
+        this.delta = delta;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,61 @@
+package com.teste.produto.dto;
+
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+
+import java.util.List;
+
+public class AlteracoesCatalogo {
+    private long versao;
+    private boolean maisAlteracoes;
+    private boolean ressincronizar;
+    private List<Produto> produtos;
+    private List<Categoria> categorias;
+    private List<Long> produtosRemovidos;
+    private List<Long> categoriasRemovidas;
+
+    public AlteracoesCatalogo(long versao, boolean maisAlteracoes, List<Produto> produtos, List<Categoria> categorias,
+                              List<Long> produtosRemovidos, List<Long> categoriasRemovidas) {
+        this.versao = versao;
+        this.maisAlteracoes = maisAlteracoes;
+        this.produtos = produtos;
+        this.categorias = categorias;
+        this.produtosRemovidos = produtosRemovidos;
+        this.categoriasRemovidas = categoriasRemovidas;
+    }
+
+    // A versão informada não pode ser continuada: o cliente recarrega o catálogo e segue desta versão
+    public static AlteracoesCatalogo ressincronizar(long versao) {
+        AlteracoesCatalogo alteracoes = new AlteracoesCatalogo(versao, false, List.of(), List.of(), List.of(), List.of());
+        alteracoes.ressincronizar = true;
+        return alteracoes;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public boolean isMaisAlteracoes() {
+        return maisAlteracoes;
+    }
+
+    public boolean isRessincronizar() {
+        return ressincronizar;
+    }
+
+    public List<Produto> getProdutos() {
+        return produtos;
+    }
+
+    public List<Categoria> getCategorias() {
+        return categorias;
+    }
+
+    public List<Long> getProdutosRemovidos() {
+        return produtosRemovidos;
+    }
+
+    public List<Long> getCategoriasRemovidas() {
+        return categoriasRemovidas;
+    }
+}
@@ -0,0 +1,31 @@
+package com.teste.produto.dto;
+
+public class DisponibilidadeProduto {
+    private Long produtoId;
+    private Integer quantidade;
+    private Integer reservado;
+    private Integer disponivel;
+
+    public DisponibilidadeProduto(Long produtoId, Integer quantidade, Integer reservado) {
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.reservado = reservado;
+        this.disponivel = Math.max(0, quantidade - reservado);
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public Integer getReservado() {
+        return reservado;
+    }
+
+    public Integer getDisponivel() {
+        return disponivel;
+    }
+}
@@ -0,0 +1,78 @@
+package com.teste.produto.dto;
+
+/**
+ * Situação do modo write-behind do estoque. A razão de coalescência é quantos movimentos, em
+ * média, cada UPDATE gravado representou.
+ */
+public class EstatisticasAcumuladorEstoque {
+    private final boolean habilitado;
+    private final int produtosPendentes;
+    private final long movimentosPendentes;
+    private final long movimentosRecebidos;
+    private final long movimentosGravados;
+    private final long atualizacoesGravadas;
+    private final long descargas;
+    private final double tempoMedioDescargaMs;
+    private final double maiorTempoDescargaMs;
+    private final double maiorAtrasoMs;
+
+    public EstatisticasAcumuladorEstoque(boolean habilitado, int produtosPendentes, long movimentosPendentes,
+                                         long movimentosRecebidos, long movimentosGravados, long atualizacoesGravadas,
+                                         long descargas, double tempoMedioDescargaMs, double maiorTempoDescargaMs,
+                                         double maiorAtrasoMs) {
+        this.habilitado = habilitado;
+        this.produtosPendentes = produtosPendentes;
+        this.movimentosPendentes = movimentosPendentes;
+        this.movimentosRecebidos = movimentosRecebidos;
+        this.movimentosGravados = movimentosGravados;
+        this.atualizacoesGravadas = atualizacoesGravadas;
+        this.descargas = descargas;
+        this.tempoMedioDescargaMs = tempoMedioDescargaMs;
+        this.maiorTempoDescargaMs = maiorTempoDescargaMs;
+        this.maiorAtrasoMs = maiorAtrasoMs;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public int getProdutosPendentes() {
+        return produtosPendentes;
+    }
+
+    public long getMovimentosPendentes() {
+        return movimentosPendentes;
+    }
+
+    public long getMovimentosRecebidos() {
+        return movimentosRecebidos;
+    }
+
+    public long getMovimentosGravados() {
+        return movimentosGravados;
+    }
+
+    public long getAtualizacoesGravadas() {
+        return atualizacoesGravadas;
+    }
+
+    public double getRazaoCoalescencia() {
+        return atualizacoesGravadas > 0 ? (double) movimentosGravados / atualizacoesGravadas : 0.0;
+    }
+
+    public long getDescargas() {
+        return descargas;
+    }
+
+    public double getTempoMedioDescargaMs() {
+        return tempoMedioDescargaMs;
+    }
+
+    public double getMaiorTempoDescargaMs() {
+        return maiorTempoDescargaMs;
+    }
+
+    public double getMaiorAtrasoMs() {
+        return maiorAtrasoMs;
+    }
+}
@@ -0,0 +1,25 @@
+package com.teste.produto.dto;
+
+public class EventoCatalogo {
+    private String tipo;
+    private Long id;
+    private String nome;
+
+    public EventoCatalogo(String tipo, Long id, String nome) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
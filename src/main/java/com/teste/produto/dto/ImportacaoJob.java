@@ -0,0 +1,135 @@
+package com.teste.produto.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de uma importação de CSV. É atualizado pela thread de processamento e lido
+ * pelas consultas de acompanhamento, por isso os contadores são atômicos.
+ */
+public class ImportacaoJob {
+
+    public static final int MAXIMO_ERROS_REGISTRADOS = 1000;
+
+    private final String id;
+    private final String arquivo;
+    private final LocalDateTime criadoEm = LocalDateTime.now();
+    private volatile Status status = Status.PENDENTE;
+    private volatile LocalDateTime finalizadoEm;
+    private volatile String mensagem;
+    private final AtomicLong linhasProcessadas = new AtomicLong();
+    private final AtomicLong produtosCriados = new AtomicLong();
+    private final AtomicLong totalErros = new AtomicLong();
+    private final List<ErroLinha> erros = Collections.synchronizedList(new ArrayList<>());
+
+    public enum Status {
+        PENDENTE,
+        PROCESSANDO,
+        CONCLUIDO,
+        FALHOU
+    }
+
+    public ImportacaoJob(String id, String arquivo) {
+        this.id = id;
+        this.arquivo = arquivo;
+    }
+
+    public void iniciar() {
+        this.status = Status.PROCESSANDO;
+    }
+
+    public void concluir() {
+        this.finalizadoEm = LocalDateTime.now();
+        this.status = Status.CONCLUIDO;
+    }
+
+    public void falhar(String mensagem) {
+        this.mensagem = mensagem;
+        this.finalizadoEm = LocalDateTime.now();
+        this.status = Status.FALHOU;
+    }
+
+    public void registrarLinhaProcessada() {
+        linhasProcessadas.incrementAndGet();
+    }
+
+    public void registrarCriados(long quantidade) {
+        produtosCriados.addAndGet(quantidade);
+    }
+
+    public void registrarErro(int linha, String mensagem) {
+        if (totalErros.incrementAndGet() <= MAXIMO_ERROS_REGISTRADOS) {
+            erros.add(new ErroLinha(linha, mensagem));
+        }
+    }
+
+    @JsonIgnore
+    public boolean isFinalizado() {
+        return status == Status.CONCLUIDO || status == Status.FALHOU;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getFinalizadoEm() {
+        return finalizadoEm;
+    }
+
+    public long getLinhasProcessadas() {
+        return linhasProcessadas.get();
+    }
+
+    public long getProdutosCriados() {
+        return produtosCriados.get();
+    }
+
+    public long getTotalErros() {
+        return totalErros.get();
+    }
+
+    public List<ErroLinha> getErros() {
+        synchronized (erros) {
+            return new ArrayList<>(erros);
+        }
+    }
+
+    public static class ErroLinha {
+        private final int linha;
+        private final String mensagem;
+
+        public ErroLinha(int linha, String mensagem) {
+            this.linha = linha;
+            this.mensagem = mensagem;
+        }
+
+        public int getLinha() {
+            return linha;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.teste.produto.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public class MovimentoEstoque {
+
+    // Limite de cada movimento: a soma de um lote inteiro ainda cabe na quantidade (int)
+    public static final int MAXIMO_DELTA = 1_000_000;
+
+    private Long produtoId;
+
+    @Min(value = -MAXIMO_DELTA, message = "O delta deve estar entre -1000000 e 1000000")
+    @Max(value = MAXIMO_DELTA, message = "O delta deve estar entre -1000000 e 1000000")
+    private Integer delta;
+
+    public MovimentoEstoque() {}
+
+    public MovimentoEstoque(Long produtoId, Integer delta) {
+        this.produtoId = produtoId;
+        this.delta = delta;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,50 @@
+package com.teste.produto.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class NovaReserva {
+
+    @NotNull(message = "O produto é obrigatório")
+    private Long produtoId;
+
+    @NotNull(message = "A quantidade é obrigatória")
+    @Min(value = 1, message = "A quantidade deve ser maior que zero")
+    private Integer quantidade;
+
+    // Opcional: sem valor, vale o prazo padrão
+    @Min(value = 1, message = "O prazo da reserva deve ser maior que zero")
+    private Long ttlSegundos;
+
+    public NovaReserva() {}
+
+    public NovaReserva(Long produtoId, Integer quantidade, Long ttlSegundos) {
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.ttlSegundos = ttlSegundos;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public Long getTtlSegundos() {
+        return ttlSegundos;
+    }
+
+    public void setTtlSegundos(Long ttlSegundos) {
+        this.ttlSegundos = ttlSegundos;
+    }
+}
@@ -0,0 +1,39 @@
+package com.teste.produto.dto;
+
+import java.util.List;
+
+public class PaginaCursor<T> {
+    private List<T> conteudo;
+    private String proximoCursor;
+    private boolean possuiProxima;
+
+    public PaginaCursor(List<T> conteudo, String proximoCursor) {
+        this.conteudo = conteudo;
+        this.proximoCursor = proximoCursor;
+        this.possuiProxima = proximoCursor != null;
+    }
+
+    public List<T> getConteudo() {
+        return conteudo;
+    }
+
+    public void setConteudo(List<T> conteudo) {
+        this.conteudo = conteudo;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    public boolean isPossuiProxima() {
+        return possuiProxima;
+    }
+
+    public void setPossuiProxima(boolean possuiProxima) {
+        this.possuiProxima = possuiProxima;
+    }
+}
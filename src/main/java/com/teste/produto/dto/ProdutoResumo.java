@@ -0,0 +1,11 @@
+package com.teste.produto.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Linha das listagens de produtos: só as colunas exibidas na tabela, lidas direto pela consulta,
+ * sem carregar a entidade. O produto completo fica em {@code GET /api/products/{id}}.
+ */
+public record ProdutoResumo(Long id, String nome, String descricao, BigDecimal preco, Integer quantidade,
+                            String categoriaNome) {
+}
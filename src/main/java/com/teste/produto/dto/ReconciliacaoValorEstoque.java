@@ -0,0 +1,57 @@
+package com.teste.produto.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ReconciliacaoValorEstoque {
+    private LocalDateTime executadaEm;
+    private BigDecimal valorTotal;
+    private List<Divergencia> divergencias;
+
+    public ReconciliacaoValorEstoque(LocalDateTime executadaEm, BigDecimal valorTotal, List<Divergencia> divergencias) {
+        this.executadaEm = executadaEm;
+        this.valorTotal = valorTotal;
+        this.divergencias = divergencias;
+    }
+
+    public boolean isConsistente() {
+        return divergencias.isEmpty();
+    }
+
+    public LocalDateTime getExecutadaEm() {
+        return executadaEm;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public List<Divergencia> getDivergencias() {
+        return divergencias;
+    }
+
+    public static class Divergencia {
+        private final Long categoriaId;
+        private final BigDecimal valorRegistrado;
+        private final BigDecimal valorCalculado;
+
+        public Divergencia(Long categoriaId, BigDecimal valorRegistrado, BigDecimal valorCalculado) {
+            this.categoriaId = categoriaId;
+            this.valorRegistrado = valorRegistrado;
+            this.valorCalculado = valorCalculado;
+        }
+
+        public Long getCategoriaId() {
+            return categoriaId;
+        }
+
+        public BigDecimal getValorRegistrado() {
+            return valorRegistrado;
+        }
+
+        public BigDecimal getValorCalculado() {
+            return valorCalculado;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.teste.produto.dto;
+
+public class ResultadoItemLote {
+    private int indice;
+    private Status status;
+    private Long id;
+    private String mensagem;
+
+    public enum Status {
+        CRIADO,
+        ATUALIZADO,
+        ERRO
+    }
+
+    public ResultadoItemLote(int indice, Status status, Long id, String mensagem) {
+        this.indice = indice;
+        this.status = status;
+        this.id = id;
+        this.mensagem = mensagem;
+    }
+
+    public static ResultadoItemLote erro(int indice, String mensagem) {
+        return new ResultadoItemLote(indice, Status.ERRO, null, mensagem);
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
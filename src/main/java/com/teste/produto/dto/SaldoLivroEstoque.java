@@ -0,0 +1,51 @@
+package com.teste.produto.dto;
+
+import java.time.Instant;
+
+public class SaldoLivroEstoque {
+    private Long produtoId;
+    private Integer quantidadeConsolidada;
+    private Instant compactadoAte;
+    private Long movimentacoesRecentes;
+    private Integer quantidade;
+    private Integer quantidadeAtual;
+
+    public SaldoLivroEstoque(Long produtoId, Integer quantidadeConsolidada, Instant compactadoAte,
+                             Long movimentacoesRecentes, Integer quantidade, Integer quantidadeAtual) {
+        this.produtoId = produtoId;
+        this.quantidadeConsolidada = quantidadeConsolidada;
+        this.compactadoAte = compactadoAte;
+        this.movimentacoesRecentes = movimentacoesRecentes;
+        this.quantidade = quantidade;
+        this.quantidadeAtual = quantidadeAtual;
+    }
+
+    // Produto removido conta como quantidade atual zero
+    public boolean isConsistente() {
+        return quantidade.equals(quantidadeAtual != null ? quantidadeAtual : 0);
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Integer getQuantidadeConsolidada() {
+        return quantidadeConsolidada;
+    }
+
+    public Instant getCompactadoAte() {
+        return compactadoAte;
+    }
+
+    public Long getMovimentacoesRecentes() {
+        return movimentacoesRecentes;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public Integer getQuantidadeAtual() {
+        return quantidadeAtual;
+    }
+}
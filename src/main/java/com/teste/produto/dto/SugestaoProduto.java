@@ -0,0 +1,27 @@
+package com.teste.produto.dto;
+
+public class SugestaoProduto {
+    private Long id;
+    private String nome;
+
+    public SugestaoProduto(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+}
@@ -0,0 +1,39 @@
+package com.teste.produto.dto;
+
+import java.math.BigDecimal;
+
+public class ValorEstoquePorCategoria {
+    private Long categoriaId;
+    private String categoria;
+    private BigDecimal valor;
+
+    public ValorEstoquePorCategoria(Long categoriaId, String categoria, BigDecimal valor) {
+        this.categoriaId = categoriaId;
+        this.categoria = categoria;
+        this.valor = valor;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public void setCategoria(String categoria) {
+        this.categoria = categoria;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+}
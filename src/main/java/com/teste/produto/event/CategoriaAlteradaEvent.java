@@ -0,0 +1,47 @@
+package com.teste.produto.event;
+
+/**
+ * Publicado a cada categoria criada, atualizada ou removida. Na remoção o nome não é informado.
+ */
+public class CategoriaAlteradaEvent {
+
+    public enum Tipo {
+        CRIADA,
+        ATUALIZADA,
+        REMOVIDA
+    }
+
+    private final Tipo tipo;
+    private final Long id;
+    private final String nome;
+
+    public CategoriaAlteradaEvent(Tipo tipo, Long id, String nome) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public static CategoriaAlteradaEvent criada(Long id, String nome) {
+        return new CategoriaAlteradaEvent(Tipo.CRIADA, id, nome);
+    }
+
+    public static CategoriaAlteradaEvent atualizada(Long id, String nome) {
+        return new CategoriaAlteradaEvent(Tipo.ATUALIZADA, id, nome);
+    }
+
+    public static CategoriaAlteradaEvent removida(Long id) {
+        return new CategoriaAlteradaEvent(Tipo.REMOVIDA, id, null);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
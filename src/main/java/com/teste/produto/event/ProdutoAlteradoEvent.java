@@ -0,0 +1,48 @@
+package com.teste.produto.event;
+
+/**
+ * Publicado a cada produto criado, atualizado ou removido. Os ouvintes que mantêm estruturas em
+ * memória devem consumi-lo após o commit, para nunca refletirem uma gravação desfeita.
+ */
+public class ProdutoAlteradoEvent {
+
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        REMOVIDO
+    }
+
+    private final Tipo tipo;
+    private final Long id;
+    private final String nome;
+
+    public ProdutoAlteradoEvent(Tipo tipo, Long id, String nome) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public static ProdutoAlteradoEvent criado(Long id, String nome) {
+        return new ProdutoAlteradoEvent(Tipo.CRIADO, id, nome);
+    }
+
+    public static ProdutoAlteradoEvent atualizado(Long id, String nome) {
+        return new ProdutoAlteradoEvent(Tipo.ATUALIZADO, id, nome);
+    }
+
+    public static ProdutoAlteradoEvent removido(Long id, String nome) {
+        return new ProdutoAlteradoEvent(Tipo.REMOVIDO, id, nome);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
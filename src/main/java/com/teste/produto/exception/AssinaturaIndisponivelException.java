@@ -0,0 +1,8 @@
+package com.teste.produto.exception;
+
+public class AssinaturaIndisponivelException extends RuntimeException {
+
+    public AssinaturaIndisponivelException() {
+        super("Limite de assinantes de eventos atingido, tente novamente mais tarde");
+    }
+}
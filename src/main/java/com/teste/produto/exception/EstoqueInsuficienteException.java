@@ -0,0 +1,20 @@
+package com.teste.produto.exception;
+
+public class EstoqueInsuficienteException extends RuntimeException {
+
+    private final Long produtoId;
+
+    public EstoqueInsuficienteException(Long produtoId) {
+        super("Estoque insuficiente para o produto ID: " + produtoId);
+        this.produtoId = produtoId;
+    }
+
+    public EstoqueInsuficienteException(Long produtoId, int reservado) {
+        super("A quantidade do produto ID " + produtoId + " não pode ficar abaixo do reservado: " + reservado);
+        this.produtoId = produtoId;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+}
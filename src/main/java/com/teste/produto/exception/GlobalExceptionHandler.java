@@ -7,13 +7,16 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -63,6 +66,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        Optional<NomeJaExisteException> nomeJaExiste = NomeJaExisteException.daViolacao(ex);
+        if (nomeJaExiste.isPresent()) {
+            return handleNomeJaExiste(nomeJaExiste.get());
+        }
+
         String mensagem = "Erro de integridade dos dados.";
         
         if (ex.getMessage().contains("unique") || ex.getMessage().contains("duplicate")) {
@@ -79,12 +87,57 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(ProdutoComReservasException.class)
+    public ResponseEntity<ErrorResponse> handleProdutoComReservas(ProdutoComReservasException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(NomeJaExisteException.class)
     public ResponseEntity<ErrorResponse> handleNomeJaExiste(NomeJaExisteException ex) {
         ErrorResponse response = new ErrorResponse(ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(EstoqueInsuficienteException.class)
+    public ResponseEntity<ErrorResponse> handleEstoqueInsuficiente(EstoqueInsuficienteException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(ReservaIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleReservaIndisponivel(ReservaIndisponivelException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(VersaoConflitanteException.class)
+    public ResponseEntity<ErrorResponse> handleVersaoConflitante(VersaoConflitanteException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    // Outra transação gravou a mesma linha entre a leitura e o UPDATE com a versão lida
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLocking(ObjectOptimisticLockingFailureException ex) {
+        return handleVersaoConflitante(new VersaoConflitanteException());
+    }
+
+    @ExceptionHandler(ImportacaoIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleImportacaoIndisponivel(ImportacaoIndisponivelException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @ExceptionHandler(AssinaturaIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleAssinaturaIndisponivel(AssinaturaIndisponivelException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        // O cliente pediu text/event-stream; o tipo explícito evita a negociação que recusaria o JSON
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         ErrorResponse response = new ErrorResponse(
@@ -0,0 +1,12 @@
+package com.teste.produto.exception;
+
+public class ImportacaoIndisponivelException extends RuntimeException {
+
+    public ImportacaoIndisponivelException(String message) {
+        super(message);
+    }
+
+    public ImportacaoIndisponivelException() {
+        super("Limite de importações simultâneas atingido, tente novamente mais tarde");
+    }
+}
@@ -1,7 +1,20 @@
 package com.teste.produto.exception;
 
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
 public class NomeJaExisteException extends RuntimeException {
 
+    private static final Map<String, String> MENSAGENS_POR_RESTRICAO = Map.of(
+        Produto.UK_NOME_NORMALIZADO, "Já existe um produto com este nome",
+        Categoria.UK_NOME_NORMALIZADO, "Já existe uma categoria com este nome"
+    );
+
     public NomeJaExisteException(String message) {
         super(message);
     }
@@ -9,4 +22,20 @@ public class NomeJaExisteException extends RuntimeException {
     public NomeJaExisteException() {
         super("Erro ao deletar categoria, existe produtos associados");
     }
-}
\ No newline at end of file
+
+    /**
+     * Reconhece a violação de uma das restrições de nome único. O banco informa o nome da
+     * restrição na mensagem do erro original.
+     */
+    public static Optional<NomeJaExisteException> daViolacao(DataIntegrityViolationException ex) {
+        String mensagem = ex.getMostSpecificCause().getMessage();
+        if (mensagem == null) {
+            return Optional.empty();
+        }
+        String normalizada = mensagem.toLowerCase(Locale.ROOT);
+        return MENSAGENS_POR_RESTRICAO.entrySet().stream()
+                .filter(restricao -> normalizada.contains(restricao.getKey()))
+                .findFirst()
+                .map(restricao -> new NomeJaExisteException(restricao.getValue()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.teste.produto.exception;
+
+public class ProdutoComReservasException extends RuntimeException {
+
+    public ProdutoComReservasException(Long produtoId) {
+        super("Erro ao deletar produto, existem reservas em aberto para o produto ID: " + produtoId);
+    }
+}
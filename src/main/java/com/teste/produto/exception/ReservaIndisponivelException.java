@@ -0,0 +1,14 @@
+package com.teste.produto.exception;
+
+import com.teste.produto.model.Reserva;
+
+public class ReservaIndisponivelException extends RuntimeException {
+
+    public ReservaIndisponivelException(String message) {
+        super(message);
+    }
+
+    public ReservaIndisponivelException(Reserva reserva) {
+        super("A reserva " + reserva.getId() + " não está ativa (status: " + reserva.getStatus() + ")");
+    }
+}
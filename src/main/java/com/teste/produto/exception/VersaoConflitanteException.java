@@ -0,0 +1,12 @@
+package com.teste.produto.exception;
+
+public class VersaoConflitanteException extends RuntimeException {
+
+    public VersaoConflitanteException(String message) {
+        super(message);
+    }
+
+    public VersaoConflitanteException() {
+        super("O registro foi alterado por outra requisição; recarregue-o e tente novamente");
+    }
+}
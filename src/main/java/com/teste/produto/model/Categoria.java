@@ -1,11 +1,30 @@
 package com.teste.produto.model;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.teste.produto.service.VersaoAlteracaoListener;
+import com.teste.produto.util.TextoNormalizado;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Table(name = "categoria", indexes = {
+    @Index(name = "idx_categoria_versao_alteracao", columnList = "versao_alteracao")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = Categoria.UK_NOME_NORMALIZADO, columnNames = "nome_normalizado")
+})
+@EntityListeners(VersaoAlteracaoListener.class)
+// Quase nunca muda: as leituras por ID e as associações dos produtos saem do cache de segundo nível
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categoria")
+// Campos internos do proxy do Hibernate quando a categoria de um produto ainda não foi carregada
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Categoria implements VersionadoPorAlteracao {
+
+    public static final String UK_NOME_NORMALIZADO = "uk_categoria_nome_normalizado";
 
-public class Categoria {
 	@Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -14,18 +33,41 @@ public class Categoria {
     @Size(min = 2, max = 100, message = "O nome da categoria deve ter entre 2 e 100 caracteres")
     private String nome;
 
+    @Column(name = "nome_normalizado", nullable = false, length = 100)
+    private String nomeNormalizado;
+
     @Size(max = 500, message = "A descrição da categoria deve ter no máximo 500 caracteres")
     private String descricao;
 
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    @Column(name = "versao_alteracao", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versaoAlteracao;
+
     // Getters e Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
     public String getNome() { return nome; }
-    public void setNome(String nome) { this.nome = nome; }
+    public void setNome(String nome) {
+        this.nome = nome;
+        this.nomeNormalizado = TextoNormalizado.normalizar(nome);
+    }
 
     public String getDescricao() { return descricao; }
     public void setDescricao(String descricao) { this.descricao = descricao; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
+    @Override
+    public Long getVersaoAlteracao() { return versaoAlteracao; }
+    @Override
+    public void setVersaoAlteracao(Long versaoAlteracao) { this.versaoAlteracao = versaoAlteracao; }
 }
 
 
@@ -0,0 +1,84 @@
+package com.teste.produto.model;
+
+import com.teste.produto.service.VersaoAlteracaoListener;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Registro de um produto ou categoria removido, para que a sincronização incremental informe a
+ * remoção a quem já tinha o registro. As lápides são descartadas após a retenção.
+ */
+@Entity
+@Table(name = "lapides", indexes = {
+    @Index(name = "idx_lapides_versao_alteracao", columnList = "versao_alteracao"),
+    @Index(name = "idx_lapides_removida_em", columnList = "removida_em")
+})
+@EntityListeners(VersaoAlteracaoListener.class)
+public class Lapide implements VersionadoPorAlteracao {
+
+    public enum Entidade {
+        PRODUTO,
+        CATEGORIA
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Entidade entidade;
+
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+
+    @Column(name = "versao_alteracao", nullable = false)
+    private Long versaoAlteracao;
+
+    @Column(name = "removida_em", nullable = false)
+    private Instant removidaEm;
+
+    public Lapide() {}
+
+    public Lapide(Entidade entidade, Long entidadeId) {
+        this.entidade = entidade;
+        this.entidadeId = entidadeId;
+        this.removidaEm = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Entidade getEntidade() {
+        return entidade;
+    }
+
+    public Long getEntidadeId() {
+        return entidadeId;
+    }
+
+    @Override
+    public Long getVersaoAlteracao() {
+        return versaoAlteracao;
+    }
+
+    @Override
+    public void setVersaoAlteracao(Long versaoAlteracao) {
+        this.versaoAlteracao = versaoAlteracao;
+    }
+
+    public Instant getRemovidaEm() {
+        return removidaEm;
+    }
+}
@@ -0,0 +1,91 @@
+package com.teste.produto.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Lançamento do livro de estoque: cada alteração da quantidade de um produto gera uma linha, que
+ * nunca é alterada. Lançamentos antigos são compactados em {@link SnapshotEstoque}.
+ */
+@Entity
+@Table(name = "movimentacao_estoque", indexes = {
+    @Index(name = "idx_movimentacao_estoque_produto_instante", columnList = "produto_id, registrada_em"),
+    @Index(name = "idx_movimentacao_estoque_instante", columnList = "registrada_em")
+})
+public class MovimentacaoEstoque {
+
+    public enum Motivo {
+        CADASTRO,
+        ATUALIZACAO,
+        AJUSTE,
+        RESERVA,
+        REMOCAO
+    }
+
+    // Alocação em blocos para que os lançamentos de uma transação sejam gravados em lote JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimentacao_estoque_seq")
+    @SequenceGenerator(name = "movimentacao_estoque_seq", sequenceName = "movimentacao_estoque_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    // Quantidade do produto logo após o lançamento
+    @Column(name = "quantidade_resultante", nullable = false)
+    private Integer quantidadeResultante;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Motivo motivo;
+
+    @Column(name = "registrada_em", nullable = false)
+    private Instant registradaEm;
+
+    public MovimentacaoEstoque() {}
+
+    public MovimentacaoEstoque(Long produtoId, int delta, int quantidadeResultante, Motivo motivo, Instant registradaEm) {
+        this.produtoId = produtoId;
+        this.delta = delta;
+        this.quantidadeResultante = quantidadeResultante;
+        this.motivo = motivo;
+        this.registradaEm = registradaEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public Integer getQuantidadeResultante() {
+        return quantidadeResultante;
+    }
+
+    public Motivo getMotivo() {
+        return motivo;
+    }
+
+    public Instant getRegistradaEm() {
+        return registradaEm;
+    }
+}
@@ -1,14 +1,24 @@
 package com.teste.produto.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.teste.produto.service.VersaoAlteracaoListener;
+import com.teste.produto.util.TextoNormalizado;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -17,17 +27,37 @@ import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "produtos")
-public class Produto {
+@Table(name = "produtos", indexes = {
+    @Index(name = "idx_produtos_quantidade_id", columnList = "quantidade, id"),
+    @Index(name = "idx_produtos_categoria_nome_id", columnList = "categoria_id, nome, id"),
+    @Index(name = "idx_produtos_versao_alteracao", columnList = "versao_alteracao")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = Produto.UK_NOME_NORMALIZADO, columnNames = "nome_normalizado")
+})
+@EntityListeners(VersaoAlteracaoListener.class)
+// Fora do cache de segundo nível: a leitura por ID já passa pelo ProdutoCache, e os UPDATEs em
+// massa do estoque invalidariam a região inteira a cada ajuste
+public class Produto implements VersionadoPorAlteracao {
+
+    public static final String UK_NOME_NORMALIZADO = "uk_produtos_nome_normalizado";
+
+    // Com o limite, somar um lote inteiro de movimentos à quantidade não estoura o INT no banco
+    public static final int MAXIMO_QUANTIDADE = 1_000_000_000;
     
+    // Sequência com alocação em blocos: permite ao Hibernate agrupar os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "O nome do produto é obrigatório")
     @Size(min = 2, max = 100, message = "O nome deve ter entre 2 e 100 caracteres")
     @Column(nullable = false, length = 100)
     private String nome;
+
+    // Chave de unicidade do nome: sem acentos e em minúsculas, mantida junto com o nome
+    @Column(name = "nome_normalizado", nullable = false, length = 100)
+    private String nomeNormalizado;
     
     @Size(max = 500, message = "A descrição deve ter no máximo 500 caracteres")
     @Column(length = 500)
@@ -40,19 +70,31 @@ public class Produto {
     
     @NotNull(message = "A quantidade é obrigatória")
     @Min(value = 0, message = "A quantidade não pode ser negativa")
+    @Max(value = MAXIMO_QUANTIDADE, message = "A quantidade deve ser no máximo 1000000000")
     @Column(nullable = false)
     private Integer quantidade;
 
-    // Adicionando relacionamento com Categoria
-    @ManyToOne
+    // Carregada sob demanda; as consultas de listagem a buscam junto por entity graph (ProdutoRepository)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     private Categoria categoria;
+
+    // Incrementada a cada gravação; exposta como ETag e conferida contra o If-Match
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    // Versão global da última alteração, para a sincronização incremental (GET /api/products/changes)
+    @Column(name = "versao_alteracao", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versaoAlteracao;
     
     // Construtores
     public Produto() {}
     
     public Produto(String nome, String descricao, BigDecimal preco, Integer quantidade) {
-        this.nome = nome;
+        setNome(nome);
         this.descricao = descricao;
         this.preco = preco;
         this.quantidade = quantidade;
@@ -73,6 +115,7 @@ public class Produto {
     
     public void setNome(String nome) {
         this.nome = nome;
+        this.nomeNormalizado = TextoNormalizado.normalizar(nome);
     }
     
     public String getDescricao() {
@@ -107,6 +150,22 @@ public class Produto {
     public void setCategoria(Categoria categoria) {
         this.categoria = categoria;
     }
-}
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 
+    @Override
+    public Long getVersaoAlteracao() {
+        return versaoAlteracao;
+    }
+
+    @Override
+    public void setVersaoAlteracao(Long versaoAlteracao) {
+        this.versaoAlteracao = versaoAlteracao;
+    }
+}
\ No newline at end of file
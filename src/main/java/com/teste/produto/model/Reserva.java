@@ -0,0 +1,107 @@
+package com.teste.produto.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import java.time.Instant;
+
+/**
+ * Registro persistido de uma reserva de estoque. É a fonte para reconstruir as reservas em
+ * memória após uma reinicialização: as ativas voltam a segurar o estoque e as confirmadas ainda
+ * não aplicadas voltam à fila de aplicação.
+ */
+@Entity
+@Table(name = "reservas", indexes = {
+    @Index(name = "idx_reservas_status", columnList = "status")
+})
+public class Reserva {
+
+    public enum Status {
+        ATIVA,
+        CONFIRMADA,
+        LIBERADA,
+        EXPIRADA,
+        CANCELADA,
+        // Confirmada, mas a baixa no estoque não pôde ser feita
+        NAO_APLICADA
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "criada_em", nullable = false)
+    private Instant criadaEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    // Preenchido na mesma transação que baixa a quantidade do produto
+    @Column(name = "aplicada_em")
+    private Instant aplicadaEm;
+
+    // Com ID atribuído pela aplicação, a versão nula é o que identifica uma reserva nova
+    @Version
+    @JsonIgnore
+    private Long versao;
+
+    public Reserva() {}
+
+    public Reserva(String id, Long produtoId, Integer quantidade, Instant criadaEm, Instant expiraEm) {
+        this.id = id;
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.status = Status.ATIVA;
+        this.criadaEm = criadaEm;
+        this.expiraEm = expiraEm;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Instant getCriadaEm() {
+        return criadaEm;
+    }
+
+    public Instant getExpiraEm() {
+        return expiraEm;
+    }
+
+    public Instant getAplicadaEm() {
+        return aplicadaEm;
+    }
+}
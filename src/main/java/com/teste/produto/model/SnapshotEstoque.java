@@ -0,0 +1,56 @@
+package com.teste.produto.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Saldo de um produto consolidado a partir dos lançamentos do livro já compactados. A quantidade
+ * pelo livro é este saldo mais a soma dos lançamentos que ainda estão na tabela.
+ */
+@Entity
+@Table(name = "snapshot_estoque")
+public class SnapshotEstoque {
+
+    @Id
+    @Column(name = "produto_id")
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    // Quantos lançamentos foram consolidados neste saldo
+    @Column(nullable = false)
+    private Long movimentacoes;
+
+    @Column(name = "compactado_ate", nullable = false)
+    private Instant compactadoAte;
+
+    public SnapshotEstoque() {}
+
+    public SnapshotEstoque(Long produtoId, Integer quantidade, Long movimentacoes, Instant compactadoAte) {
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.movimentacoes = movimentacoes;
+        this.compactadoAte = compactadoAte;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public Long getMovimentacoes() {
+        return movimentacoes;
+    }
+
+    public Instant getCompactadoAte() {
+        return compactadoAte;
+    }
+}
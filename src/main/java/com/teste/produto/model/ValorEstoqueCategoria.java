@@ -0,0 +1,49 @@
+package com.teste.produto.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Valor do estoque (soma de preço x quantidade) mantido por categoria a cada gravação de produto.
+ * Produtos sem categoria são acumulados na chave {@link #SEM_CATEGORIA}.
+ */
+@Entity
+@Table(name = "valor_estoque_categoria")
+public class ValorEstoqueCategoria {
+
+    public static final Long SEM_CATEGORIA = 0L;
+
+    @Id
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal valor;
+
+    public ValorEstoqueCategoria() {}
+
+    public ValorEstoqueCategoria(Long categoriaId, BigDecimal valor) {
+        this.categoriaId = categoriaId;
+        this.valor = valor;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+}
@@ -0,0 +1,12 @@
+package com.teste.produto.model;
+
+/**
+ * Entidade que recebe uma versão de alteração global a cada gravação, usada na sincronização
+ * incremental do catálogo.
+ */
+public interface VersionadoPorAlteracao {
+
+    Long getVersaoAlteracao();
+
+    void setVersaoAlteracao(Long versaoAlteracao);
+}
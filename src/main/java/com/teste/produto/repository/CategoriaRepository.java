@@ -1,8 +1,24 @@
 package com.teste.produto.repository;
 
 import com.teste.produto.model.Categoria;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
-    boolean existsByNomeIgnoreCase(String nome);
+
+    // Cache de consultas: invalidado pelo Hibernate a cada gravação na tabela de categorias
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Categoria> findAll();
+
+    @Query("SELECT c FROM Categoria c WHERE c.versaoAlteracao > :desde AND c.versaoAlteracao <= :ate ORDER BY c.versaoAlteracao")
+    List<Categoria> findAlteradasEntre(@Param("desde") long desde, @Param("ate") long ate, Limit limit);
 }
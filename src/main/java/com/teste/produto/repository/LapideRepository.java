@@ -0,0 +1,26 @@
+package com.teste.produto.repository;
+
+import com.teste.produto.model.Lapide;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface LapideRepository extends JpaRepository<Lapide, Long> {
+
+    @Query("SELECT l FROM Lapide l WHERE l.versaoAlteracao > :desde AND l.versaoAlteracao <= :ate ORDER BY l.versaoAlteracao")
+    List<Lapide> findAlteradasEntre(@Param("desde") long desde, @Param("ate") long ate, Limit limit);
+
+    @Query("SELECT MAX(l.versaoAlteracao) FROM Lapide l WHERE l.removidaEm < :limite")
+    Long findMaiorVersaoAnteriorA(@Param("limite") Instant limite);
+
+    @Modifying
+    @Query("DELETE FROM Lapide l WHERE l.versaoAlteracao <= :versao")
+    int removerAteVersao(@Param("versao") long versao);
+}
@@ -0,0 +1,48 @@
+package com.teste.produto.repository;
+
+import com.teste.produto.model.MovimentacaoEstoque;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface MovimentacaoEstoqueRepository extends JpaRepository<MovimentacaoEstoque, Long> {
+
+    // Faixa atendida pelo índice (produto_id, registrada_em)
+    @Query(value = "SELECT m FROM MovimentacaoEstoque m WHERE m.produtoId = :produtoId " +
+                   "AND m.registradaEm >= :de AND m.registradaEm < :ate ORDER BY m.registradaEm, m.id",
+           countQuery = "SELECT COUNT(m) FROM MovimentacaoEstoque m WHERE m.produtoId = :produtoId " +
+                        "AND m.registradaEm >= :de AND m.registradaEm < :ate")
+    Page<MovimentacaoEstoque> findPorProdutoEntre(@Param("produtoId") Long produtoId,
+                                                  @Param("de") Instant de,
+                                                  @Param("ate") Instant ate,
+                                                  Pageable pageable);
+
+    @Query("SELECT COUNT(m) AS movimentacoes, COALESCE(SUM(m.delta), 0) AS delta " +
+           "FROM MovimentacaoEstoque m WHERE m.produtoId = :produtoId")
+    Totais somarPorProduto(@Param("produtoId") Long produtoId);
+
+    @Query("SELECT m.produtoId AS produtoId, COUNT(m) AS movimentacoes, SUM(m.delta) AS delta " +
+           "FROM MovimentacaoEstoque m WHERE m.registradaEm < :limite GROUP BY m.produtoId ORDER BY m.produtoId")
+    List<TotaisPorProduto> somarAnterioresA(@Param("limite") Instant limite);
+
+    @Modifying
+    @Query("DELETE FROM MovimentacaoEstoque m WHERE m.registradaEm < :limite")
+    int removerAnterioresA(@Param("limite") Instant limite);
+
+    interface Totais {
+        Long getMovimentacoes();
+        Long getDelta();
+    }
+
+    interface TotaisPorProduto extends Totais {
+        Long getProdutoId();
+    }
+}
@@ -0,0 +1,123 @@
+package com.teste.produto.repository;
+
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Leituras de produtos por R2DBC, mapeadas para as mesmas classes do modelo JPA. Somente leitura:
+ * as escritas continuam pelos serviços JPA.
+ *
+ * <p>O pool de conexões não é um bean: um {@code ConnectionFactory} no contexto faria o Spring
+ * Boot executar o data.sql por R2DBC, antes de o Hibernate criar as tabelas.
+ */
+@Repository
+public class ProdutoReativoRepository {
+
+    private static final String SELECT = "SELECT p.id, p.nome, p.descricao, p.preco, p.quantidade, p.versao, p.versao_alteracao, "
+            + "c.id AS categoria_id, c.nome AS categoria_nome, c.descricao AS categoria_descricao, "
+            + "c.versao AS categoria_versao, c.versao_alteracao AS categoria_versao_alteracao "
+            + "FROM produtos p LEFT JOIN categoria c ON c.id = p.categoria_id ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ProdutoReativoRepository(@Value("${reativo.r2dbc.url:r2dbc:h2:mem:///testdb}") String url,
+                                    @Value("${spring.datasource.username:sa}") String usuario,
+                                    @Value("${spring.datasource.password:}") String senha,
+                                    @Value("${reativo.r2dbc.pool:10}") int tamanhoPool) {
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, senha)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes))
+                .initialSize(1)
+                .maxSize(tamanhoPool)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    public Mono<Produto> findById(Long id) {
+        return databaseClient.sql(SELECT + "WHERE p.id = :id")
+                .bind("id", id)
+                .map(ProdutoReativoRepository::produto)
+                .one();
+    }
+
+    public Flux<Produto> findAllById(Collection<Long> ids) {
+        return databaseClient.sql(SELECT + "WHERE p.id IN (:ids)")
+                .bind("ids", ids)
+                .map(ProdutoReativoRepository::produto)
+                .all();
+    }
+
+    // Fallback da busca enquanto o índice de trigramas não está pronto
+    public Flux<Produto> findByNomeNormalizadoContendo(String termo, int limite) {
+        String literal = termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return databaseClient.sql(SELECT + "WHERE p.nome_normalizado LIKE :padrao ESCAPE '\\' ORDER BY p.nome, p.id LIMIT :limite")
+                .bind("padrao", "%" + literal + "%")
+                .bind("limite", limite)
+                .map(ProdutoReativoRepository::produto)
+                .all();
+    }
+
+    public Flux<Produto> findComQuantidadeBaixa(int quantidade, int limite) {
+        return databaseClient.sql(SELECT + "WHERE p.quantidade <= :quantidade ORDER BY p.quantidade, p.id LIMIT :limite")
+                .bind("quantidade", quantidade)
+                .bind("limite", limite)
+                .map(ProdutoReativoRepository::produto)
+                .all();
+    }
+
+    public Flux<Produto> findByCategoriaId(Long categoriaId, int limite) {
+        return databaseClient.sql(SELECT + "WHERE p.categoria_id = :categoriaId ORDER BY p.nome, p.id LIMIT :limite")
+                .bind("categoriaId", categoriaId)
+                .bind("limite", limite)
+                .map(ProdutoReativoRepository::produto)
+                .all();
+    }
+
+    // Mesma fonte do endpoint MVC: o valor mantido por categoria
+    public Mono<BigDecimal> somarValorEstoque() {
+        return databaseClient.sql("SELECT COALESCE(SUM(valor), 0) AS total FROM valor_estoque_categoria")
+                .map(linha -> linha.get("total", BigDecimal.class))
+                .one();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.dispose();
+    }
+
+    private static Produto produto(Readable linha) {
+        Produto produto = new Produto(linha.get("nome", String.class), linha.get("descricao", String.class),
+                linha.get("preco", BigDecimal.class), linha.get("quantidade", Integer.class));
+        produto.setId(linha.get("id", Long.class));
+        produto.setVersao(linha.get("versao", Long.class));
+        produto.setVersaoAlteracao(linha.get("versao_alteracao", Long.class));
+        Long categoriaId = linha.get("categoria_id", Long.class);
+        if (categoriaId != null) {
+            Categoria categoria = new Categoria();
+            categoria.setId(categoriaId);
+            categoria.setNome(linha.get("categoria_nome", String.class));
+            categoria.setDescricao(linha.get("categoria_descricao", String.class));
+            categoria.setVersao(linha.get("categoria_versao", Long.class));
+            categoria.setVersaoAlteracao(linha.get("categoria_versao_alteracao", Long.class));
+            produto.setCategoria(categoria);
+        }
+        return produto;
+    }
+}
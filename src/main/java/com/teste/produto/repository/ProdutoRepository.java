@@ -1,34 +1,134 @@
 package com.teste.produto.repository;
 
+import com.teste.produto.dto.ProdutoResumo;
 import com.teste.produto.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
-    List<Produto> findByNomeContainingIgnoreCase(String nome);
+    // A categoria é LAZY; as consultas cujos produtos vão para a resposta a trazem no mesmo SELECT
+    @Override
+    @EntityGraph(attributePaths = "categoria")
+    Optional<Produto> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "categoria")
+    List<Produto> findAllById(Iterable<Long> ids);
+
+    // Listagens: projeção direta em ProdutoResumo, sem entidades no contexto de persistência
+    String SELECT_RESUMO = "SELECT new com.teste.produto.dto.ProdutoResumo(p.id, p.nome, p.descricao, p.preco, p.quantidade, c.nome) " +
+                           "FROM Produto p LEFT JOIN p.categoria c ";
+
+    @Query(SELECT_RESUMO + "ORDER BY p.id")
+    List<ProdutoResumo> listarResumos();
+
+    @Query(SELECT_RESUMO + "WHERE p.id IN :ids")
+    List<ProdutoResumo> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(p.nome) LIKE :padrao ESCAPE '\\'")
+    List<ProdutoResumo> findResumosByNomeLike(@Param("padrao") String padrao);
+
+    default List<ProdutoResumo> findResumosByNomeContendo(String nome) {
+        String literal = nome.toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return findResumosByNomeLike("%" + literal + "%");
+    }
+
+    // Cache de consultas (página e contagem): qualquer gravação em produtos o invalida
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = SELECT_RESUMO + "WHERE p.quantidade <= :quantidade",
+           countQuery = "SELECT COUNT(p) FROM Produto p WHERE p.quantidade <= :quantidade")
+    Page<ProdutoResumo> findResumosComQuantidadeBaixa(@Param("quantidade") Integer quantidade, Pageable pageable);
+
+    @Query(value = SELECT_RESUMO + "WHERE c.id = :categoriaId",
+           countQuery = "SELECT COUNT(p) FROM Produto p WHERE p.categoria.id = :categoriaId")
+    Page<ProdutoResumo> findResumosByCategoriaId(@Param("categoriaId") Long categoriaId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "categoria")
     @Query("SELECT p FROM Produto p WHERE p.quantidade <= :quantidade")
     List<Produto> findProdutosComQuantidadeBaixa(@Param("quantidade") Integer quantidade);
 
-    @Query("SELECT p FROM Produto p WHERE p.quantidade <= :quantidade")
-    Page<Produto> findProdutosComQuantidadeBaixa(@Param("quantidade") Integer quantidade, Pageable pageable);
+    @Query(SELECT_RESUMO + "WHERE p.id > :ultimoId ORDER BY p.id")
+    List<ProdutoResumo> findProximosPorId(@Param("ultimoId") Long ultimoId, Limit limit);
+
+    @Query(SELECT_RESUMO + "WHERE p.quantidade <= :quantidade " +
+           "AND (p.quantidade > :ultimaQuantidade OR (p.quantidade = :ultimaQuantidade AND p.id > :ultimoId)) " +
+           "ORDER BY p.quantidade, p.id")
+    List<ProdutoResumo> findProximosComQuantidadeBaixa(@Param("quantidade") Integer quantidade,
+                                                      @Param("ultimaQuantidade") Integer ultimaQuantidade,
+                                                      @Param("ultimoId") Long ultimoId,
+                                                      Limit limit);
+
+    @Query(SELECT_RESUMO + "WHERE c.id = :categoriaId " +
+           "AND (p.nome > :ultimoNome OR (p.nome = :ultimoNome AND p.id > :ultimoId)) " +
+           "ORDER BY p.nome, p.id")
+    List<ProdutoResumo> findProximosPorCategoria(@Param("categoriaId") Long categoriaId,
+                                                 @Param("ultimoNome") String ultimoNome,
+                                                 @Param("ultimoId") Long ultimoId,
+                                                 Limit limit);
 
-    @Query("SELECT SUM(p.preco * p.quantidade) FROM Produto p")
-    BigDecimal calcularValorTotalEstoque();
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.categoria ORDER BY p.id")
+    Stream<Produto> streamTodos();
 
-    Page<Produto> findByCategoriaId(Long categoriaId, Pageable pageable);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, p.nome AS nome FROM Produto p ORDER BY p.id")
+    Stream<IdNome> streamIdNome();
 
-    boolean existsByNomeIgnoreCase(String nome);
+    @Query("SELECT p.id AS id, p.nome AS nome FROM Produto p WHERE p.nomeNormalizado IN :nomes")
+    List<IdNome> findByNomesNormalizados(@Param("nomes") Collection<String> nomes);
 
     boolean existsByCategoriaId(Long categoriaId);
-}
 
+    // Ajuste atômico: a condição impede baixar abaixo do mínimo sem ler a linha antes; as versões avançam como em qualquer gravação
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Produto p SET p.quantidade = p.quantidade + :delta, p.versao = p.versao + 1, " +
+           "p.versaoAlteracao = :versaoAlteracao WHERE p.id = :id AND p.quantidade + :delta >= :minimo " +
+           "AND p.quantidade + :delta <= :maximo")
+    int ajustarQuantidade(@Param("id") Long id, @Param("delta") int delta, @Param("minimo") int minimo,
+                          @Param("maximo") int maximo, @Param("versaoAlteracao") long versaoAlteracao);
+
+    @EntityGraph(attributePaths = "categoria")
+    @Query("SELECT p FROM Produto p WHERE p.versaoAlteracao > :desde AND p.versaoAlteracao <= :ate ORDER BY p.versaoAlteracao")
+    List<Produto> findAlteradosEntre(@Param("desde") long desde, @Param("ate") long ate, Limit limit);
+
+    @Query("SELECT COALESCE(c.id, 0L) AS categoriaId, SUM(p.preco * p.quantidade) AS valor " +
+           "FROM Produto p LEFT JOIN p.categoria c GROUP BY COALESCE(c.id, 0L)")
+    List<ValorPorCategoria> somarValorEstoquePorCategoria();
+
+    interface IdNome {
+        Long getId();
+        String getNome();
+    }
+
+    interface ValorPorCategoria {
+        Long getCategoriaId();
+        BigDecimal getValor();
+    }
+}
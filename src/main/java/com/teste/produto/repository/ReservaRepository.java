@@ -0,0 +1,34 @@
+package com.teste.produto.repository;
+
+import com.teste.produto.model.Reserva;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservaRepository extends JpaRepository<Reserva, String> {
+
+    List<Reserva> findByStatus(Reserva.Status status);
+
+    List<Reserva> findByStatusAndAplicadaEmIsNull(Reserva.Status status);
+
+    // Transição condicional: só altera as reservas que ainda estão no status esperado
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reserva r SET r.status = :novo WHERE r.id IN :ids AND r.status = :atual")
+    int alterarStatus(@Param("ids") Collection<String> ids,
+                      @Param("atual") Reserva.Status atual,
+                      @Param("novo") Reserva.Status novo);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reserva r SET r.aplicadaEm = :instante WHERE r.id IN :ids AND r.aplicadaEm IS NULL")
+    int marcarAplicadas(@Param("ids") Collection<String> ids, @Param("instante") Instant instante);
+}
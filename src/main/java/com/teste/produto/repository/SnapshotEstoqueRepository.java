@@ -0,0 +1,22 @@
+package com.teste.produto.repository;
+
+import com.teste.produto.model.SnapshotEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface SnapshotEstoqueRepository extends JpaRepository<SnapshotEstoque, Long> {
+
+    @Modifying
+    @Query("UPDATE SnapshotEstoque s SET s.quantidade = s.quantidade + :delta, " +
+           "s.movimentacoes = s.movimentacoes + :movimentacoes, s.compactadoAte = :ate WHERE s.produtoId = :produtoId")
+    int consolidar(@Param("produtoId") Long produtoId,
+                   @Param("delta") int delta,
+                   @Param("movimentacoes") long movimentacoes,
+                   @Param("ate") Instant ate);
+}
@@ -0,0 +1,34 @@
+package com.teste.produto.repository;
+
+import com.teste.produto.dto.ValorEstoquePorCategoria;
+import com.teste.produto.model.ValorEstoqueCategoria;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ValorEstoqueCategoriaRepository extends JpaRepository<ValorEstoqueCategoria, Long> {
+
+    @Modifying
+    @Query("UPDATE ValorEstoqueCategoria v SET v.valor = v.valor + :delta WHERE v.categoriaId = :categoriaId")
+    int somar(@Param("categoriaId") Long categoriaId, @Param("delta") BigDecimal delta);
+
+    @Query("SELECT COALESCE(SUM(v.valor), 0) FROM ValorEstoqueCategoria v")
+    BigDecimal somarTotal();
+
+    @Query("SELECT new com.teste.produto.dto.ValorEstoquePorCategoria(v.categoriaId, c.nome, v.valor) " +
+           "FROM ValorEstoqueCategoria v LEFT JOIN Categoria c ON c.id = v.categoriaId " +
+           "WHERE c.id IS NOT NULL OR v.categoriaId = 0 ORDER BY v.categoriaId")
+    List<ValorEstoquePorCategoria> listarPorCategoria();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM ValorEstoqueCategoria v ORDER BY v.categoriaId")
+    List<ValorEstoqueCategoria> findAllParaReconciliacao();
+}
@@ -0,0 +1,327 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.EstatisticasAcumuladorEstoque;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Modo write-behind dos ajustes de estoque (desligado por padrão). Os deltas de cada produto são
+ * somados em memória e gravados como um único UPDATE por produto a cada intervalo, o que troca
+ * milhares de transações por segundo em produtos disputados por poucas gravações.
+ *
+ * <p>Leituras e a validação de estoque somam o delta pendente. Cada produto usa a trava de uma
+ * faixa: leituras e acúmulos compartilham a trava de leitura, e a gravação do produto usa a de
+ * escrita, de modo que nenhum leitor vê o delta contado duas vezes nem nenhuma vez. O atraso é
+ * limitado pelo intervalo e por um máximo de movimentos pendentes por produto, e o que estiver
+ * pendente é gravado no encerramento da aplicação.
+ */
+@Component
+@Slf4j
+public class AcumuladorEstoque {
+
+    private static final int FAIXAS = 64;
+
+    private final EstoqueService estoqueService;
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoCache produtoCache;
+    private final EstoqueReservado estoqueReservado;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate novaTransacao;
+    private final boolean habilitado;
+    private final int maximoMovimentosPendentes;
+    private final boolean descarregarAoEncerrar;
+
+    private final Map<Long, Pendente> pendentes = new ConcurrentHashMap<>();
+    private final ReadWriteLock[] travas = new ReadWriteLock[FAIXAS];
+
+    private final LongAdder movimentosRecebidos = new LongAdder();
+    private final LongAdder movimentosGravados = new LongAdder();
+    private final LongAdder atualizacoesGravadas = new LongAdder();
+    private final LongAdder descargas = new LongAdder();
+    private final LongAdder tempoTotalDescargaNanos = new LongAdder();
+    private final AtomicLong maiorDescargaNanos = new AtomicLong();
+    private final AtomicLong maiorAtrasoNanos = new AtomicLong();
+
+    public AcumuladorEstoque(EstoqueService estoqueService, ProdutoRepository produtoRepository,
+                             ProdutoCache produtoCache, EstoqueReservado estoqueReservado,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${estoque.write-behind.habilitado:false}") boolean habilitado,
+                             @Value("${estoque.write-behind.maximo-movimentos-pendentes:1000}") int maximoMovimentosPendentes,
+                             @Value("${estoque.write-behind.descarregar-ao-encerrar:true}") boolean descarregarAoEncerrar) {
+        this.estoqueService = estoqueService;
+        this.produtoRepository = produtoRepository;
+        this.produtoCache = produtoCache;
+        this.estoqueReservado = estoqueReservado;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.habilitado = habilitado;
+        this.maximoMovimentosPendentes = maximoMovimentosPendentes;
+        this.descarregarAoEncerrar = descarregarAoEncerrar;
+        for (int i = 0; i < FAIXAS; i++) {
+            travas[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Acumula o delta do produto e retorna o produto como ficará após a gravação. Recusa o delta
+     * se a quantidade gravada somada aos pendentes ficaria abaixo do que está reservado.
+     */
+    public Produto acumular(Long id, int delta) {
+        Produto visivel;
+        int movimentos;
+        Lock leitura = trava(id).readLock();
+        leitura.lock();
+        try {
+            Produto produto = produtoCache.buscar(id, produtoRepository::findById)
+                    .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
+            Pendente acumulado = pendentes.compute(id, (chave, pendente) -> {
+                Pendente atual = pendente != null ? pendente : Pendente.VAZIO;
+                // Lido dentro do compute: uma reserva do produto valida no mesmo compute
+                int minimo = delta < 0 ? estoqueReservado.reservado(id) : 0;
+                long resultado = (long) produto.getQuantidade() + atual.delta() + delta;
+                if (resultado < minimo) {
+                    throw new EstoqueInsuficienteException(id);
+                }
+                if (resultado > Produto.MAXIMO_QUANTIDADE) {
+                    throw EstoqueService.acimaDoMaximo(id);
+                }
+                return atual.somar(delta);
+            });
+            movimentosRecebidos.increment();
+            visivel = comQuantidade(produto, produto.getQuantidade() + acumulado.delta());
+            movimentos = acumulado.movimentos();
+        } finally {
+            leitura.unlock();
+        }
+        // Limita o atraso em produtos muito disputados: quem atinge o máximo grava na hora
+        if (movimentos >= maximoMovimentosPendentes) {
+            descarregar(id);
+        }
+        return visivel;
+    }
+
+    /**
+     * Executa a leitura do produto somando o delta pendente na quantidade.
+     */
+    public Optional<Produto> comPendentes(Long id, Supplier<Optional<Produto>> leitura) {
+        return lerComPendentes(id, leitura).map(Leitura::produto);
+    }
+
+    /**
+     * Como {@link #comPendentes}, informando também se algum delta foi somado. A informação vem da
+     * mesma leitura, sob a trava: com delta somado, a quantidade não corresponde à versão gravada.
+     */
+    public Optional<Leitura> lerComPendentes(Long id, Supplier<Optional<Produto>> leitura) {
+        Lock trava = trava(id).readLock();
+        trava.lock();
+        try {
+            Pendente pendente = pendentes.get(id);
+            Optional<Produto> produto = leitura.get();
+            if (pendente == null || pendente.delta() == 0) {
+                return produto.map(p -> new Leitura(p, false));
+            }
+            return produto.map(p -> new Leitura(comQuantidade(p, p.getQuantidade() + pendente.delta()), true));
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Executa a validação com o produto como ficará após a gravação dos deltas pendentes. A
+     * validação roda no mesmo compute dos acúmulos do produto, então nenhum delta é aceito no meio
+     * dela: o que ela aprovar continua válido quando os pendentes forem gravados.
+     */
+    public <T> T validarComPendentes(Long id, Supplier<Optional<Produto>> leitura,
+                                     Function<Optional<Produto>, T> validacao) {
+        Lock trava = trava(id).readLock();
+        trava.lock();
+        try {
+            Optional<Produto> produto = leitura.get();
+            List<T> resultado = new ArrayList<>(1);
+            pendentes.compute(id, (chave, pendente) -> {
+                resultado.add(validacao.apply(pendente == null || pendente.delta() == 0 ? produto
+                        : produto.map(p -> comQuantidade(p, p.getQuantidade() + pendente.delta()))));
+                return pendente;
+            });
+            return resultado.get(0);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${estoque.write-behind.intervalo:PT0.05S}")
+    public void descarregarPendentes() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        int gravados = 0;
+        for (Long id : new ArrayList<>(pendentes.keySet())) {
+            if (descarregar(id)) {
+                gravados++;
+            }
+        }
+        if (gravados > 0) {
+            long duracao = System.nanoTime() - inicio;
+            descargas.increment();
+            tempoTotalDescargaNanos.add(duracao);
+            maiorDescargaNanos.accumulateAndGet(duracao, Math::max);
+        }
+    }
+
+    /**
+     * Grava o delta pendente do produto em uma transação própria, independente da transação de
+     * quem chamou. Retorna se houve gravação.
+     */
+    public boolean descarregar(Long id) {
+        Lock escrita = trava(id).writeLock();
+        escrita.lock();
+        try {
+            Pendente pendente = pendentes.remove(id);
+            if (pendente == null) {
+                return false;
+            }
+            if (pendente.delta() == 0) {
+                movimentosGravados.add(pendente.movimentos());
+                return false;
+            }
+            try {
+                novaTransacao.executeWithoutResult(status -> estoqueService.ajustar(id, pendente.delta()));
+            } catch (EntityNotFoundException e) {
+                log.warn("Delta pendente de {} descartado: produto ID {} não existe mais", pendente.delta(), id);
+                return false;
+            } catch (EstoqueInsuficienteException e) {
+                // Os deltas e as reservas são validados contra os pendentes, então isso é um defeito;
+                // manter o delta o faria ser recusado de novo a cada descarga
+                log.error("Delta pendente de {} ({} movimentos) do produto ID {} recusado na gravação e descartado",
+                        pendente.delta(), pendente.movimentos(), id, e);
+                return false;
+            } catch (RuntimeException e) {
+                // Mantém o delta para a próxima descarga, somado ao que chegou nesse meio tempo
+                pendentes.merge(id, pendente, Pendente::juntar);
+                log.warn("Falha ao gravar o delta pendente do produto ID {}: {}", id, e.getMessage());
+                return false;
+            }
+            movimentosGravados.add(pendente.movimentos());
+            atualizacoesGravadas.increment();
+            maiorAtrasoNanos.accumulateAndGet(System.nanoTime() - pendente.desdeNanos(), Math::max);
+            return true;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Executa em uma transação uma gravação que substitui a quantidade dos produtos (atualização
+     * completa, lote ou remoção). Os deltas pendentes são gravados antes de a transação começar, e
+     * as travas de escrita ficam seguras até o commit: nenhum acúmulo é validado contra a quantidade
+     * anterior nem somado por cima da nova. Deve ser chamado fora de transação, para que a gravação
+     * dos pendentes não precise de uma segunda conexão.
+     */
+    public <T> T substituirQuantidade(Collection<Long> ids, Supplier<T> gravacao) {
+        // Faixas em ordem crescente, para que duas gravações de vários produtos não se travem
+        SortedSet<Integer> faixas = new TreeSet<>();
+        ids.forEach(id -> faixas.add(faixa(id)));
+        List<Lock> escritas = new ArrayList<>();
+        try {
+            for (int faixa : faixas) {
+                Lock escrita = travas[faixa].writeLock();
+                escrita.lock();
+                escritas.add(escrita);
+            }
+            ids.forEach(this::descarregar);
+            return transacao.execute(status -> gravacao.get());
+        } finally {
+            escritas.forEach(Lock::unlock);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (!descarregarAoEncerrar || pendentes.isEmpty()) {
+            return;
+        }
+        log.info("Gravando {} produtos com estoque pendente antes de encerrar", pendentes.size());
+        descarregarPendentes();
+    }
+
+    public EstatisticasAcumuladorEstoque estatisticas() {
+        List<Pendente> atuais = new ArrayList<>(pendentes.values());
+        long quantidadeDescargas = descargas.sum();
+        return new EstatisticasAcumuladorEstoque(
+                habilitado,
+                atuais.size(),
+                atuais.stream().mapToLong(Pendente::movimentos).sum(),
+                movimentosRecebidos.sum(),
+                movimentosGravados.sum(),
+                atualizacoesGravadas.sum(),
+                quantidadeDescargas,
+                quantidadeDescargas > 0 ? tempoTotalDescargaNanos.sum() / quantidadeDescargas / 1_000_000.0 : 0.0,
+                maiorDescargaNanos.get() / 1_000_000.0,
+                maiorAtrasoNanos.get() / 1_000_000.0);
+    }
+
+    private ReadWriteLock trava(Long id) {
+        return travas[faixa(id)];
+    }
+
+    private static int faixa(Long id) {
+        return Math.floorMod(id.hashCode(), FAIXAS);
+    }
+
+    private static Produto comQuantidade(Produto produto, int quantidade) {
+        Produto copia = new Produto(produto.getNome(), produto.getDescricao(), produto.getPreco(), quantidade);
+        copia.setId(produto.getId());
+        copia.setCategoria(produto.getCategoria());
+        copia.setVersao(produto.getVersao());
+        return copia;
+    }
+
+    public record Leitura(Produto produto, boolean comPendentes) {
+    }
+
+    private record Pendente(int delta, int movimentos, long desdeNanos) {
+
+        static final Pendente VAZIO = new Pendente(0, 0, 0);
+
+        Pendente somar(int valor) {
+            return new Pendente(Math.addExact(delta, valor), movimentos + 1, movimentos == 0 ? System.nanoTime() : desdeNanos);
+        }
+
+        static Pendente juntar(Pendente anterior, Pendente novo) {
+            return new Pendente(Math.addExact(anterior.delta, novo.delta), anterior.movimentos + novo.movimentos,
+                    Math.min(anterior.desdeNanos, novo.desdeNanos));
+        }
+    }
+}
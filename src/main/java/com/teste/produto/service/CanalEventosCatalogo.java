@@ -0,0 +1,262 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.EventoCatalogo;
+import com.teste.produto.event.CategoriaAlteradaEvent;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.exception.AssinaturaIndisponivelException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transmite por Server-Sent Events as alterações de produtos e categorias, após o commit.
+ *
+ * <p>Cada assinante tem uma fila limitada, esvaziada por um pool pequeno de envio; uma conexão
+ * ociosa não ocupa thread nenhuma. Quem não acompanha o ritmo e enche a fila perde os eventos
+ * pendentes e recebe um evento {@code resync}, que pede para recarregar as listagens. Os últimos
+ * eventos ficam guardados para que uma reconexão com {@code Last-Event-ID} receba o que perdeu.
+ */
+@Component
+@Slf4j
+public class CanalEventosCatalogo {
+
+    static final String EVENTO_PRODUTO = "produto";
+    static final String EVENTO_CATEGORIA = "categoria";
+    static final String EVENTO_RESSINCRONIZAR = "resync";
+
+    private static final Evento PULSO = new Evento(0, null, null);
+
+    // Os IDs recomeçam a cada inicialização; o prefixo identifica IDs de uma execução anterior
+    private final String prefixoIds = Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final Deque<Evento> recentes = new ArrayDeque<>();
+    private final TaskExecutor envio;
+    private final long timeoutMs;
+    private final int tamanhoBuffer;
+    private final int tamanhoHistorico;
+    private final int maximoAssinantes;
+    private final LongAdder ressincronizacoes = new LongAdder();
+    private volatile long sequencia;
+
+    @Autowired
+    public CanalEventosCatalogo(@Value("${eventos.sse.timeout:PT30M}") Duration timeout,
+                                @Value("${eventos.sse.buffer:256}") int tamanhoBuffer,
+                                @Value("${eventos.sse.historico:1024}") int tamanhoHistorico,
+                                @Value("${eventos.sse.maximo-assinantes:10000}") int maximoAssinantes,
+                                @Value("${eventos.sse.workers:2}") int workers) {
+        this(criarExecutor(workers), timeout, tamanhoBuffer, tamanhoHistorico, maximoAssinantes);
+    }
+
+    CanalEventosCatalogo(TaskExecutor envio, Duration timeout, int tamanhoBuffer, int tamanhoHistorico, int maximoAssinantes) {
+        this.envio = envio;
+        this.timeoutMs = timeout.toMillis();
+        this.tamanhoBuffer = tamanhoBuffer;
+        this.tamanhoHistorico = tamanhoHistorico;
+        this.maximoAssinantes = maximoAssinantes;
+    }
+
+    private static ThreadPoolTaskExecutor criarExecutor(int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("eventos-sse-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Registra um assinante. Com o ID do último evento recebido, reenvia os eventos posteriores
+     * guardados ou, se eles já saíram do histórico, pede uma ressincronização.
+     */
+    public SseEmitter assinar(String ultimoEventoId) {
+        return assinar(new SseEmitter(timeoutMs), ultimoEventoId);
+    }
+
+    SseEmitter assinar(SseEmitter emissor, String ultimoEventoId) {
+        if (assinantes.size() >= maximoAssinantes) {
+            throw new AssinaturaIndisponivelException();
+        }
+        Assinante assinante = new Assinante(emissor);
+        emissor.onCompletion(() -> remover(assinante));
+        emissor.onTimeout(() -> remover(assinante));
+        emissor.onError(erro -> remover(assinante));
+        synchronized (this) {
+            assinantes.add(assinante);
+            if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+                assinante.enfileirar(PULSO);
+            } else {
+                reenviar(assinante, ultimoEventoId);
+            }
+        }
+        return emissor;
+    }
+
+    public int getAssinantes() {
+        return assinantes.size();
+    }
+
+    public long getRessincronizacoes() {
+        return ressincronizacoes.sum();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        publicar(EVENTO_PRODUTO, new EventoCatalogo(evento.getTipo().name(), evento.getId(), evento.getNome()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCategoria(CategoriaAlteradaEvent evento) {
+        publicar(EVENTO_CATEGORIA, new EventoCatalogo(evento.getTipo().name(), evento.getId(), evento.getNome()));
+    }
+
+    // Mantém a conexão viva em proxies e revela assinantes que já desconectaram
+    @Scheduled(fixedDelayString = "${eventos.sse.heartbeat:PT25S}")
+    public void pulsar() {
+        for (Assinante assinante : assinantes) {
+            if (assinante.fila.isEmpty()) {
+                assinante.enfileirar(PULSO);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinantes.forEach(assinante -> assinante.emissor.complete());
+        assinantes.clear();
+        if (envio instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    // A trava ordena os eventos: todo assinante os recebe na ordem dos IDs, sem lacunas nem repetições
+    private synchronized void publicar(String nome, EventoCatalogo dados) {
+        Evento evento = new Evento(++sequencia, nome, dados);
+        recentes.addLast(evento);
+        if (recentes.size() > tamanhoHistorico) {
+            recentes.removeFirst();
+        }
+        for (Assinante assinante : assinantes) {
+            assinante.enfileirar(evento);
+        }
+    }
+
+    private void reenviar(Assinante assinante, String ultimoEventoId) {
+        long ultimo = -1;
+        if (ultimoEventoId.startsWith(prefixoIds)) {
+            try {
+                ultimo = Long.parseLong(ultimoEventoId.substring(prefixoIds.length()));
+            } catch (NumberFormatException e) {
+                ultimo = -1;
+            }
+        }
+        long maisAntigoGuardado = recentes.isEmpty() ? sequencia + 1 : recentes.getFirst().sequencia;
+        if (ultimo < 0 || ultimo > sequencia || ultimo < maisAntigoGuardado - 1) {
+            assinante.pedirRessincronizacao();
+            return;
+        }
+        assinante.enfileirar(PULSO);
+        for (Evento evento : recentes) {
+            if (evento.sequencia > ultimo) {
+                assinante.enfileirar(evento);
+            }
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        assinantes.remove(assinante);
+    }
+
+    private record Evento(long sequencia, String nome, EventoCatalogo dados) {
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emissor;
+        private final Queue<Evento> fila;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile boolean ressincronizar;
+
+        Assinante(SseEmitter emissor) {
+            this.emissor = emissor;
+            this.fila = new ArrayBlockingQueue<>(tamanhoBuffer);
+        }
+
+        void enfileirar(Evento evento) {
+            if (!fila.offer(evento)) {
+                pedirRessincronizacao();
+                return;
+            }
+            agendar();
+        }
+
+        // Os eventos pendentes perdem o sentido: o cliente vai recarregar tudo
+        void pedirRessincronizacao() {
+            ressincronizar = true;
+            fila.clear();
+            ressincronizacoes.increment();
+            agendar();
+        }
+
+        void agendar() {
+            if (!agendado.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                envio.execute(this::enviarPendentes);
+            } catch (TaskRejectedException e) {
+                agendado.set(false);
+                log.debug("Envio de eventos recusado: {}", e.getMessage());
+            }
+        }
+
+        private void enviarPendentes() {
+            try {
+                Evento evento;
+                while (true) {
+                    if (ressincronizar) {
+                        ressincronizar = false;
+                        emissor.send(SseEmitter.event().id(prefixoIds + sequencia).name(EVENTO_RESSINCRONIZAR).data(""));
+                    }
+                    if ((evento = fila.poll()) == null) {
+                        break;
+                    }
+                    if (evento == PULSO) {
+                        emissor.send(SseEmitter.event().comment(""));
+                    } else {
+                        emissor.send(SseEmitter.event().id(prefixoIds + evento.sequencia).name(evento.nome).data(evento.dados));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Conexão encerrada pelo cliente: o emissor é descartado e o cliente reconecta
+                remover(this);
+                emissor.completeWithError(e);
+                return;
+            } finally {
+                agendado.set(false);
+            }
+            if (!fila.isEmpty() || ressincronizar) {
+                agendar();
+            }
+        }
+    }
+}
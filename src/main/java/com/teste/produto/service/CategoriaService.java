@@ -1,34 +1,50 @@
 package com.teste.produto.service;
 
+import com.teste.produto.event.CategoriaAlteradaEvent;
 import com.teste.produto.exception.CategoriaComProdutosException;
 import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Lapide;
 import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.LapideRepository;
 import com.teste.produto.repository.ProdutoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
-
+@Timed("catalogo.servico")
 public class CategoriaService {
 	private final CategoriaRepository categoriaRepository;
 	private final ProdutoRepository produtoRepository;
+	private final LapideRepository lapideRepository;
+	private final ValorEstoqueService valorEstoqueService;
+	private final ApplicationEventPublisher eventPublisher;
 
-    public CategoriaService(CategoriaRepository categoriaRepository, ProdutoRepository produtoRepository) {
+    public CategoriaService(CategoriaRepository categoriaRepository, ProdutoRepository produtoRepository,
+                            LapideRepository lapideRepository, ValorEstoqueService valorEstoqueService,
+                            ApplicationEventPublisher eventPublisher) {
         this.categoriaRepository = categoriaRepository;
         this.produtoRepository = produtoRepository;
+        this.lapideRepository = lapideRepository;
+        this.valorEstoqueService = valorEstoqueService;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Categoria> listarTodas() {
         return categoriaRepository.findAll();
     }
 
+    // A categoria e a sua linha do valor do estoque são gravadas juntas
+    @Transactional
     public Categoria salvar(Categoria categoria) {
-        if (categoriaRepository.existsByNomeIgnoreCase(categoria.getNome())) {
-            throw new IllegalArgumentException("Já existe uma categoria com este nome");
-        }
-        return categoriaRepository.save(categoria);
+        Categoria salva = categoriaRepository.saveAndFlush(categoria);
+        valorEstoqueService.registrarCategoria(salva.getId());
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.criada(salva.getId(), salva.getNome()));
+        return salva;
     }
 
     public Optional<Categoria> buscarPorId(Long id) {
@@ -42,17 +58,15 @@ public class CategoriaService {
         }
 
         Categoria categoriaExistente = optionalCategoria.get();
-
-        if (!categoriaExistente.getNome().equals(categoria.getNome()) &&
-            categoriaRepository.existsByNomeIgnoreCase(categoria.getNome())) {
-            throw new IllegalArgumentException("Já existe uma categoria com este nome");
-        }
-
         categoriaExistente.setNome(categoria.getNome());
         categoriaExistente.setDescricao(categoria.getDescricao());
-        return categoriaRepository.save(categoriaExistente);
+        Categoria salva = categoriaRepository.saveAndFlush(categoriaExistente);
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.atualizada(id, salva.getNome()));
+        return salva;
     }
 
+    // A remoção e a lápide são gravadas juntas
+    @Transactional
     public void deletar(Long id) {
         if (!categoriaRepository.existsById(id)) {
             throw new IllegalArgumentException("Categoria não encontrada com ID: " + id);
@@ -61,6 +75,8 @@ public class CategoriaService {
             throw new IllegalArgumentException("Não é possível deletar categoria com produtos associados");
         }
         categoriaRepository.deleteById(id);
+        lapideRepository.save(new Lapide(Lapide.Entidade.CATEGORIA, id));
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.removida(id));
     }
 
 }
@@ -0,0 +1,51 @@
+package com.teste.produto.service;
+
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Total reservado de cada produto, contado pelas reservas ativas e pelas confirmadas ainda não
+ * baixadas. Fica separado do {@link ReservaService} para que os ajustes diretos de estoque também
+ * consultem o reservado sem depender das reservas.
+ */
+@Component
+public class EstoqueReservado {
+
+    private final Map<Long, AtomicInteger> reservadoPorProduto = new ConcurrentHashMap<>();
+
+    /**
+     * Soma a quantidade ao reservado do produto, por compare-and-set, desde que o total reservado
+     * não passe da quantidade em estoque.
+     */
+    public void reservar(Long produtoId, int quantidade, int emEstoque) {
+        AtomicInteger reservado = reservadoPorProduto.computeIfAbsent(produtoId, id -> new AtomicInteger());
+        int atual;
+        do {
+            atual = reservado.get();
+            if (atual + quantidade > emEstoque) {
+                throw new EstoqueInsuficienteException(produtoId);
+            }
+        } while (!reservado.compareAndSet(atual, atual + quantidade));
+    }
+
+    public void somar(Long produtoId, int quantidade) {
+        reservadoPorProduto.computeIfAbsent(produtoId, id -> new AtomicInteger()).addAndGet(quantidade);
+    }
+
+    public void devolver(Long produtoId, int quantidade) {
+        reservadoPorProduto.get(produtoId).addAndGet(-quantidade);
+    }
+
+    public int reservado(Long produtoId) {
+        AtomicInteger reservado = reservadoPorProduto.get(produtoId);
+        return reservado != null ? reservado.get() : 0;
+    }
+
+    void limpar() {
+        reservadoPorProduto.clear();
+    }
+}
@@ -0,0 +1,142 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.MovimentoEstoque;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.model.MovimentacaoEstoque;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Movimentações de estoque por diferença. Cada movimento é um único UPDATE condicional, então
+ * movimentos concorrentes do mesmo produto nunca se sobrescrevem nem deixam o estoque negativo.
+ */
+@Service
+@Slf4j
+public class EstoqueService {
+
+    static final int TAMANHO_MAXIMO_LOTE = 500;
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoCache produtoCache;
+    private final ValorEstoqueService valorEstoqueService;
+    private final LivroEstoqueService livroEstoqueService;
+    private final EstoqueReservado estoqueReservado;
+    private final RelogioAlteracoes relogioAlteracoes;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EstoqueService(ProdutoRepository produtoRepository, ProdutoCache produtoCache,
+                          ValorEstoqueService valorEstoqueService, LivroEstoqueService livroEstoqueService,
+                          EstoqueReservado estoqueReservado, RelogioAlteracoes relogioAlteracoes, ApplicationEventPublisher eventPublisher) {
+        this.produtoRepository = produtoRepository;
+        this.produtoCache = produtoCache;
+        this.valorEstoqueService = valorEstoqueService;
+        this.livroEstoqueService = livroEstoqueService;
+        this.estoqueReservado = estoqueReservado;
+        this.relogioAlteracoes = relogioAlteracoes;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public Produto ajustar(Long id, int delta) {
+        return ajustar(id, delta, MovimentacaoEstoque.Motivo.AJUSTE);
+    }
+
+    @Transactional
+    public Produto ajustar(Long id, int delta, MovimentacaoEstoque.Motivo motivo) {
+        log.info("Ajustando estoque do produto ID: {} em {} ({})", id, delta, motivo);
+        return aplicar(Map.of(id, delta), motivo).get(0);
+    }
+
+    @Transactional
+    public List<Produto> ajustar(List<MovimentoEstoque> movimentos) {
+        return ajustar(movimentos, MovimentacaoEstoque.Motivo.AJUSTE);
+    }
+
+    /**
+     * Aplica os movimentos em uma única transação: se algum baixaria o estoque abaixo do que está
+     * reservado ou cita um produto inexistente, nenhum é aplicado. Movimentos do mesmo produto são somados, e as
+     * linhas são atualizadas em ordem de ID para evitar deadlocks entre lotes concorrentes.
+     */
+    @Transactional
+    public List<Produto> ajustar(List<MovimentoEstoque> movimentos, MovimentacaoEstoque.Motivo motivo) {
+        if (movimentos == null || movimentos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um movimento de estoque");
+        }
+        if (movimentos.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("O lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " movimentos");
+        }
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (MovimentoEstoque movimento : movimentos) {
+            if (movimento.getProdutoId() == null || movimento.getDelta() == null) {
+                throw new IllegalArgumentException("Cada movimento deve informar produtoId e delta");
+            }
+            if (Math.abs(movimento.getDelta()) > MovimentoEstoque.MAXIMO_DELTA) {
+                throw new IllegalArgumentException("O delta de cada movimento deve estar entre -"
+                        + MovimentoEstoque.MAXIMO_DELTA + " e " + MovimentoEstoque.MAXIMO_DELTA);
+            }
+            // Com o limite por movimento e o tamanho máximo do lote, a soma não estoura
+            deltas.merge(movimento.getProdutoId(), movimento.getDelta(), Integer::sum);
+        }
+        log.info("Ajustando estoque em lote: {} produtos ({})", deltas.size(), motivo);
+        return aplicar(deltas, motivo);
+    }
+
+    private List<Produto> aplicar(Map<Long, Integer> deltas, MovimentacaoEstoque.Motivo motivo) {
+        new TreeMap<>(deltas).forEach((id, delta) -> {
+            if (produtoRepository.ajustarQuantidade(id, delta, minimo(id, delta, motivo), Produto.MAXIMO_QUANTIDADE,
+                    relogioAlteracoes.proxima()) == 0) {
+                Produto produto = produtoRepository.findById(id)
+                        .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
+                if ((long) produto.getQuantidade() + delta > Produto.MAXIMO_QUANTIDADE) {
+                    throw acimaDoMaximo(id);
+                }
+                throw new EstoqueInsuficienteException(id);
+            }
+        });
+
+        List<Produto> produtos = new ArrayList<>(produtoRepository.findAllById(deltas.keySet()));
+        Map<Long, BigDecimal> diferencas = new HashMap<>();
+        List<MovimentacaoEstoque> lancamentos = new ArrayList<>();
+        for (Produto produto : produtos) {
+            int delta = deltas.get(produto.getId());
+            diferencas.merge(ValorEstoqueService.chave(produto),
+                    ValorEstoqueService.valor(produto.getPreco(), delta), BigDecimal::add);
+            lancamentos.add(LivroEstoqueService.lancamento(produto.getId(), delta, produto.getQuantidade(), motivo));
+        }
+        valorEstoqueService.aplicar(diferencas);
+        livroEstoqueService.registrar(lancamentos);
+
+        produtos.sort(Comparator.comparing(Produto::getId));
+        for (Produto produto : produtos) {
+            produtoCache.invalidar(produto.getId());
+            eventPublisher.publishEvent(ProdutoAlteradoEvent.atualizado(produto.getId(), produto.getNome()));
+        }
+        return produtos;
+    }
+
+    static IllegalArgumentException acimaDoMaximo(Long id) {
+        return new IllegalArgumentException("A quantidade do produto ID " + id + " não pode passar de " + Produto.MAXIMO_QUANTIDADE);
+    }
+
+    // A baixa das próprias reservas consome o reservado; as demais baixas não podem invadi-lo
+    private int minimo(Long id, int delta, MovimentacaoEstoque.Motivo motivo) {
+        if (delta >= 0 || motivo == MovimentacaoEstoque.Motivo.RESERVA) {
+            return 0;
+        }
+        return estoqueReservado.reservado(id);
+    }
+}
@@ -0,0 +1,66 @@
+package com.teste.produto.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class ExportacaoProdutoService {
+
+    static final int LINHAS_POR_LOTE = 500;
+
+    private final ProdutoRepository produtoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ExportacaoProdutoService(ProdutoRepository produtoRepository, EntityManager entityManager,
+                                    ObjectMapper objectMapper) {
+        this.produtoRepository = produtoRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve o catálogo completo em NDJSON (um produto por linha) lendo as linhas por cursor.
+     * A cada lote o contexto de persistência é limpo e a saída é descarregada, de modo que o
+     * consumo de memória não depende do tamanho do catálogo.
+     */
+    @Transactional(readOnly = true)
+    public long exportarCatalogo(OutputStream saida) throws IOException {
+        log.info("Exportando catálogo de produtos em NDJSON");
+        long total = 0;
+        try (Stream<Produto> produtos = produtoRepository.streamTodos();
+             SequenceWriter escritor = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(saida)) {
+            Iterator<Produto> iterator = produtos.iterator();
+            while (iterator.hasNext()) {
+                escritor.write(iterator.next());
+                total++;
+                if (total % LINHAS_POR_LOTE == 0) {
+                    entityManager.clear();
+                    escritor.flush();
+                }
+            }
+        }
+        if (total > 0) {
+            saida.write('\n');
+        }
+        saida.flush();
+        log.info("Exportação concluída: {} produtos", total);
+        return total;
+    }
+}
@@ -0,0 +1,268 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.ImportacaoJob;
+import com.teste.produto.dto.ResultadoItemLote;
+import com.teste.produto.exception.ImportacaoIndisponivelException;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.util.LeitorCsv;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ImportacaoProdutoService {
+
+    static final Duration RETENCAO_JOBS_FINALIZADOS = Duration.ofHours(1);
+
+    private final ProdutoLoteService produtoLoteService;
+    private final CategoriaRepository categoriaRepository;
+    private final Validator validator;
+    private final TaskExecutor executor;
+    private final Map<String, ImportacaoJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ImportacaoProdutoService(ProdutoLoteService produtoLoteService, CategoriaRepository categoriaRepository,
+                                    Validator validator,
+                                    @Value("${importacao.workers:2}") int workers,
+                                    @Value("${importacao.fila:10}") int fila) {
+        this(produtoLoteService, categoriaRepository, validator, criarExecutor(workers, fila));
+    }
+
+    ImportacaoProdutoService(ProdutoLoteService produtoLoteService, CategoriaRepository categoriaRepository,
+                             Validator validator, TaskExecutor executor) {
+        this.produtoLoteService = produtoLoteService;
+        this.categoriaRepository = categoriaRepository;
+        this.validator = validator;
+        this.executor = executor;
+    }
+
+    // Pool próprio e limitado: importações não competem com as threads de requisição
+    private static ThreadPoolTaskExecutor criarExecutor(int workers, int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("importacao-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Copia o arquivo enviado para disco e agenda o processamento. O CSV é lido em streaming
+     * pela thread de importação, nunca inteiro em memória.
+     */
+    public ImportacaoJob iniciar(MultipartFile arquivo) throws IOException {
+        if (arquivo.isEmpty()) {
+            throw new IllegalArgumentException("O arquivo CSV está vazio");
+        }
+        removerJobsAntigos();
+
+        Path temporario = Files.createTempFile("importacao-", ".csv");
+        arquivo.transferTo(temporario);
+
+        ImportacaoJob job = new ImportacaoJob(UUID.randomUUID().toString(), arquivo.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> processar(job, temporario));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(temporario);
+            throw new ImportacaoIndisponivelException();
+        }
+        log.info("Importação {} agendada para o arquivo {}", job.getId(), arquivo.getOriginalFilename());
+        return job;
+    }
+
+    public Optional<ImportacaoJob> buscarPorId(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    void processar(ImportacaoJob job, Path arquivo) {
+        job.iniciar();
+        log.info("Iniciando importação {}", job.getId());
+        try (BufferedReader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            importar(job, reader);
+            job.concluir();
+            log.info("Importação {} concluída: {} linhas, {} produtos criados, {} erros", job.getId(),
+                    job.getLinhasProcessadas(), job.getProdutosCriados(), job.getTotalErros());
+        } catch (IllegalArgumentException e) {
+            job.falhar(e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro na importação {}", job.getId(), e);
+            job.falhar("Erro ao processar o arquivo: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover o arquivo temporário {}", arquivo, e);
+            }
+        }
+    }
+
+    private void importar(ImportacaoJob job, BufferedReader reader) throws IOException {
+        String cabecalho = reader.readLine();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("O arquivo CSV está vazio");
+        }
+        char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        Map<String, Integer> colunas = lerCabecalho(new LeitorCsv(new StringReader(cabecalho), separador).proximoRegistro());
+
+        LeitorCsv leitor = new LeitorCsv(reader, separador, 2);
+        Map<String, Categoria> categorias = categoriaRepository.findAll().stream()
+                .collect(Collectors.toMap(c -> normalizar(c.getNome()), c -> c, (a, b) -> a));
+
+        Map<Integer, Produto> pendentes = new LinkedHashMap<>();
+        List<String> campos;
+        while ((campos = leitor.proximoRegistro()) != null) {
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            int linha = leitor.getLinhaDoRegistro();
+            job.registrarLinhaProcessada();
+            try {
+                pendentes.put(linha, converter(campos, colunas, categorias));
+            } catch (IllegalArgumentException e) {
+                job.registrarErro(linha, e.getMessage());
+            }
+            if (pendentes.size() >= ProdutoLoteService.TAMANHO_LOTE) {
+                gravar(job, pendentes);
+            }
+        }
+        if (!pendentes.isEmpty()) {
+            gravar(job, pendentes);
+        }
+    }
+
+    private Map<String, Integer> lerCabecalho(List<String> cabecalho) {
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(normalizar(cabecalho.get(i).replace("\uFEFF", "")), i);
+        }
+        for (String obrigatoria : List.of("nome", "preco", "quantidade")) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new IllegalArgumentException("Cabeçalho do CSV sem a coluna obrigatória: " + obrigatoria);
+            }
+        }
+        return colunas;
+    }
+
+    private Produto converter(List<String> campos, Map<String, Integer> colunas, Map<String, Categoria> categorias) {
+        Produto produto = new Produto();
+        produto.setNome(valor(campos, colunas, "nome"));
+        produto.setDescricao(valor(campos, colunas, "descricao"));
+        produto.setPreco(converterPreco(valor(campos, colunas, "preco")));
+        produto.setQuantidade(converterQuantidade(valor(campos, colunas, "quantidade")));
+
+        String categoria = valor(campos, colunas, "categoria");
+        if (categoria != null) {
+            Categoria encontrada = categorias.get(normalizar(categoria));
+            if (encontrada == null) {
+                throw new IllegalArgumentException("Categoria não encontrada: " + categoria);
+            }
+            produto.setCategoria(encontrada);
+        }
+
+        Set<ConstraintViolation<Produto>> violacoes = validator.validate(produto);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return produto;
+    }
+
+    private void gravar(ImportacaoJob job, Map<Integer, Produto> pendentes) {
+        long criados = 0;
+        for (ResultadoItemLote resultado : produtoLoteService.gravarLote(pendentes)) {
+            if (resultado.getStatus() == ResultadoItemLote.Status.ERRO) {
+                job.registrarErro(resultado.getIndice(), resultado.getMensagem());
+            } else {
+                criados++;
+            }
+        }
+        job.registrarCriados(criados);
+        pendentes.clear();
+    }
+
+    private String valor(List<String> campos, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private BigDecimal converterPreco(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String normalizado = valor.indexOf('.') < 0 ? valor.replace(',', '.') : valor;
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("preco: valor inválido '" + valor + "'");
+        }
+    }
+
+    private Integer converterQuantidade(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("quantidade: valor inválido '" + valor + "'");
+        }
+    }
+
+    private void removerJobsAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minus(RETENCAO_JOBS_FINALIZADOS);
+        jobs.values().removeIf(job -> job.isFinalizado() && job.getFinalizadoEm().isBefore(limite));
+    }
+
+    private String normalizar(String valor) {
+        return valor.trim().toLowerCase(Locale.ROOT);
+    }
+}
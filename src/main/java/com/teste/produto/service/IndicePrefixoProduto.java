@@ -0,0 +1,149 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.SugestaoProduto;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.util.TextoNormalizado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Índice ordenado de nomes normalizados para o autocompletar. As chaves são o nome inteiro e cada
+ * palavra a partir da segunda, seguidos do ID; uma busca por prefixo é uma faixa do mapa. As leituras
+ * não bloqueiam, e só as gravações são serializadas.
+ */
+@Component
+@Slf4j
+public class IndicePrefixoProduto {
+
+    private static final char SEPARADOR_ID = '\u0000';
+    private static final char MAIOR_CARACTERE = Character.MAX_VALUE;
+
+    private final ProdutoRepository produtoRepository;
+    private final NavigableMap<String, SugestaoProduto> porNome = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, SugestaoProduto> porPalavra = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> nomesIndexados = new ConcurrentHashMap<>();
+    private final Set<Long> alteradosDuranteReconstrucao = new HashSet<>();
+    private boolean reconstruindo;
+
+    public IndicePrefixoProduto(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        synchronized (this) {
+            reconstruindo = true;
+            porNome.clear();
+            porPalavra.clear();
+            nomesIndexados.clear();
+            alteradosDuranteReconstrucao.clear();
+        }
+        try (Stream<ProdutoRepository.IdNome> linhas = produtoRepository.streamIdNome()) {
+            linhas.forEach(linha -> {
+                synchronized (this) {
+                    if (!alteradosDuranteReconstrucao.contains(linha.getId())) {
+                        adicionar(linha.getId(), linha.getNome());
+                    }
+                }
+            });
+        } finally {
+            synchronized (this) {
+                reconstruindo = false;
+                alteradosDuranteReconstrucao.clear();
+            }
+        }
+        log.info("Índice de sugestões reconstruído: {} produtos", nomesIndexados.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        if (reconstruindo) {
+            alteradosDuranteReconstrucao.add(evento.getId());
+        }
+        remover(evento.getId());
+        if (evento.getTipo() != ProdutoAlteradoEvent.Tipo.REMOVIDO) {
+            adicionar(evento.getId(), evento.getNome());
+        }
+    }
+
+    /**
+     * Até {@code limite} produtos cujo nome, ou alguma palavra do nome, começa pelo prefixo.
+     * Os que começam pelo prefixo no início do nome vêm primeiro, em ordem alfabética.
+     */
+    public List<SugestaoProduto> sugerir(String prefixo, int limite) {
+        String normalizado = TextoNormalizado.normalizar(prefixo);
+        if (normalizado.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> vistos = new HashSet<>();
+        List<SugestaoProduto> sugestoes = new ArrayList<>();
+        coletar(porNome, normalizado, limite, vistos, sugestoes);
+        coletar(porPalavra, normalizado, limite, vistos, sugestoes);
+        return sugestoes;
+    }
+
+    private void coletar(NavigableMap<String, SugestaoProduto> indice, String prefixo, int limite,
+                         Set<Long> vistos, List<SugestaoProduto> sugestoes) {
+        for (SugestaoProduto sugestao : indice.subMap(prefixo, true, prefixo + MAIOR_CARACTERE, true).values()) {
+            if (sugestoes.size() >= limite) {
+                return;
+            }
+            if (vistos.add(sugestao.getId())) {
+                sugestoes.add(sugestao);
+            }
+        }
+    }
+
+    private void adicionar(Long id, String nome) {
+        String normalizado = TextoNormalizado.normalizar(nome);
+        SugestaoProduto sugestao = new SugestaoProduto(id, nome);
+        nomesIndexados.put(id, normalizado);
+        porNome.put(chave(normalizado, id), sugestao);
+        for (int inicio : iniciosDePalavra(normalizado)) {
+            porPalavra.put(chave(normalizado.substring(inicio), id), sugestao);
+        }
+    }
+
+    private void remover(Long id) {
+        String normalizado = nomesIndexados.remove(id);
+        if (normalizado == null) {
+            return;
+        }
+        porNome.remove(chave(normalizado, id));
+        for (int inicio : iniciosDePalavra(normalizado)) {
+            porPalavra.remove(chave(normalizado.substring(inicio), id));
+        }
+    }
+
+    private static String chave(String texto, Long id) {
+        return texto + SEPARADOR_ID + id;
+    }
+
+    // Posições em que começa cada palavra, exceto a primeira (já coberta pelo nome inteiro)
+    private static List<Integer> iniciosDePalavra(String texto) {
+        List<Integer> inicios = new ArrayList<>();
+        for (int i = 1; i < texto.length(); i++) {
+            if (Character.isLetterOrDigit(texto.charAt(i)) && !Character.isLetterOrDigit(texto.charAt(i - 1))) {
+                inicios.add(i);
+            }
+        }
+        return inicios;
+    }
+}
@@ -0,0 +1,312 @@
+package com.teste.produto.service;
+
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.util.TextoNormalizado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido de trigramas sobre o nome normalizado dos produtos. Uma busca por substring
+ * intersecta as listas de IDs dos trigramas do termo e confirma cada candidato contra o nome
+ * indexado, sem varrer a tabela. Termos com menos de três caracteres (as primeiras teclas da
+ * busca) usam listas à parte com o primeiro e os dois primeiros caracteres de cada palavra, então
+ * só encontram nomes com uma palavra que comece pelo termo.
+ */
+@Component
+@Slf4j
+public class IndiceTrigramaProduto {
+
+    private static final int TAMANHO_GRAMA = 3;
+    // Distingue as chaves de início de palavra dos trigramas, que ocupam só 48 bits
+    private static final long MARCA_INICIO_PALAVRA = 1L << 62;
+    private static final int TAMANHO_BLOCO_RECONSTRUCAO = 1000;
+
+    private final ProdutoRepository produtoRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> nomes = new HashMap<>();
+    private final Map<Long, ListaIds> postagens = new HashMap<>();
+    private final Set<Long> alteradosDuranteReconstrucao = new HashSet<>();
+    private volatile boolean pronto;
+    private boolean reconstruindo;
+
+    public IndiceTrigramaProduto(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Carrega o índice a partir do banco. Alterações que chegam durante a carga têm prioridade
+     * sobre as linhas lidas, que podem estar desatualizadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pronto = false;
+            reconstruindo = true;
+            nomes.clear();
+            postagens.clear();
+            alteradosDuranteReconstrucao.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try (Stream<ProdutoRepository.IdNome> linhas = produtoRepository.streamIdNome()) {
+            List<ProdutoRepository.IdNome> bloco = new ArrayList<>(TAMANHO_BLOCO_RECONSTRUCAO);
+            linhas.forEach(linha -> {
+                bloco.add(linha);
+                if (bloco.size() == TAMANHO_BLOCO_RECONSTRUCAO) {
+                    carregar(bloco);
+                    bloco.clear();
+                }
+            });
+            carregar(bloco);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                reconstruindo = false;
+                alteradosDuranteReconstrucao.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        pronto = true;
+        log.info("Índice de trigramas reconstruído: {} produtos, {} trigramas em {} ms",
+                nomes.size(), postagens.size(), System.currentTimeMillis() - inicio);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            if (reconstruindo) {
+                alteradosDuranteReconstrucao.add(evento.getId());
+            }
+            remover(evento.getId());
+            if (evento.getTipo() != ProdutoAlteradoEvent.Tipo.REMOVIDO) {
+                adicionar(evento.getId(), TextoNormalizado.normalizar(evento.getNome()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os IDs dos produtos cujo nome contém o termo, do mais ao menos relevante:
+     * nome igual ao termo, nome que começa pelo termo, palavra que começa pelo termo e, por fim,
+     * o termo no meio de uma palavra. Empates favorecem nomes mais curtos.
+     */
+    public List<Long> buscar(String termo, int limite) {
+        String normalizado = TextoNormalizado.normalizar(termo);
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(Comparator.reverseOrder());
+        lock.readLock().lock();
+        try {
+            for (long id : candidatos(normalizado)) {
+                String nome = nomes.get(id);
+                int posicao = nome != null ? nome.indexOf(normalizado) : -1;
+                if (posicao < 0) {
+                    continue;
+                }
+                melhores.add(new Resultado(id, nome, relevancia(nome, normalizado, posicao)));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Resultado[] ordenados = melhores.toArray(new Resultado[0]);
+        Arrays.sort(ordenados);
+        return Arrays.stream(ordenados).map(Resultado::id).toList();
+    }
+
+    private void carregar(List<ProdutoRepository.IdNome> bloco) {
+        lock.writeLock().lock();
+        try {
+            for (ProdutoRepository.IdNome linha : bloco) {
+                if (!alteradosDuranteReconstrucao.contains(linha.getId())) {
+                    adicionar(linha.getId(), TextoNormalizado.normalizar(linha.getNome()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] candidatos(String termo) {
+        if (termo.isEmpty()) {
+            return new long[0];
+        }
+        if (termo.length() < TAMANHO_GRAMA) {
+            ListaIds lista = postagens.get(inicioPalavra(termo, 0, termo.length()));
+            return lista == null ? new long[0] : Arrays.copyOf(lista.ids, lista.tamanho());
+        }
+        List<ListaIds> listas = new ArrayList<>();
+        for (long grama : gramas(termo)) {
+            ListaIds lista = postagens.get(grama);
+            if (lista == null) {
+                return new long[0];
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(ListaIds::tamanho));
+        ListaIds menor = listas.get(0);
+        long[] resultado = new long[menor.tamanho()];
+        int total = 0;
+        for (int i = 0; i < menor.tamanho(); i++) {
+            long id = menor.get(i);
+            boolean emTodas = true;
+            for (int j = 1; j < listas.size() && emTodas; j++) {
+                emTodas = listas.get(j).contem(id);
+            }
+            if (emTodas) {
+                resultado[total++] = id;
+            }
+        }
+        return Arrays.copyOf(resultado, total);
+    }
+
+    private int relevancia(String nome, String termo, int posicao) {
+        if (nome.length() == termo.length()) {
+            return 0;
+        }
+        if (posicao == 0) {
+            return 1;
+        }
+        if (!Character.isLetterOrDigit(nome.charAt(posicao - 1))) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private void adicionar(Long id, String nome) {
+        nomes.put(id, nome);
+        for (long grama : chaves(nome)) {
+            postagens.computeIfAbsent(grama, g -> new ListaIds()).adicionar(id);
+        }
+    }
+
+    private void remover(Long id) {
+        String nome = nomes.remove(id);
+        if (nome == null) {
+            return;
+        }
+        for (long grama : chaves(nome)) {
+            ListaIds lista = postagens.get(grama);
+            if (lista != null && lista.remover(id) && lista.tamanho() == 0) {
+                postagens.remove(grama);
+            }
+        }
+    }
+
+    // Trigramas do nome e o primeiro e os dois primeiros caracteres de cada palavra
+    private static Set<Long> chaves(String nome) {
+        Set<Long> chaves = gramas(nome);
+        for (int i = 0; i < nome.length(); i++) {
+            if (i == 0 || !Character.isLetterOrDigit(nome.charAt(i - 1))) {
+                chaves.add(inicioPalavra(nome, i, 1));
+                if (i + 1 < nome.length()) {
+                    chaves.add(inicioPalavra(nome, i, 2));
+                }
+            }
+        }
+        return chaves;
+    }
+
+    private static long inicioPalavra(String texto, int inicio, int tamanho) {
+        return tamanho == 1
+                ? MARCA_INICIO_PALAVRA | texto.charAt(inicio)
+                : MARCA_INICIO_PALAVRA | 1L << 32 | (long) texto.charAt(inicio) << 16 | texto.charAt(inicio + 1);
+    }
+
+    // Cada trigrama é empacotado em um long (3 caracteres de 16 bits) para evitar criar Strings
+    private static Set<Long> gramas(String texto) {
+        Set<Long> gramas = new HashSet<>();
+        for (int i = 0; i + TAMANHO_GRAMA <= texto.length(); i++) {
+            gramas.add(((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2));
+        }
+        return gramas;
+    }
+
+    private record Resultado(long id, String nome, int relevancia) implements Comparable<Resultado> {
+        @Override
+        public int compareTo(Resultado outro) {
+            int comparacao = Integer.compare(relevancia, outro.relevancia);
+            if (comparacao == 0) {
+                comparacao = Integer.compare(nome.length(), outro.nome.length());
+            }
+            if (comparacao == 0) {
+                comparacao = nome.compareTo(outro.nome);
+            }
+            return comparacao != 0 ? comparacao : Long.compare(id, outro.id);
+        }
+    }
+
+    /**
+     * Lista ordenada de IDs em um array primitivo. Como os IDs vêm de uma sequência, a inclusão
+     * quase sempre é no final.
+     */
+    static class ListaIds {
+        private long[] ids = new long[4];
+        private int tamanho;
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        long get(int indice) {
+            return ids[indice];
+        }
+
+        boolean contem(long id) {
+            return Arrays.binarySearch(ids, 0, tamanho, id) >= 0;
+        }
+
+        void adicionar(long id) {
+            int posicao = tamanho == 0 || ids[tamanho - 1] < id ? tamanho : Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0 && posicao < tamanho) {
+                return;
+            }
+            posicao = posicao < 0 ? -posicao - 1 : posicao;
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho + (tamanho >> 1) + 1);
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        boolean remover(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        }
+    }
+}
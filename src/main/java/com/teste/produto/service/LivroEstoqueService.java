@@ -0,0 +1,139 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.SaldoLivroEstoque;
+import com.teste.produto.model.MovimentacaoEstoque;
+import com.teste.produto.model.Produto;
+import com.teste.produto.model.SnapshotEstoque;
+import com.teste.produto.repository.MovimentacaoEstoqueRepository;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.repository.SnapshotEstoqueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Livro de estoque: toda alteração da quantidade de um produto é lançada com o seu motivo na
+ * mesma transação que a grava. A quantidade pelo livro é o saldo consolidado do produto mais os
+ * lançamentos recentes; a compactação periódica consolida os lançamentos mais antigos que a
+ * retenção, de modo que o saldo nunca depende de mais que uma janela de lançamentos.
+ */
+@Service
+@Slf4j
+public class LivroEstoqueService {
+
+    private static final Instant SEM_LIMITE = Instant.parse("9999-12-31T00:00:00Z");
+
+    private final MovimentacaoEstoqueRepository movimentacaoRepository;
+    private final SnapshotEstoqueRepository snapshotRepository;
+    private final ProdutoRepository produtoRepository;
+    private final Duration retencao;
+
+    public LivroEstoqueService(MovimentacaoEstoqueRepository movimentacaoRepository,
+                               SnapshotEstoqueRepository snapshotRepository,
+                               ProdutoRepository produtoRepository,
+                               @Value("${estoque.livro.retencao:P30D}") Duration retencao) {
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.produtoRepository = produtoRepository;
+        this.retencao = retencao;
+    }
+
+    public static MovimentacaoEstoque lancamento(Long produtoId, int delta, int quantidadeResultante,
+                                                 MovimentacaoEstoque.Motivo motivo) {
+        return new MovimentacaoEstoque(produtoId, delta, quantidadeResultante, motivo, Instant.now());
+    }
+
+    /**
+     * Grava os lançamentos na transação de quem alterou o estoque. Os INSERTs são enviados em lote
+     * no flush; lançamentos sem diferença são ignorados.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Collection<MovimentacaoEstoque> lancamentos) {
+        List<MovimentacaoEstoque> comDiferenca = lancamentos.stream()
+                .filter(lancamento -> lancamento.getDelta() != 0)
+                .toList();
+        if (!comDiferenca.isEmpty()) {
+            movimentacaoRepository.saveAll(comDiferenca);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Long produtoId, int delta, int quantidadeResultante, MovimentacaoEstoque.Motivo motivo) {
+        registrar(List.of(lancamento(produtoId, delta, quantidadeResultante, motivo)));
+    }
+
+    /**
+     * Lançamentos do produto no intervalo [de, ate), em ordem cronológica. Lançamentos já
+     * compactados não aparecem.
+     */
+    @Transactional(readOnly = true)
+    public Page<MovimentacaoEstoque> listar(Long produtoId, Instant de, Instant ate, Pageable pageable) {
+        Instant inicio = de != null ? de : Instant.EPOCH;
+        Instant fim = ate != null ? ate : SEM_LIMITE;
+        if (!inicio.isBefore(fim)) {
+            throw new IllegalArgumentException("O início do intervalo deve ser anterior ao fim");
+        }
+        log.info("Listando movimentações do produto ID: {} entre {} e {}", produtoId, inicio, fim);
+        return movimentacaoRepository.findPorProdutoEntre(produtoId, inicio, fim, pageable);
+    }
+
+    /**
+     * Quantidade do produto segundo o livro, comparada com a quantidade gravada no produto.
+     */
+    @Transactional(readOnly = true)
+    public SaldoLivroEstoque saldo(Long produtoId) {
+        Optional<SnapshotEstoque> snapshot = snapshotRepository.findById(produtoId);
+        MovimentacaoEstoqueRepository.Totais recentes = movimentacaoRepository.somarPorProduto(produtoId);
+        int consolidada = snapshot.map(SnapshotEstoque::getQuantidade).orElse(0);
+        Integer atual = produtoRepository.findById(produtoId).map(Produto::getQuantidade).orElse(null);
+        return new SaldoLivroEstoque(produtoId, consolidada, snapshot.map(SnapshotEstoque::getCompactadoAte).orElse(null),
+                recentes.getMovimentacoes(), Math.toIntExact(consolidada + recentes.getDelta()), atual);
+    }
+
+    @Scheduled(initialDelayString = "${estoque.livro.compactacao.intervalo:PT1H}",
+               fixedDelayString = "${estoque.livro.compactacao.intervalo:PT1H}")
+    @Transactional
+    public int compactar() {
+        return compactarAnterioresA(Instant.now().minus(retencao));
+    }
+
+    /**
+     * Soma no saldo consolidado de cada produto os lançamentos anteriores ao limite e os remove,
+     * na mesma transação. O limite fica uma retenção inteira no passado, então nenhuma transação
+     * ainda aberta lança algo antes dele.
+     */
+    @Transactional
+    public int compactarAnterioresA(Instant limite) {
+        List<MovimentacaoEstoqueRepository.TotaisPorProduto> totais = movimentacaoRepository.somarAnterioresA(limite);
+        if (totais.isEmpty()) {
+            return 0;
+        }
+        long consolidadas = 0;
+        for (MovimentacaoEstoqueRepository.TotaisPorProduto total : totais) {
+            int delta = Math.toIntExact(total.getDelta());
+            if (snapshotRepository.consolidar(total.getProdutoId(), delta, total.getMovimentacoes(), limite) == 0) {
+                snapshotRepository.save(new SnapshotEstoque(total.getProdutoId(), delta, total.getMovimentacoes(), limite));
+            }
+            consolidadas += total.getMovimentacoes();
+        }
+        snapshotRepository.flush();
+        int removidas = movimentacaoRepository.removerAnterioresA(limite);
+        if (removidas != consolidadas) {
+            throw new IllegalStateException("Compactação do livro de estoque consolidou " + consolidadas
+                    + " lançamentos, mas removeria " + removidas);
+        }
+        log.info("Livro de estoque compactado até {}: {} lançamentos de {} produtos", limite, removidas, totais.size());
+        return removidas;
+    }
+}
@@ -0,0 +1,111 @@
+package com.teste.produto.service;
+
+import com.teste.produto.event.CategoriaAlteradaEvent;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache de leitura de produtos por ID. A invalidação acontece somente depois do commit,
+ * para que uma leitura concorrente não volte a guardar o valor anterior à alteração.
+ *
+ * <p>O cache guarda uma cópia imutável do produto e da categoria, e cada leitura recebe uma
+ * instância nova: quem altera o produto retornado não altera o que os outros leem. Como a
+ * categoria vai junto, a alteração de uma categoria esvazia o cache.
+ */
+@Component
+public class ProdutoCache {
+
+    public static final String NOME = "produtos";
+
+    private final CacheManager cacheManager;
+    private final TransactionTemplate leitura;
+
+    public ProdutoCache(CacheManager cacheManager, PlatformTransactionManager transactionManager) {
+        this.cacheManager = cacheManager;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+    }
+
+    public Optional<Produto> buscar(Long id, Function<Long, Optional<Produto>> carregar) {
+        // A cópia é feita na transação da leitura, que ainda carrega a categoria se ela vier como proxy
+        Copia copia = cache().get(id, () -> leitura.execute(status -> carregar.apply(id).map(Copia::de).orElse(null)));
+        return Optional.ofNullable(copia).map(Copia::produto);
+    }
+
+    public void invalidar(Long id) {
+        if (id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache().evict(id);
+                }
+            });
+        } else {
+            cache().evict(id);
+        }
+    }
+
+    // Categorias mudam pouco; esvaziar sai mais barato que procurar os produtos de cada uma
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCategoria(CategoriaAlteradaEvent evento) {
+        if (evento.getTipo() == CategoriaAlteradaEvent.Tipo.ATUALIZADA) {
+            cache().clear();
+        }
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(NOME);
+    }
+
+    private record Copia(Long id, String nome, String descricao, BigDecimal preco, Integer quantidade,
+                         Long versao, Long versaoAlteracao, CopiaCategoria categoria) {
+
+        static Copia de(Produto produto) {
+            Categoria categoria = produto.getCategoria();
+            return new Copia(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                    produto.getQuantidade(), produto.getVersao(), produto.getVersaoAlteracao(),
+                    categoria == null ? null : new CopiaCategoria(categoria.getId(), categoria.getNome(),
+                            categoria.getDescricao(), categoria.getVersao(), categoria.getVersaoAlteracao()));
+        }
+
+        Produto produto() {
+            Produto produto = new Produto(nome, descricao, preco, quantidade);
+            produto.setId(id);
+            produto.setVersao(versao);
+            produto.setVersaoAlteracao(versaoAlteracao);
+            if (categoria != null) {
+                produto.setCategoria(categoria.categoria());
+            }
+            return produto;
+        }
+    }
+
+    private record CopiaCategoria(Long id, String nome, String descricao, Long versao, Long versaoAlteracao) {
+
+        Categoria categoria() {
+            Categoria categoria = new Categoria();
+            categoria.setId(id);
+            categoria.setNome(nome);
+            categoria.setDescricao(descricao);
+            categoria.setVersao(versao);
+            categoria.setVersaoAlteracao(versaoAlteracao);
+            return categoria;
+        }
+    }
+}
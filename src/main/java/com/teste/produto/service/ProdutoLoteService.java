@@ -0,0 +1,275 @@
+package com.teste.produto.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.produto.dto.ResultadoItemLote;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.exception.NomeJaExisteException;
+import com.teste.produto.model.MovimentacaoEstoque;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.util.TextoNormalizado;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ProdutoLoteService {
+
+    static final int TAMANHO_LOTE = 500;
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoCache produtoCache;
+    private final ValorEstoqueService valorEstoqueService;
+    private final LivroEstoqueService livroEstoqueService;
+    private final AcumuladorEstoque acumuladorEstoque;
+    private final EstoqueReservado estoqueReservado;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public ProdutoLoteService(ProdutoRepository produtoRepository, ProdutoCache produtoCache,
+                              ValorEstoqueService valorEstoqueService, LivroEstoqueService livroEstoqueService,
+                              AcumuladorEstoque acumuladorEstoque, EstoqueReservado estoqueReservado,
+                              ApplicationEventPublisher eventPublisher,
+                              ObjectMapper objectMapper, Validator validator) {
+        this.produtoRepository = produtoRepository;
+        this.produtoCache = produtoCache;
+        this.valorEstoqueService = valorEstoqueService;
+        this.livroEstoqueService = livroEstoqueService;
+        this.acumuladorEstoque = acumuladorEstoque;
+        this.estoqueReservado = estoqueReservado;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Lê um array JSON de produtos item a item, sem materializar o corpo inteiro, e grava
+     * cada bloco de {@value #TAMANHO_LOTE} itens em uma transação própria. Itens com ID
+     * atualizam o produto existente; os demais são criados.
+     */
+    public List<ResultadoItemLote> processar(InputStream entrada) throws IOException {
+        log.info("Processando lote de produtos");
+        List<ResultadoItemLote> resultados = new ArrayList<>();
+        Map<Integer, Produto> pendentes = new LinkedHashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo da requisição deve ser um array JSON de produtos");
+            }
+            int indice = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Array JSON de produtos incompleto");
+                }
+                JsonNode item = objectMapper.readTree(parser);
+                Produto produto = converter(indice, item, resultados);
+                if (produto != null) {
+                    pendentes.put(indice, produto);
+                }
+                if (pendentes.size() >= TAMANHO_LOTE) {
+                    resultados.addAll(gravarLote(pendentes));
+                    pendentes.clear();
+                }
+                indice++;
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+        if (!pendentes.isEmpty()) {
+            resultados.addAll(gravarLote(pendentes));
+        }
+        resultados.sort(Comparator.comparingInt(ResultadoItemLote::getIndice));
+        log.info("Lote processado: {} itens", resultados.size());
+        return resultados;
+    }
+
+    /**
+     * Grava em uma única transação os produtos já validados, indexados pela posição de origem.
+     * A verificação de nomes duplicados é feita com uma só consulta para o bloco inteiro. Se o
+     * bloco falhar (um nome gravado em paralelo, por exemplo), os itens são regravados um a um,
+     * para que cada um receba o próprio resultado. A quantidade informada substitui a atual, então,
+     * como no {@code PUT}, a transação é aberta por {@link AcumuladorEstoque#substituirQuantidade}.
+     */
+    public List<ResultadoItemLote> gravarLote(Map<Integer, Produto> itens) {
+        // A transação desfeita não desfaz o ID e a versão atribuídos aos produtos novos
+        Map<Integer, Long> ids = new HashMap<>();
+        Map<Integer, Long> versoes = new HashMap<>();
+        itens.forEach((indice, produto) -> {
+            ids.put(indice, produto.getId());
+            versoes.put(indice, produto.getVersao());
+        });
+        List<Long> atualizados = ids.values().stream().filter(Objects::nonNull).distinct().toList();
+        try {
+            return acumuladorEstoque.substituirQuantidade(atualizados, () -> gravarNaTransacao(itens));
+        } catch (RuntimeException e) {
+            if (itens.size() == 1) {
+                Map.Entry<Integer, Produto> item = itens.entrySet().iterator().next();
+                log.warn("Erro ao gravar o item {} do lote", item.getKey(), e);
+                return List.of(ResultadoItemLote.erro(item.getKey(), mensagemDeErro(e)));
+            }
+            log.warn("Erro ao gravar lote de {} produtos; gravando item a item", itens.size(), e);
+            List<ResultadoItemLote> resultados = new ArrayList<>();
+            itens.forEach((indice, produto) -> {
+                produto.setId(ids.get(indice));
+                produto.setVersao(versoes.get(indice));
+                resultados.addAll(gravarLote(Map.of(indice, produto)));
+            });
+            return resultados;
+        }
+    }
+
+    private String mensagemDeErro(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException violacao) {
+            Optional<NomeJaExisteException> nomeRepetido = NomeJaExisteException.daViolacao(violacao);
+            if (nomeRepetido.isPresent()) {
+                return nomeRepetido.get().getMessage();
+            }
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return "Produto alterado por outra requisição; tente novamente";
+        }
+        return "Não foi possível gravar este item";
+    }
+
+    private Produto converter(int indice, JsonNode item, List<ResultadoItemLote> resultados) {
+        Produto produto;
+        try {
+            produto = objectMapper.treeToValue(item, Produto.class);
+        } catch (JsonProcessingException e) {
+            resultados.add(ResultadoItemLote.erro(indice, "Item inválido: " + e.getOriginalMessage()));
+            return null;
+        }
+        Set<ConstraintViolation<Produto>> violacoes = validator.validate(produto);
+        if (!violacoes.isEmpty()) {
+            String mensagem = violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            resultados.add(ResultadoItemLote.erro(indice, mensagem));
+            return null;
+        }
+        return produto;
+    }
+
+    private List<ResultadoItemLote> gravarNaTransacao(Map<Integer, Produto> itens) {
+        Set<String> nomes = itens.values().stream()
+                .map(produto -> normalizar(produto.getNome()))
+                .collect(Collectors.toSet());
+        Map<String, Long> donosDosNomes = new HashMap<>();
+        produtoRepository.findByNomesNormalizados(nomes)
+                .forEach(existente -> donosDosNomes.put(normalizar(existente.getNome()), existente.getId()));
+
+        Set<Long> ids = itens.values().stream()
+                .map(Produto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Produto> existentes = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<ResultadoItemLote> resultados = new ArrayList<>();
+        Map<Integer, Produto> gravados = new LinkedHashMap<>();
+        Set<Integer> criados = new HashSet<>();
+        List<Produto> novos = new ArrayList<>();
+        Map<Long, BigDecimal> diferencas = new HashMap<>();
+        List<MovimentacaoEstoque> lancamentos = new ArrayList<>();
+
+        for (Map.Entry<Integer, Produto> item : itens.entrySet()) {
+            int indice = item.getKey();
+            Produto produto = item.getValue();
+            String nome = normalizar(produto.getNome());
+            Long dono = donosDosNomes.get(nome);
+
+            if (produto.getId() == null) {
+                if (donosDosNomes.containsKey(nome)) {
+                    resultados.add(ResultadoItemLote.erro(indice, "Já existe um produto com este nome"));
+                    continue;
+                }
+                // Reserva o nome para que itens seguintes do mesmo lote não o repitam
+                donosDosNomes.put(nome, null);
+                novos.add(produto);
+                diferencas.merge(ValorEstoqueService.chave(produto), ValorEstoqueService.valor(produto), BigDecimal::add);
+                criados.add(indice);
+                gravados.put(indice, produto);
+            } else {
+                Produto existente = existentes.get(produto.getId());
+                if (existente == null) {
+                    resultados.add(ResultadoItemLote.erro(indice, "Produto não encontrado com ID: " + produto.getId()));
+                    continue;
+                }
+                if (donosDosNomes.containsKey(nome) && !existente.getId().equals(dono)) {
+                    resultados.add(ResultadoItemLote.erro(indice, "Já existe um produto com este nome"));
+                    continue;
+                }
+                int reservado = estoqueReservado.reservado(existente.getId());
+                if (produto.getQuantidade() < reservado) {
+                    resultados.add(ResultadoItemLote.erro(indice,
+                            new EstoqueInsuficienteException(existente.getId(), reservado).getMessage()));
+                    continue;
+                }
+                donosDosNomes.remove(normalizar(existente.getNome()), existente.getId());
+                donosDosNomes.put(nome, existente.getId());
+
+                diferencas.merge(ValorEstoqueService.chave(existente), ValorEstoqueService.valor(existente).negate(), BigDecimal::add);
+                int quantidadeAnterior = existente.getQuantidade();
+                existente.setNome(produto.getNome());
+                existente.setDescricao(produto.getDescricao());
+                existente.setPreco(produto.getPreco());
+                existente.setQuantidade(produto.getQuantidade());
+                diferencas.merge(ValorEstoqueService.chave(existente), ValorEstoqueService.valor(existente), BigDecimal::add);
+                lancamentos.add(LivroEstoqueService.lancamento(existente.getId(), existente.getQuantidade() - quantidadeAnterior,
+                        existente.getQuantidade(), MovimentacaoEstoque.Motivo.ATUALIZACAO));
+                gravados.put(indice, existente);
+            }
+        }
+
+        produtoRepository.saveAll(novos);
+        produtoRepository.flush();
+        valorEstoqueService.aplicar(diferencas);
+        novos.forEach(produto -> lancamentos.add(LivroEstoqueService.lancamento(produto.getId(), produto.getQuantidade(),
+                produto.getQuantidade(), MovimentacaoEstoque.Motivo.CADASTRO)));
+        livroEstoqueService.registrar(lancamentos);
+        gravados.values().forEach(produto -> produtoCache.invalidar(produto.getId()));
+
+        gravados.forEach((indice, produto) -> {
+            boolean criado = criados.contains(indice);
+            resultados.add(new ResultadoItemLote(indice,
+                    criado ? ResultadoItemLote.Status.CRIADO : ResultadoItemLote.Status.ATUALIZADO,
+                    produto.getId(), null));
+            eventPublisher.publishEvent(criado
+                    ? ProdutoAlteradoEvent.criado(produto.getId(), produto.getNome())
+                    : ProdutoAlteradoEvent.atualizado(produto.getId(), produto.getNome()));
+        });
+        return resultados;
+    }
+
+    private String normalizar(String nome) {
+        return TextoNormalizado.normalizar(nome);
+    }
+}
@@ -0,0 +1,69 @@
+package com.teste.produto.service;
+
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoReativoRepository;
+import com.teste.produto.util.TextoNormalizado;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Versão reativa das leituras de {@link ProdutoService}. Lê direto do banco, sem o cache de
+ * produtos: com o write-behind de estoque ligado, a quantidade pode estar atrasada até o próximo
+ * flush.
+ */
+@Service
+public class ProdutoReativoService {
+
+    static final int LIMITE_MAXIMO = 1000;
+
+    private final ProdutoReativoRepository produtoReativoRepository;
+    private final IndiceTrigramaProduto indiceTrigramaProduto;
+
+    public ProdutoReativoService(ProdutoReativoRepository produtoReativoRepository, IndiceTrigramaProduto indiceTrigramaProduto) {
+        this.produtoReativoRepository = produtoReativoRepository;
+        this.indiceTrigramaProduto = indiceTrigramaProduto;
+    }
+
+    public Mono<Produto> buscarPorId(Long id) {
+        return produtoReativoRepository.findById(id);
+    }
+
+    public Flux<Produto> buscarPorNome(String nome, int limite) {
+        int maximo = limitar(limite);
+        String termo = TextoNormalizado.normalizar(nome);
+        if (!indiceTrigramaProduto.isPronto()) {
+            return produtoReativoRepository.findByNomeNormalizadoContendo(termo, maximo);
+        }
+        List<Long> ids = indiceTrigramaProduto.buscar(nome, maximo);
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        // Mesma confirmação da busca MVC; a ordem de relevância vem do índice
+        return produtoReativoRepository.findAllById(ids)
+                .filter(produto -> TextoNormalizado.normalizar(produto.getNome()).contains(termo))
+                .collectMap(Produto::getId, Function.identity())
+                .flatMapMany(produtos -> Flux.fromIterable(ids).map(produtos::get).filter(Objects::nonNull));
+    }
+
+    public Flux<Produto> buscarComQuantidadeBaixa(int quantidade, int limite) {
+        return produtoReativoRepository.findComQuantidadeBaixa(quantidade, limitar(limite));
+    }
+
+    public Flux<Produto> buscarPorCategoria(Long categoriaId, int limite) {
+        return produtoReativoRepository.findByCategoriaId(categoriaId, limitar(limite));
+    }
+
+    public Mono<BigDecimal> calcularValorTotalEstoque() {
+        return produtoReativoRepository.somarValorEstoque();
+    }
+
+    private static int limitar(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+}
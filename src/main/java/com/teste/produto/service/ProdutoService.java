@@ -1,64 +1,156 @@
 package com.teste.produto.service;
 
-import com.teste.produto.exception.NomeJaExisteException;
+import com.teste.produto.dto.PaginaCursor;
+import com.teste.produto.dto.ProdutoResumo;
+import com.teste.produto.dto.SugestaoProduto;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.exception.ProdutoComReservasException;
+import com.teste.produto.exception.VersaoConflitanteException;
+import com.teste.produto.model.Lapide;
+import com.teste.produto.model.MovimentacaoEstoque;
 import com.teste.produto.model.Produto;
 import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.LapideRepository;
 import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.util.Cursor;
+import com.teste.produto.util.TextoNormalizado;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("catalogo.servico")
 @Slf4j
 public class ProdutoService {
+
+    static final int TAMANHO_MAXIMO_PAGINA_CURSOR = 100;
+    static final int TAMANHO_MAXIMO_SUGESTOES = 50;
     
     @Autowired
     private ProdutoRepository produtoRepository;
 
     @Autowired
     private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LapideRepository lapideRepository;
+
+    @Autowired
+    private ProdutoCache produtoCache;
+
+    @Autowired
+    private ValorEstoqueService valorEstoqueService;
+
+    @Autowired
+    private IndiceTrigramaProduto indiceTrigramaProduto;
+
+    @Autowired
+    private IndicePrefixoProduto indicePrefixoProduto;
+
+    @Autowired
+    private AcumuladorEstoque acumuladorEstoque;
+
+    @Autowired
+    private EstoqueReservado estoqueReservado;
+
+    @Autowired
+    private LivroEstoqueService livroEstoqueService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
-    public List<Produto> listarTodos() {
+    public List<ProdutoResumo> listarTodos() {
         log.info("Listando todos os produtos");
-        return produtoRepository.findAll();
+        return produtoRepository.listarResumos();
     }
     
     public Optional<Produto> buscarPorId(Long id) {
+        return buscarComPendentes(id).map(AcumuladorEstoque.Leitura::produto);
+    }
+
+    /**
+     * Busca o produto informando se a quantidade inclui ajustes write-behind ainda não gravados.
+     */
+    public Optional<AcumuladorEstoque.Leitura> buscarComPendentes(Long id) {
         log.info("Buscando produto por ID: {}", id);
-        return produtoRepository.findById(id);
+        if (!acumuladorEstoque.isHabilitado()) {
+            return produtoCache.buscar(id, produtoRepository::findById).map(p -> new AcumuladorEstoque.Leitura(p, false));
+        }
+        return acumuladorEstoque.lerComPendentes(id, () -> produtoCache.buscar(id, produtoRepository::findById));
     }
     
+    @Transactional
     public Produto salvar(Produto produto) {
         log.info("Salvando produto: {}", produto.getNome());
-        if (produtoRepository.existsByNomeIgnoreCase(produto.getNome())) {
-            throw new NomeJaExisteException("Já existe um produto com este nome");
-        }
-        return produtoRepository.save(produto);
+        // A unicidade do nome é garantida pela restrição única; a violação vira 409 no GlobalExceptionHandler
+        Produto salvo = produtoRepository.saveAndFlush(produto);
+        valorEstoqueService.aplicar(ValorEstoqueService.chave(salvo), ValorEstoqueService.valor(salvo));
+        livroEstoqueService.registrar(salvo.getId(), salvo.getQuantidade(), salvo.getQuantidade(),
+                MovimentacaoEstoque.Motivo.CADASTRO);
+        produtoCache.invalidar(salvo.getId());
+        eventPublisher.publishEvent(ProdutoAlteradoEvent.criado(salvo.getId(), salvo.getNome()));
+        return salvo;
     }
     
     public Produto atualizar(Long id, Produto produtoAtualizado) {
+        return atualizar(id, produtoAtualizado, null);
+    }
+
+    /**
+     * Atualiza o produto se ele ainda estiver na versão esperada ({@code null} dispensa a
+     * conferência). Uma gravação concorrente entre a leitura e o UPDATE é detectada pelo
+     * {@code @Version} e também resulta em conflito. A quantidade informada substitui a atual,
+     * então a transação é aberta por {@link AcumuladorEstoque#substituirQuantidade}.
+     */
+    public Produto atualizar(Long id, Produto produtoAtualizado, Long versaoEsperada) {
         log.info("Atualizando produto ID: {} com nome: {}", id, produtoAtualizado.getNome());
+        return acumuladorEstoque.substituirQuantidade(List.of(id),
+                () -> gravarAtualizacao(id, produtoAtualizado, versaoEsperada));
+    }
+
+    private Produto gravarAtualizacao(Long id, Produto produtoAtualizado, Long versaoEsperada) {
         Optional<Produto> produtoExistente = produtoRepository.findById(id);
         if (produtoExistente.isPresent()) {
             Produto produto = produtoExistente.get();
-
-            if (!produto.getNome().equalsIgnoreCase(produtoAtualizado.getNome()) && 
-                produtoRepository.existsByNomeIgnoreCase(produtoAtualizado.getNome())) {
-                throw new IllegalArgumentException("Já existe um produto com este nome");
+            if (versaoEsperada != null && !versaoEsperada.equals(produto.getVersao())) {
+                throw new VersaoConflitanteException();
             }
-            
+            // Sob a trava do acumulador nenhuma reserva nova é aceita até o commit
+            int reservado = estoqueReservado.reservado(id);
+            if (produtoAtualizado.getQuantidade() < reservado) {
+                throw new EstoqueInsuficienteException(id, reservado);
+            }
+
+            BigDecimal valorAnterior = ValorEstoqueService.valor(produto);
+            int quantidadeAnterior = produto.getQuantidade();
             produto.setNome(produtoAtualizado.getNome());
             produto.setDescricao(produtoAtualizado.getDescricao());
             produto.setPreco(produtoAtualizado.getPreco());
             produto.setQuantidade(produtoAtualizado.getQuantidade());
             
-            return produtoRepository.save(produto);
+            Produto salvo = produtoRepository.saveAndFlush(produto);
+            valorEstoqueService.aplicar(ValorEstoqueService.chave(salvo),
+                    ValorEstoqueService.valor(salvo).subtract(valorAnterior));
+            livroEstoqueService.registrar(id, salvo.getQuantidade() - quantidadeAnterior, salvo.getQuantidade(),
+                    MovimentacaoEstoque.Motivo.ATUALIZACAO);
+            produtoCache.invalidar(id);
+            eventPublisher.publishEvent(ProdutoAlteradoEvent.atualizado(id, salvo.getNome()));
+            return salvo;
         } else {
             throw new IllegalArgumentException("Produto não encontrado com ID: " + id);
         }
@@ -66,16 +158,63 @@ public class ProdutoService {
     
     public void deletar(Long id) {
         log.info("Deletando produto ID: {}", id);
-        if (produtoRepository.existsById(id)) {
-            produtoRepository.deleteById(id);
+        acumuladorEstoque.substituirQuantidade(List.of(id), () -> {
+            remover(id);
+            return null;
+        });
+    }
+
+    private void remover(Long id) {
+        Optional<Produto> produtoExistente = produtoRepository.findById(id);
+        if (produtoExistente.isPresent()) {
+            Produto produto = produtoExistente.get();
+            if (estoqueReservado.reservado(id) > 0) {
+                throw new ProdutoComReservasException(id);
+            }
+            produtoRepository.delete(produto);
+            lapideRepository.save(new Lapide(Lapide.Entidade.PRODUTO, id));
+            valorEstoqueService.aplicar(ValorEstoqueService.chave(produto), ValorEstoqueService.valor(produto).negate());
+            livroEstoqueService.registrar(id, -produto.getQuantidade(), 0, MovimentacaoEstoque.Motivo.REMOCAO);
+            produtoCache.invalidar(id);
+            eventPublisher.publishEvent(ProdutoAlteradoEvent.removido(id, produto.getNome()));
         } else {
             throw new IllegalArgumentException("Produto não encontrado com ID: " + id);
         }
     }
     
-    public List<Produto> buscarPorNome(String nome) {
-        log.info("Buscando produtos por nome: {}", nome);
-        return produtoRepository.findByNomeContainingIgnoreCase(nome);
+    /**
+     * Busca por parte do nome usando o índice de trigramas, com os resultados ordenados por
+     * relevância. Enquanto o índice é carregado, a consulta vai direto ao banco.
+     */
+    public List<ProdutoResumo> buscarPorNome(String nome, Integer limite) {
+        log.info("Buscando produtos por nome: {}, limite: {}", nome, limite);
+        int maximo = limite != null && limite > 0 ? limite : Integer.MAX_VALUE;
+        if (!indiceTrigramaProduto.isPronto()) {
+            return produtoRepository.findResumosByNomeContendo(nome).stream()
+                    .limit(maximo)
+                    .collect(Collectors.toList());
+        }
+        List<Long> ids = indiceTrigramaProduto.buscar(nome, maximo);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // O índice só é atualizado após o commit; a confirmação descarta o que mudou desde então
+        String termo = TextoNormalizado.normalizar(nome);
+        Map<Long, ProdutoResumo> produtos = produtoRepository.findResumosByIdIn(ids).stream()
+                .filter(produto -> TextoNormalizado.normalizar(produto.nome()).contains(termo))
+                .collect(Collectors.toMap(ProdutoResumo::id, Function.identity()));
+        return ids.stream()
+                .map(produtos::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Sugestões de nomes para o autocompletar, atendidas só pela memória. Enquanto o índice é
+     * carregado na inicialização, as sugestões podem vir incompletas.
+     */
+    public List<SugestaoProduto> sugerir(String prefixo, int limite) {
+        return indicePrefixoProduto.sugerir(prefixo, Math.max(1, Math.min(limite, TAMANHO_MAXIMO_SUGESTOES)));
     }
     
     public List<Produto> buscarProdutosComQuantidadeBaixa(Integer quantidade) {
@@ -83,20 +222,74 @@ public class ProdutoService {
         return produtoRepository.findProdutosComQuantidadeBaixa(quantidade);
     }
 
-    public Page<Produto> buscarProdutosComQuantidadeBaixa(Integer quantidade, Pageable pageable) {
+    public Page<ProdutoResumo> buscarProdutosComQuantidadeBaixa(Integer quantidade, Pageable pageable) {
         log.info("Buscando produtos com quantidade baixa (paginado): quantidade={}, página={}", quantidade, pageable.getPageNumber());
-        return produtoRepository.findProdutosComQuantidadeBaixa(quantidade, pageable);
+        return produtoRepository.findResumosComQuantidadeBaixa(quantidade, pageable);
     }
 
     public BigDecimal calcularValorTotalEstoque() {
-        log.info("Calculando valor total do estoque");
-        BigDecimal total = produtoRepository.calcularValorTotalEstoque();
+        log.info("Consultando valor total do estoque");
+        BigDecimal total = valorEstoqueService.total();
         return total != null ? total : BigDecimal.ZERO;
     }
 
-    public Page<Produto> buscarProdutosPorCategoria(Long categoriaId, Pageable pageable) {
+    public Page<ProdutoResumo> buscarProdutosPorCategoria(Long categoriaId, Pageable pageable) {
         log.info("Buscando produtos por categoria ID: {}, página: {}", categoriaId, pageable.getPageNumber());
-        return produtoRepository.findByCategoriaId(categoriaId, pageable);
+        return produtoRepository.findResumosByCategoriaId(categoriaId, pageable);
     }
-}
 
+    public PaginaCursor<ProdutoResumo> listarPorCursor(String cursor, int tamanho) {
+        log.info("Listando produtos por cursor: tamanho={}", tamanho);
+        Long ultimoId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            ultimoId = Cursor.decodificarLong(Cursor.decodificar(cursor, 1)[0]);
+        }
+        int limite = limitarTamanho(tamanho);
+        List<ProdutoResumo> produtos = produtoRepository.findProximosPorId(ultimoId, Limit.of(limite + 1));
+        return montarPagina(produtos, limite, ultimo -> Cursor.codificar(ultimo.id()));
+    }
+
+    public PaginaCursor<ProdutoResumo> buscarProdutosComQuantidadeBaixaPorCursor(Integer quantidade, String cursor, int tamanho) {
+        log.info("Buscando produtos com quantidade baixa por cursor: quantidade={}, tamanho={}", quantidade, tamanho);
+        Integer ultimaQuantidade = Integer.MIN_VALUE;
+        Long ultimoId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] valores = Cursor.decodificar(cursor, 2);
+            ultimaQuantidade = Cursor.decodificarInteger(valores[0]);
+            ultimoId = Cursor.decodificarLong(valores[1]);
+        }
+        int limite = limitarTamanho(tamanho);
+        List<ProdutoResumo> produtos = produtoRepository.findProximosComQuantidadeBaixa(
+                quantidade, ultimaQuantidade, ultimoId, Limit.of(limite + 1));
+        return montarPagina(produtos, limite, ultimo -> Cursor.codificar(ultimo.quantidade(), ultimo.id()));
+    }
+
+    public PaginaCursor<ProdutoResumo> buscarProdutosPorCategoriaPorCursor(Long categoriaId, String cursor, int tamanho) {
+        log.info("Buscando produtos por categoria por cursor: categoriaId={}, tamanho={}", categoriaId, tamanho);
+        String ultimoNome = "";
+        Long ultimoId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] valores = Cursor.decodificar(cursor, 2);
+            ultimoNome = valores[0];
+            ultimoId = Cursor.decodificarLong(valores[1]);
+        }
+        int limite = limitarTamanho(tamanho);
+        List<ProdutoResumo> produtos = produtoRepository.findProximosPorCategoria(
+                categoriaId, ultimoNome, ultimoId, Limit.of(limite + 1));
+        return montarPagina(produtos, limite, ultimo -> Cursor.codificar(ultimo.nome(), ultimo.id()));
+    }
+
+    private int limitarTamanho(int tamanho) {
+        return Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA_CURSOR));
+    }
+
+    // Busca-se uma linha a mais que o tamanho pedido apenas para saber se existe próxima página
+    private PaginaCursor<ProdutoResumo> montarPagina(List<ProdutoResumo> produtos, int limite,
+                                                     Function<ProdutoResumo, String> cursorDe) {
+        if (produtos.size() <= limite) {
+            return new PaginaCursor<>(produtos, null);
+        }
+        List<ProdutoResumo> pagina = produtos.subList(0, limite);
+        return new PaginaCursor<>(pagina, cursorDe.apply(pagina.get(limite - 1)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.teste.produto.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Fornece as versões de alteração do catálogo: um contador único para produtos, categorias e
+ * lápides, que só cresce.
+ *
+ * <p>As versões são atribuídas antes do commit, então uma transação com a versão 10 pode ficar
+ * visível depois de outra com a 11. As versões de transações em andamento são acompanhadas, e
+ * {@link #versaoConsolidada()} só avança até a menor delas: quem sincroniza até essa versão nunca
+ * pula uma alteração que ainda vai aparecer. Vale para uma única instância da aplicação.
+ */
+@Component
+public class RelogioAlteracoes {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NavigableSet<Long> emAndamento = new TreeSet<>();
+    private long atual = -1;
+
+    public RelogioAlteracoes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Próxima versão. Dentro de uma transação, a versão conta como em andamento até o commit ou
+     * rollback.
+     */
+    public synchronized long proxima() {
+        inicializar();
+        long versao = ++atual;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            emAndamento.add(versao);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    concluir(versao);
+                }
+            });
+        }
+        return versao;
+    }
+
+    /**
+     * Maior versão até a qual todas as alterações já foram confirmadas ou desfeitas.
+     */
+    public synchronized long versaoConsolidada() {
+        inicializar();
+        return emAndamento.isEmpty() ? atual : emAndamento.first() - 1;
+    }
+
+    private synchronized void concluir(long versao) {
+        emAndamento.remove(versao);
+    }
+
+    // Continua da maior versão gravada, incluindo as dos dados iniciais
+    private void inicializar() {
+        if (atual < 0) {
+            atual = jdbcTemplate.queryForObject(
+                    "SELECT GREATEST((SELECT COALESCE(MAX(versao_alteracao), 0) FROM produtos), "
+                    + "(SELECT COALESCE(MAX(versao_alteracao), 0) FROM categoria), "
+                    + "(SELECT COALESCE(MAX(versao_alteracao), 0) FROM lapides))", Long.class);
+        }
+    }
+}
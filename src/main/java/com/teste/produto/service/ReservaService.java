@@ -0,0 +1,349 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.DisponibilidadeProduto;
+import com.teste.produto.dto.MovimentoEstoque;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.exception.ReservaIndisponivelException;
+import com.teste.produto.model.Produto;
+import com.teste.produto.model.MovimentacaoEstoque;
+import com.teste.produto.model.Reserva;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.repository.ReservaRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Reservas temporárias de estoque para o checkout. O total reservado de cada produto é um contador
+ * em memória atualizado por compare-and-set, então reservas do mesmo produto não bloqueiam linhas
+ * no banco. Cada reserva é gravada antes de ser devolvida e expira pela
+ * {@link RodaExpiracao}; as confirmadas são baixadas de {@code Produto.quantidade} em lotes.
+ *
+ * <p>O disponível para reserva é a quantidade do produto, com os ajustes write-behind pendentes,
+ * menos o reservado, contado em {@link EstoqueReservado}. Ajustes de estoque, atualizações (também
+ * em lote) não deixam a quantidade abaixo do reservado, e produtos com reservas não são removidos.
+ * Confirmadas que não puderem ser baixadas terminam como {@link Reserva.Status#NAO_APLICADA}.
+ */
+@Service
+@Slf4j
+public class ReservaService {
+
+    static final int TAMANHO_LOTE_APLICACAO = EstoqueService.TAMANHO_MAXIMO_LOTE;
+    static final int MAXIMO_TENTATIVAS_APLICACAO = 5;
+    private static final int POSICOES_RODA = 512;
+
+    private final ReservaRepository reservaRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoCache produtoCache;
+    private final EstoqueService estoqueService;
+    private final EstoqueReservado estoqueReservado;
+    private final AcumuladorEstoque acumuladorEstoque;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttlPadrao;
+    private final Duration ttlMaximo;
+    private final RodaExpiracao roda;
+
+    private final Map<String, ReservaEmAndamento> emAndamento = new ConcurrentHashMap<>();
+    private final Queue<String> confirmadasPendentes = new ConcurrentLinkedQueue<>();
+
+    public ReservaService(ReservaRepository reservaRepository, ProdutoRepository produtoRepository,
+                          ProdutoCache produtoCache, EstoqueService estoqueService,
+                          EstoqueReservado estoqueReservado, AcumuladorEstoque acumuladorEstoque,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${reservas.ttl-padrao:PT5M}") Duration ttlPadrao,
+                          @Value("${reservas.ttl-maximo:PT30M}") Duration ttlMaximo,
+                          @Value("${reservas.expiracao.intervalo:PT1S}") Duration intervaloExpiracao) {
+        this.reservaRepository = reservaRepository;
+        this.produtoRepository = produtoRepository;
+        this.produtoCache = produtoCache;
+        this.estoqueService = estoqueService;
+        this.estoqueReservado = estoqueReservado;
+        this.acumuladorEstoque = acumuladorEstoque;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlPadrao = ttlPadrao;
+        this.ttlMaximo = ttlMaximo;
+        this.roda = new RodaExpiracao(intervaloExpiracao, POSICOES_RODA, Instant.now());
+    }
+
+    public Reserva reservar(Long produtoId, int quantidade, Duration ttl) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade reservada deve ser maior que zero");
+        }
+        Duration prazo = ttl != null ? ttl : ttlPadrao;
+        if (prazo.isNegative() || prazo.isZero() || prazo.compareTo(ttlMaximo) > 0) {
+            throw new IllegalArgumentException("O prazo da reserva deve estar entre 1 segundo e " + ttlMaximo.toSeconds() + " segundos");
+        }
+        comProduto(produtoId, produto -> {
+            estoqueReservado.reservar(produtoId, quantidade, produto.getQuantidade());
+            return produto;
+        });
+
+        Instant agora = Instant.now();
+        Reserva reserva = new Reserva(UUID.randomUUID().toString(), produtoId, quantidade, agora, agora.plus(prazo));
+        try {
+            reservaRepository.save(reserva);
+        } catch (RuntimeException e) {
+            estoqueReservado.devolver(produtoId, quantidade);
+            throw e;
+        }
+        emAndamento.put(reserva.getId(), new ReservaEmAndamento(reserva));
+        roda.agendar(reserva.getId(), reserva.getExpiraEm());
+        log.info("Reserva {} criada: produto ID {}, quantidade {}", reserva.getId(), produtoId, quantidade);
+        return reserva;
+    }
+
+    /**
+     * Confirma a reserva. A confirmação é gravada na hora; a baixa na quantidade do produto
+     * acontece no próximo lote, e até lá a quantidade continua contada como reservada.
+     */
+    public Reserva confirmar(String id) {
+        ReservaEmAndamento reserva = emAndamento.get(id);
+        if (reserva == null || !reserva.expiraEm.isAfter(Instant.now())) {
+            throw naoAtiva(id);
+        }
+        transicionar(reserva, Reserva.Status.CONFIRMADA);
+        confirmadasPendentes.add(id);
+        log.info("Reserva {} confirmada", id);
+        return buscar(id);
+    }
+
+    public Reserva liberar(String id) {
+        ReservaEmAndamento reserva = emAndamento.get(id);
+        if (reserva == null) {
+            throw naoAtiva(id);
+        }
+        transicionar(reserva, Reserva.Status.LIBERADA);
+        encerrar(reserva);
+        log.info("Reserva {} liberada", id);
+        return buscar(id);
+    }
+
+    public Reserva buscar(String id) {
+        return reservaRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Reserva não encontrada: " + id));
+    }
+
+    public DisponibilidadeProduto disponibilidade(Long produtoId) {
+        return comProduto(produtoId, produto ->
+                new DisponibilidadeProduto(produtoId, produto.getQuantidade(), estoqueReservado.reservado(produtoId)));
+    }
+
+    @Scheduled(fixedDelayString = "${reservas.expiracao.intervalo:PT1S}")
+    public void expirarVencidas() {
+        expirarAte(Instant.now());
+    }
+
+    void expirarAte(Instant agora) {
+        List<ReservaEmAndamento> expiradas = new ArrayList<>();
+        for (String id : roda.avancar(agora)) {
+            ReservaEmAndamento reserva = emAndamento.get(id);
+            if (reserva != null && reserva.status.compareAndSet(Reserva.Status.ATIVA, Reserva.Status.EXPIRADA)) {
+                expiradas.add(reserva);
+            }
+        }
+        if (expiradas.isEmpty()) {
+            return;
+        }
+        try {
+            reservaRepository.alterarStatus(expiradas.stream().map(r -> r.id).toList(),
+                    Reserva.Status.ATIVA, Reserva.Status.EXPIRADA);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar a expiração de {} reservas; nova tentativa no próximo tique", expiradas.size(), e);
+            expiradas.forEach(reserva -> {
+                reserva.status.set(Reserva.Status.ATIVA);
+                roda.agendar(reserva.id, agora);
+            });
+            return;
+        }
+        expiradas.forEach(this::encerrar);
+        log.info("{} reservas expiradas", expiradas.size());
+    }
+
+    /**
+     * Baixa da quantidade dos produtos as reservas confirmadas, somadas por produto, junto com a
+     * marcação de aplicadas, em uma transação. Se o lote falhar, cada produto segue em uma
+     * transação separada: sem estoque suficiente, as reservas dele terminam como não aplicadas;
+     * em outras falhas, voltam ao próximo lote até {@value #MAXIMO_TENTATIVAS_APLICACAO} tentativas.
+     */
+    @Scheduled(fixedDelayString = "${reservas.aplicacao.intervalo:PT2S}")
+    public synchronized void aplicarConfirmadas() {
+        Map<Long, List<ReservaEmAndamento>> porProduto = new TreeMap<>();
+        int total = 0;
+        String id;
+        while (total < TAMANHO_LOTE_APLICACAO && (id = confirmadasPendentes.poll()) != null) {
+            ReservaEmAndamento reserva = emAndamento.get(id);
+            if (reserva != null) {
+                porProduto.computeIfAbsent(reserva.produtoId, produtoId -> new ArrayList<>()).add(reserva);
+                total++;
+            }
+        }
+        if (porProduto.isEmpty()) {
+            return;
+        }
+        try {
+            aplicar(porProduto);
+        } catch (RuntimeException e) {
+            log.debug("Lote de reservas confirmadas falhou ({}); aplicando produto a produto", e.getMessage());
+            porProduto.forEach((produtoId, reservas) -> aplicarIsolado(produtoId, reservas));
+        }
+    }
+
+    /**
+     * Reconstrói o estado em memória a partir das reservas gravadas: as ativas vencidas são
+     * expiradas, as demais voltam a segurar o estoque, e as confirmadas não aplicadas voltam à fila.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recuperar() {
+        emAndamento.clear();
+        estoqueReservado.limpar();
+        confirmadasPendentes.clear();
+        roda.limpar();
+
+        Instant agora = Instant.now();
+        List<String> vencidas = new ArrayList<>();
+        for (Reserva reserva : reservaRepository.findByStatus(Reserva.Status.ATIVA)) {
+            if (reserva.getExpiraEm().isAfter(agora)) {
+                registrar(reserva);
+                roda.agendar(reserva.getId(), reserva.getExpiraEm());
+            } else {
+                vencidas.add(reserva.getId());
+            }
+        }
+        if (!vencidas.isEmpty()) {
+            reservaRepository.alterarStatus(vencidas, Reserva.Status.ATIVA, Reserva.Status.EXPIRADA);
+        }
+        List<Reserva> pendentes = reservaRepository.findByStatusAndAplicadaEmIsNull(Reserva.Status.CONFIRMADA);
+        for (Reserva reserva : pendentes) {
+            registrar(reserva);
+            confirmadasPendentes.add(reserva.getId());
+        }
+        log.info("Reservas recuperadas: {} ativas, {} confirmadas a aplicar, {} expiradas",
+                emAndamento.size() - pendentes.size(), pendentes.size(), vencidas.size());
+    }
+
+    private void aplicar(Map<Long, List<ReservaEmAndamento>> porProduto) {
+        List<MovimentoEstoque> movimentos = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        porProduto.forEach((produtoId, reservas) -> {
+            movimentos.add(new MovimentoEstoque(produtoId, -reservas.stream().mapToInt(r -> r.quantidade).sum()));
+            reservas.forEach(reserva -> ids.add(reserva.id));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            estoqueService.ajustar(movimentos, MovimentacaoEstoque.Motivo.RESERVA);
+            reservaRepository.marcarAplicadas(ids, Instant.now());
+        });
+        porProduto.values().forEach(reservas -> reservas.forEach(this::encerrar));
+        log.info("{} reservas confirmadas aplicadas ao estoque de {} produtos", ids.size(), porProduto.size());
+    }
+
+    private void aplicarIsolado(Long produtoId, List<ReservaEmAndamento> reservas) {
+        try {
+            aplicar(Map.of(produtoId, reservas));
+        } catch (EntityNotFoundException e) {
+            // Produto removido depois da confirmação: não há mais o que baixar
+            List<String> ids = reservas.stream().map(r -> r.id).toList();
+            reservaRepository.alterarStatus(ids, Reserva.Status.CONFIRMADA, Reserva.Status.CANCELADA);
+            reservas.forEach(this::encerrar);
+            log.warn("Reservas {} canceladas: produto ID {} não existe mais", ids, produtoId);
+        } catch (EstoqueInsuficienteException e) {
+            naoAplicar(produtoId, reservas, e);
+        } catch (RuntimeException e) {
+            List<ReservaEmAndamento> esgotadas = new ArrayList<>();
+            for (ReservaEmAndamento reserva : reservas) {
+                if (++reserva.tentativas < MAXIMO_TENTATIVAS_APLICACAO) {
+                    confirmadasPendentes.add(reserva.id);
+                } else {
+                    esgotadas.add(reserva);
+                }
+            }
+            if (!esgotadas.isEmpty()) {
+                naoAplicar(produtoId, esgotadas, e);
+            } else {
+                log.warn("Reservas confirmadas do produto ID {} não aplicadas: {}", produtoId, e.getMessage());
+            }
+        }
+    }
+
+    // Estado final: a reserva deixa de segurar o estoque e fica consultável como não aplicada
+    private void naoAplicar(Long produtoId, List<ReservaEmAndamento> reservas, RuntimeException causa) {
+        List<String> ids = reservas.stream().map(r -> r.id).toList();
+        reservaRepository.alterarStatus(ids, Reserva.Status.CONFIRMADA, Reserva.Status.NAO_APLICADA);
+        reservas.forEach(this::encerrar);
+        log.error("Reservas {} do produto ID {} não aplicadas ao estoque: {}", ids, produtoId, causa.getMessage());
+    }
+
+    private void transicionar(ReservaEmAndamento reserva, Reserva.Status novo) {
+        if (!reserva.status.compareAndSet(Reserva.Status.ATIVA, novo)) {
+            throw naoAtiva(reserva.id);
+        }
+        try {
+            reservaRepository.alterarStatus(List.of(reserva.id), Reserva.Status.ATIVA, novo);
+        } catch (RuntimeException e) {
+            reserva.status.set(Reserva.Status.ATIVA);
+            throw e;
+        }
+    }
+
+    private void registrar(Reserva reserva) {
+        emAndamento.put(reserva.getId(), new ReservaEmAndamento(reserva));
+        estoqueReservado.somar(reserva.getProdutoId(), reserva.getQuantidade());
+    }
+
+    private void encerrar(ReservaEmAndamento reserva) {
+        if (emAndamento.remove(reserva.id) != null) {
+            estoqueReservado.devolver(reserva.produtoId, reserva.quantidade);
+        }
+    }
+
+    private RuntimeException naoAtiva(String id) {
+        Reserva reserva = buscar(id);
+        if (reserva.getStatus() == Reserva.Status.ATIVA) {
+            return new ReservaIndisponivelException("A reserva " + id + " está vencida");
+        }
+        return new ReservaIndisponivelException(reserva);
+    }
+
+    // A quantidade considerada é a que o produto terá após a gravação dos ajustes write-behind pendentes
+    private <T> T comProduto(Long produtoId, Function<Produto, T> acao) {
+        return acumuladorEstoque.validarComPendentes(produtoId,
+                () -> produtoCache.buscar(produtoId, produtoRepository::findById),
+                produto -> acao.apply(produto.orElseThrow(
+                        () -> new EntityNotFoundException("Produto não encontrado com ID: " + produtoId))));
+    }
+
+    private static class ReservaEmAndamento {
+        private final String id;
+        private final Long produtoId;
+        private final int quantidade;
+        private final Instant expiraEm;
+        private final AtomicReference<Reserva.Status> status;
+        private int tentativas;
+
+        ReservaEmAndamento(Reserva reserva) {
+            this.id = reserva.getId();
+            this.produtoId = reserva.getProdutoId();
+            this.quantidade = reserva.getQuantidade();
+            this.expiraEm = reserva.getExpiraEm();
+            this.status = new AtomicReference<>(reserva.getStatus());
+        }
+    }
+}
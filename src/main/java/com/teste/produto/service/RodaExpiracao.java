@@ -0,0 +1,85 @@
+package com.teste.produto.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Roda de temporização para expirar reservas: cada posição guarda os itens que vencem naquele
+ * tique (módulo o tamanho da roda). Agendar é O(1) e sem bloqueio, e cada avanço percorre só as
+ * posições dos tiques decorridos, em vez de todas as reservas. Itens que vencem depois de uma
+ * volta completa permanecem na posição até a volta certa.
+ */
+class RodaExpiracao {
+
+    private final long tiqueMillis;
+    private final Queue<Item>[] posicoes;
+    private volatile long ultimoTique;
+
+    @SuppressWarnings("unchecked")
+    RodaExpiracao(Duration tique, int tamanho, Instant inicio) {
+        this.tiqueMillis = Math.max(1, tique.toMillis());
+        this.posicoes = new Queue[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            posicoes[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.ultimoTique = tique(inicio);
+    }
+
+    void agendar(String id, Instant expiraEm) {
+        // Um vencimento já passado vai para o próximo tique, que ainda será percorrido
+        long tique = Math.max(tique(expiraEm), ultimoTique + 1);
+        posicoes[posicao(tique)].add(new Item(id, tique));
+        // Se a roda passou pela posição durante o agendamento, repete no próximo tique; duplicatas são ignoradas por quem expira
+        long percorrido = ultimoTique;
+        if (tique <= percorrido) {
+            posicoes[posicao(percorrido + 1)].add(new Item(id, percorrido + 1));
+        }
+    }
+
+    /**
+     * Avança a roda até o instante informado e retorna os IDs vencidos desde o último avanço.
+     */
+    synchronized List<String> avancar(Instant agora) {
+        long atual = tique(agora);
+        List<String> vencidos = new ArrayList<>();
+        if (atual <= ultimoTique) {
+            return vencidos;
+        }
+        long voltas = Math.min(atual - ultimoTique, posicoes.length);
+        for (long t = atual - voltas + 1; t <= atual; t++) {
+            Queue<Item> fila = posicoes[posicao(t)];
+            List<Item> adiados = new ArrayList<>();
+            Item item;
+            while ((item = fila.poll()) != null) {
+                if (item.tique() <= atual) {
+                    vencidos.add(item.id());
+                } else {
+                    adiados.add(item);
+                }
+            }
+            fila.addAll(adiados);
+        }
+        ultimoTique = atual;
+        return vencidos;
+    }
+
+    synchronized void limpar() {
+        for (Queue<Item> fila : posicoes) {
+            fila.clear();
+        }
+    }
+
+    private long tique(Instant instante) {
+        return Math.floorDiv(instante.toEpochMilli(), tiqueMillis);
+    }
+
+    private int posicao(long tique) {
+        return (int) Math.floorMod(tique, (long) posicoes.length);
+    }
+
+    private record Item(String id, long tique) {}
+}
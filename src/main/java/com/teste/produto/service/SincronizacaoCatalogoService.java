@@ -0,0 +1,120 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.AlteracoesCatalogo;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Lapide;
+import com.teste.produto.model.Produto;
+import com.teste.produto.model.VersionadoPorAlteracao;
+import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.LapideRepository;
+import com.teste.produto.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sincronização incremental do catálogo: o que mudou depois de uma versão, lido pelos índices de
+ * versão de alteração. O custo depende do número de alterações, não do tamanho do catálogo.
+ */
+@Service
+@Slf4j
+public class SincronizacaoCatalogoService {
+
+    static final int LIMITE_MAXIMO = 1000;
+
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final LapideRepository lapideRepository;
+    private final RelogioAlteracoes relogioAlteracoes;
+    private final Duration retencaoLapides;
+    private volatile long lapidesDescartadasAte;
+
+    public SincronizacaoCatalogoService(ProdutoRepository produtoRepository, CategoriaRepository categoriaRepository,
+                                        LapideRepository lapideRepository, RelogioAlteracoes relogioAlteracoes,
+                                        @Value("${catalogo.lapides.retencao:P30D}") Duration retencaoLapides) {
+        this.produtoRepository = produtoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.lapideRepository = lapideRepository;
+        this.relogioAlteracoes = relogioAlteracoes;
+        this.retencaoLapides = retencaoLapides;
+    }
+
+    /**
+     * Até {@code limite} alterações posteriores à versão, em ordem de versão. Com
+     * {@code maisAlteracoes}, o cliente repete a chamada a partir da versão retornada. Pede
+     * ressincronização se a versão é de outra execução ou se lápides posteriores a ela já foram
+     * descartadas.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesCatalogo alteracoesDesde(long desde, int limite) {
+        if (desde < 0) {
+            throw new IllegalArgumentException("A versão deve ser maior ou igual a zero");
+        }
+        long ate = relogioAlteracoes.versaoConsolidada();
+        if (desde > ate || desde < lapidesDescartadasAte) {
+            log.info("Sincronização a partir da versão {} exige recarga completa (versão atual {})", desde, ate);
+            return AlteracoesCatalogo.ressincronizar(ate);
+        }
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        Limit porOrigem = Limit.of(tamanho + 1);
+
+        // Cada origem já vem ordenada; a página fica com as menores versões entre as três
+        List<VersionadoPorAlteracao> alteracoes = new ArrayList<>();
+        alteracoes.addAll(produtoRepository.findAlteradosEntre(desde, ate, porOrigem));
+        alteracoes.addAll(categoriaRepository.findAlteradasEntre(desde, ate, porOrigem));
+        alteracoes.addAll(lapideRepository.findAlteradasEntre(desde, ate, porOrigem));
+        alteracoes.sort(Comparator.comparing(VersionadoPorAlteracao::getVersaoAlteracao));
+
+        boolean mais = alteracoes.size() > tamanho;
+        List<VersionadoPorAlteracao> pagina = mais ? alteracoes.subList(0, tamanho) : alteracoes;
+        List<Produto> produtos = new ArrayList<>();
+        List<Categoria> categorias = new ArrayList<>();
+        List<Long> produtosRemovidos = new ArrayList<>();
+        List<Long> categoriasRemovidas = new ArrayList<>();
+        for (VersionadoPorAlteracao alteracao : pagina) {
+            if (alteracao instanceof Produto produto) {
+                produtos.add(produto);
+            } else if (alteracao instanceof Categoria categoria) {
+                categorias.add(categoria);
+            } else if (alteracao instanceof Lapide lapide) {
+                (lapide.getEntidade() == Lapide.Entidade.PRODUTO ? produtosRemovidos : categoriasRemovidas)
+                        .add(lapide.getEntidadeId());
+            }
+        }
+        long versao = mais ? pagina.get(tamanho - 1).getVersaoAlteracao() : ate;
+        return new AlteracoesCatalogo(versao, mais, produtos, categorias, produtosRemovidos, categoriasRemovidas);
+    }
+
+    /**
+     * Descarta as lápides mais antigas que a retenção. Clientes que sincronizaram pela última vez
+     * antes delas passam a receber o pedido de ressincronização.
+     */
+    @Scheduled(initialDelayString = "${catalogo.lapides.limpeza.intervalo:PT1H}",
+               fixedDelayString = "${catalogo.lapides.limpeza.intervalo:PT1H}")
+    @Transactional
+    public int descartarLapidesAntigas() {
+        return descartarLapidesAnterioresA(Instant.now().minus(retencaoLapides));
+    }
+
+    @Transactional
+    public int descartarLapidesAnterioresA(Instant limite) {
+        Long versao = lapideRepository.findMaiorVersaoAnteriorA(limite);
+        if (versao == null) {
+            return 0;
+        }
+        // O limite sobe antes da remoção: no pior caso, um cliente ressincroniza sem precisar
+        lapidesDescartadasAte = Math.max(lapidesDescartadasAte, versao);
+        int removidas = lapideRepository.removerAteVersao(versao);
+        log.info("{} lápides descartadas até a versão {}", removidas, versao);
+        return removidas;
+    }
+}
@@ -0,0 +1,146 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.ReconciliacaoValorEstoque;
+import com.teste.produto.dto.ValorEstoquePorCategoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.model.ValorEstoqueCategoria;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.repository.ValorEstoqueCategoriaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém o valor do estoque por categoria de forma incremental: cada gravação de produto aplica a
+ * sua diferença na mesma transação, e a leitura do total soma apenas uma linha por categoria.
+ */
+@Service
+@Slf4j
+public class ValorEstoqueService {
+
+    private final ValorEstoqueCategoriaRepository valorEstoqueCategoriaRepository;
+    private final ProdutoRepository produtoRepository;
+
+    public ValorEstoqueService(ValorEstoqueCategoriaRepository valorEstoqueCategoriaRepository,
+                               ProdutoRepository produtoRepository) {
+        this.valorEstoqueCategoriaRepository = valorEstoqueCategoriaRepository;
+        this.produtoRepository = produtoRepository;
+    }
+
+    public static Long chave(Produto produto) {
+        if (produto.getCategoria() == null || produto.getCategoria().getId() == null) {
+            return ValorEstoqueCategoria.SEM_CATEGORIA;
+        }
+        return produto.getCategoria().getId();
+    }
+
+    // Mesmo arredondamento da coluna preco, para que o agregado bata com a soma feita no banco
+    public static BigDecimal valor(Produto produto) {
+        if (produto.getPreco() == null || produto.getQuantidade() == null) {
+            return BigDecimal.ZERO;
+        }
+        return valor(produto.getPreco(), produto.getQuantidade());
+    }
+
+    public static BigDecimal valor(BigDecimal preco, int quantidade) {
+        return preco.setScale(2, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(quantidade));
+    }
+
+    /**
+     * Aplica as diferenças de valor por categoria. Deve ser chamado dentro da transação que grava
+     * os produtos; as linhas são atualizadas em ordem de chave para evitar deadlocks entre escritores.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void aplicar(Map<Long, BigDecimal> diferencas) {
+        new TreeMap<>(diferencas).forEach((categoriaId, diferenca) -> {
+            if (diferenca.signum() == 0) {
+                return;
+            }
+            // A linha nasce com a categoria (registrarCategoria); o INSERT só cobre bancos mais antigos
+            if (valorEstoqueCategoriaRepository.somar(categoriaId, diferenca) == 0) {
+                valorEstoqueCategoriaRepository.save(new ValorEstoqueCategoria(categoriaId, diferenca));
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void aplicar(Long categoriaId, BigDecimal diferenca) {
+        aplicar(Map.of(categoriaId, diferenca));
+    }
+
+    /**
+     * Cria a linha zerada da categoria na transação que a cria. Sem ela, as primeiras gravações
+     * concorrentes de produtos da categoria tentariam inserir a mesma linha.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCategoria(Long categoriaId) {
+        valorEstoqueCategoriaRepository.save(new ValorEstoqueCategoria(categoriaId, BigDecimal.ZERO));
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal total() {
+        return valorEstoqueCategoriaRepository.somarTotal();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ValorEstoquePorCategoria> listarPorCategoria() {
+        return valorEstoqueCategoriaRepository.listarPorCategoria();
+    }
+
+    /**
+     * Recalcula o valor a partir da tabela de produtos e corrige as categorias divergentes.
+     * As linhas do agregado ficam bloqueadas durante o cálculo, então nenhuma gravação concorrente
+     * é perdida entre a soma e a correção.
+     */
+    @Scheduled(initialDelayString = "${estoque.reconciliacao.intervalo:PT1H}",
+               fixedDelayString = "${estoque.reconciliacao.intervalo:PT1H}")
+    @Transactional
+    public ReconciliacaoValorEstoque reconciliar() {
+        Map<Long, ValorEstoqueCategoria> registrados = new HashMap<>();
+        valorEstoqueCategoriaRepository.findAllParaReconciliacao()
+                .forEach(registro -> registrados.put(registro.getCategoriaId(), registro));
+
+        Map<Long, BigDecimal> calculados = new TreeMap<>();
+        produtoRepository.somarValorEstoquePorCategoria()
+                .forEach(linha -> calculados.put(linha.getCategoriaId(), linha.getValor()));
+        registrados.keySet().forEach(categoriaId -> calculados.putIfAbsent(categoriaId, BigDecimal.ZERO));
+
+        List<ReconciliacaoValorEstoque.Divergencia> divergencias = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, BigDecimal> calculado : calculados.entrySet()) {
+            Long categoriaId = calculado.getKey();
+            BigDecimal valor = calculado.getValue();
+            ValorEstoqueCategoria registro = registrados.get(categoriaId);
+            BigDecimal valorRegistrado = registro != null ? registro.getValor() : BigDecimal.ZERO;
+            total = total.add(valor);
+
+            if (valorRegistrado.compareTo(valor) != 0) {
+                divergencias.add(new ReconciliacaoValorEstoque.Divergencia(categoriaId, valorRegistrado, valor));
+                if (registro == null) {
+                    valorEstoqueCategoriaRepository.save(new ValorEstoqueCategoria(categoriaId, valor));
+                } else {
+                    registro.setValor(valor);
+                }
+            }
+        }
+
+        if (divergencias.isEmpty()) {
+            log.info("Valor do estoque reconciliado sem divergências: {}", total);
+        } else {
+            divergencias.forEach(d -> log.warn("Divergência no valor do estoque da categoria {}: registrado={}, calculado={}",
+                    d.getCategoriaId(), d.getValorRegistrado(), d.getValorCalculado()));
+        }
+        return new ReconciliacaoValorEstoque(LocalDateTime.now(), total, divergencias);
+    }
+}
@@ -0,0 +1,28 @@
+package com.teste.produto.service;
+
+import com.teste.produto.model.VersionadoPorAlteracao;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Atribui a versão de alteração em toda inserção e em toda atualização com mudanças. Atualizações
+ * em massa por JPQL não passam por aqui e precisam informar a versão na própria consulta.
+ */
+@Component
+public class VersaoAlteracaoListener {
+
+    // Resolvido no primeiro uso: o listener é criado junto com o EntityManagerFactory, antes do JdbcTemplate
+    private final ObjectProvider<RelogioAlteracoes> relogioAlteracoes;
+
+    public VersaoAlteracaoListener(ObjectProvider<RelogioAlteracoes> relogioAlteracoes) {
+        this.relogioAlteracoes = relogioAlteracoes;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void marcar(VersionadoPorAlteracao entidade) {
+        entidade.setVersaoAlteracao(relogioAlteracoes.getObject().proxima());
+    }
+}
@@ -0,0 +1,44 @@
+package com.teste.produto.service;
+
+import com.teste.produto.event.CategoriaAlteradaEvent;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de alteração das tabelas de produtos e categorias, usados como ETag das listagens.
+ * Permitem responder 304 sem consultar o banco. O instante da inicialização entra na ETag porque
+ * os contadores recomeçam do zero junto com o banco em memória.
+ *
+ * <p>Os contadores só avançam após o commit e a ETag é lida antes da consulta: uma resposta pode
+ * trazer dados mais novos que a sua ETag (o cliente só baixa de novo), mas nunca o contrário.
+ */
+@Component
+public class VersaoCatalogo {
+
+    private final long inicializacao = System.currentTimeMillis();
+    private final AtomicLong produtos = new AtomicLong();
+    private final AtomicLong categorias = new AtomicLong();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        produtos.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCategoria(CategoriaAlteradaEvent evento) {
+        categorias.incrementAndGet();
+    }
+
+    // Os produtos são serializados com a categoria, então a ETag também muda com as categorias
+    public String etagProdutos() {
+        return "\"p" + inicializacao + "-" + produtos.get() + "-" + categorias.get() + "\"";
+    }
+
+    public String etagCategorias() {
+        return "\"c" + inicializacao + "-" + categorias.get() + "\"";
+    }
+}
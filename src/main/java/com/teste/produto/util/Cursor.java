@@ -0,0 +1,59 @@
+package com.teste.produto.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica a posição da última linha lida (valores das colunas de ordenação)
+ * em um token opaco para paginação por cursor (keyset).
+ */
+public final class Cursor {
+
+    private static final String SEPARADOR = ".";
+
+    private Cursor() {}
+
+    public static String codificar(Object... valores) {
+        StringBuilder cursor = new StringBuilder();
+        for (Object valor : valores) {
+            if (cursor.length() > 0) {
+                cursor.append(SEPARADOR);
+            }
+            cursor.append(Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(String.valueOf(valor).getBytes(StandardCharsets.UTF_8)));
+        }
+        return cursor.toString();
+    }
+
+    public static String[] decodificar(String cursor, int quantidadeValores) {
+        String[] partes = cursor.split("\\" + SEPARADOR, -1);
+        if (partes.length != quantidadeValores) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            String[] valores = new String[partes.length];
+            for (int i = 0; i < partes.length; i++) {
+                valores[i] = new String(Base64.getUrlDecoder().decode(partes[i]), StandardCharsets.UTF_8);
+            }
+            return valores;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public static Long decodificarLong(String valor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public static Integer decodificarInteger(String valor) {
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.teste.produto.util;
+
+import com.teste.produto.exception.VersaoConflitanteException;
+import com.teste.produto.model.Produto;
+
+/**
+ * Converte a versão de uma entidade em ETag forte e interpreta o cabeçalho If-Match.
+ */
+public final class ETag {
+
+    private static final String QUALQUER = "*";
+    private static final char SEPARADOR = '.';
+
+    private ETag() {}
+
+    public static String daVersao(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * ETag do produto como é serializado: a versão do produto seguida da versão da categoria que
+     * vai junto na resposta, para que renomear a categoria também mude a ETag.
+     */
+    public static String doProduto(Produto produto) {
+        if (produto.getCategoria() == null || produto.getCategoria().getVersao() == null) {
+            return daVersao(produto.getVersao());
+        }
+        return "\"" + produto.getVersao() + SEPARADOR + produto.getCategoria().getVersao() + "\"";
+    }
+
+    /**
+     * Versão exigida pelo If-Match, ou {@code null} quando o cabeçalho está ausente ou é {@code *}.
+     * Uma ETag fraca ou que não veio de uma versão nunca corresponde ao recurso atual. Na ETag de
+     * um produto só conta a versão do produto: a gravação condicional não altera a categoria.
+     */
+    public static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || QUALQUER.equals(ifMatch.trim())) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            throw new VersaoConflitanteException();
+        }
+        String versao = valor.substring(1, valor.length() - 1);
+        int separador = versao.indexOf(SEPARADOR);
+        try {
+            return Long.valueOf(separador < 0 ? versao : versao.substring(0, separador));
+        } catch (NumberFormatException e) {
+            throw new VersaoConflitanteException();
+        }
+    }
+}
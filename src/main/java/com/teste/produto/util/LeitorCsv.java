@@ -0,0 +1,100 @@
+package com.teste.produto.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor incremental de CSV: devolve um registro por vez, sem carregar o arquivo em memória.
+ * Suporta campos entre aspas (com aspas duplicadas como escape e quebras de linha internas).
+ */
+public class LeitorCsv {
+
+    private final Reader reader;
+    private final char separador;
+    private int linhaAtual;
+    private int linhaDoRegistro;
+    private int proximo = -2;
+
+    public LeitorCsv(Reader reader, char separador) {
+        this(reader, separador, 1);
+    }
+
+    public LeitorCsv(Reader reader, char separador, int primeiraLinha) {
+        this.reader = reader;
+        this.separador = separador;
+        this.linhaAtual = primeiraLinha;
+    }
+
+    /**
+     * Lê o próximo registro ou retorna {@code null} ao final do arquivo.
+     */
+    public List<String> proximoRegistro() throws IOException {
+        int c = ler();
+        if (c == -1) {
+            return null;
+        }
+        linhaDoRegistro = linhaAtual;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        while (c != -1) {
+            if (entreAspas) {
+                if (c == '"') {
+                    if (espiar() == '"') {
+                        ler();
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linhaAtual++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.length() == 0) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && espiar() == '\n') {
+                    ler();
+                }
+                linhaAtual++;
+                break;
+            } else {
+                campo.append((char) c);
+            }
+            c = ler();
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Número da linha do arquivo (a partir de 1) em que começa o último registro lido.
+     */
+    public int getLinhaDoRegistro() {
+        return linhaDoRegistro;
+    }
+
+    private int ler() throws IOException {
+        if (proximo != -2) {
+            int c = proximo;
+            proximo = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int espiar() throws IOException {
+        if (proximo == -2) {
+            proximo = reader.read();
+        }
+        return proximo;
+    }
+}
@@ -0,0 +1,25 @@
+package com.teste.produto.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canônica usada nas buscas por nome: sem acentos, em minúsculas e sem espaços nas pontas,
+ * de modo que "Periféricos" e "perifericos" sejam equivalentes.
+ */
+public final class TextoNormalizado {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private TextoNormalizado() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT).trim();
+    }
+}
@@ -1,14 +1,30 @@
 -- Criação das categorias
-INSERT INTO categoria (nome, descricao) VALUES
-('Eletrônicos', 'eletronico em geral'),
-('Periféricos', 'Dispositivos de entrada e saída para computadores, como mouse, teclado e webcam.'),
-('Computadores/Peças', 'Componentes de computadores e equipamentos, como notebooks, monitores e placas.');
+-- versao_alteracao: posição de cada registro na sincronização incremental, única entre produtos e categorias
+INSERT INTO categoria (nome, nome_normalizado, descricao, versao, versao_alteracao) VALUES
+('Eletrônicos', 'eletronicos', 'eletronico em geral', 0, 1),
+('Periféricos', 'perifericos', 'Dispositivos de entrada e saída para computadores, como mouse, teclado e webcam.', 0, 2),
+('Computadores/Peças', 'computadores/pecas', 'Componentes de computadores e equipamentos, como notebooks, monitores e placas.', 0, 3);
 
 -- Dados iniciais para teste
-INSERT INTO produtos (nome, descricao, preco, quantidade, categoria_id) VALUES
-('Notebook Dell', 'Notebook Dell Inspiron 15 com 8GB RAM e SSD 256GB', 2500.00, 10, 3),
-('Mouse Logitech', 'Mouse óptico sem fio Logitech M170', 45.90, 25, 2),
-('Teclado Mecânico', 'Teclado mecânico RGB com switches Cherry MX Blue', 299.99, 5, 2),
-('Monitor Samsung', 'Monitor LED 24 polegadas Full HD Samsung', 899.00, 8, 3),
-('Webcam HD', 'Webcam HD 1080p com microfone integrado', 129.90, 15, 2);
+-- nome_normalizado: nome sem acentos e em minúsculas (chave de unicidade)
+INSERT INTO produtos (id, nome, nome_normalizado, descricao, preco, quantidade, categoria_id, versao, versao_alteracao) VALUES
+(1, 'Notebook Dell', 'notebook dell', 'Notebook Dell Inspiron 15 com 8GB RAM e SSD 256GB', 2500.00, 10, 3, 0, 4),
+(2, 'Mouse Logitech', 'mouse logitech', 'Mouse óptico sem fio Logitech M170', 45.90, 25, 2, 0, 5),
+(3, 'Teclado Mecânico', 'teclado mecanico', 'Teclado mecânico RGB com switches Cherry MX Blue', 299.99, 5, 2, 0, 6),
+(4, 'Monitor Samsung', 'monitor samsung', 'Monitor LED 24 polegadas Full HD Samsung', 899.00, 8, 3, 0, 7),
+(5, 'Webcam HD', 'webcam hd', 'Webcam HD 1080p com microfone integrado', 129.90, 15, 2, 0, 8);
 
+-- Os IDs acima foram informados manualmente; a sequência continua a partir do próximo
+ALTER SEQUENCE produtos_seq RESTART WITH 6;
+
+-- Valor do estoque por categoria (0 = sem categoria), mantido pela aplicação a partir daqui; toda
+-- categoria tem a sua linha desde a criação, então as gravações só fazem UPDATE
+INSERT INTO valor_estoque_categoria (categoria_id, valor)
+SELECT c.id, COALESCE(SUM(p.preco * p.quantidade), 0)
+FROM (SELECT id FROM categoria UNION SELECT 0) c
+LEFT JOIN produtos p ON COALESCE(p.categoria_id, 0) = c.id
+GROUP BY c.id;
+
+-- Saldo inicial do livro de estoque; a partir daqui cada alteração de quantidade gera um lançamento
+INSERT INTO snapshot_estoque (produto_id, quantidade, movimentacoes, compactado_ate)
+SELECT id, quantidade, 0, CURRENT_TIMESTAMP FROM produtos;
@@ -1,5 +1,6 @@
 const API_BASE_URL = 'http://localhost:8081/api/products';
 const CATEGORIA_API_BASE_URL = 'http://localhost:8081/api/categorias';
+const EVENTOS_URL = `${API_BASE_URL}/events`;
 const produtoForm = document.getElementById('produto-form');
 const produtoIdInput = document.getElementById('produto-id');
 const nomeInput = document.getElementById('nome');
@@ -12,6 +13,7 @@ const cancelBtn = document.getElementById('cancel-btn');
 const formTitle = document.getElementById('form-title');
 const searchInput = document.getElementById('search-input');
 const searchBtn = document.getElementById('search-btn');
+const searchSuggestions = document.getElementById('search-suggestions');
 const showAllBtn = document.getElementById('show-all-btn');
 const reportsBtn = document.getElementById('reports-btn');
 const manageCategoriesBtn = document.getElementById('manage-categories-btn');
@@ -48,12 +50,51 @@ let editingProductId = null;
 let editingCategoryId = null;
 let currentPage = 0;
 let totalPages = 0;
+let suggestTimeout = null;
+let eventosConectados = false;
+let recargaTimeout = null;
+let recarregarCategoriasPendente = false;
 
 document.addEventListener('DOMContentLoaded', function() {
     carregarProdutos();
     carregarCategorias();
     setupEventListeners();
+    conectarEventos();
 });
+
+// Recebe as alterações do catálogo por SSE; o EventSource reconecta sozinho enviando o Last-Event-ID
+function conectarEventos() {
+    if (!window.EventSource) {
+        return;
+    }
+    const eventos = new EventSource(EVENTOS_URL);
+    eventos.onopen = () => { eventosConectados = true; };
+    eventos.onerror = () => { eventosConectados = false; };
+    eventos.addEventListener('produto', () => agendarRecarga(false));
+    eventos.addEventListener('categoria', () => agendarRecarga(true));
+    // Eventos foram perdidos: recarrega tudo
+    eventos.addEventListener('resync', () => agendarRecarga(true));
+}
+
+// Agrupa rajadas de eventos em uma única recarga
+function agendarRecarga(incluirCategorias) {
+    recarregarCategoriasPendente = recarregarCategoriasPendente || incluirCategorias;
+    clearTimeout(recargaTimeout);
+    recargaTimeout = setTimeout(() => {
+        if (recarregarCategoriasPendente) {
+            recarregarCategoriasPendente = false;
+            carregarCategorias();
+        }
+        buscarProdutos();
+    }, 200);
+}
+
+// Sem o fluxo de eventos, a própria tela recarrega o que alterou
+function recarregarSemEventos(recarregar) {
+    if (!eventosConectados) {
+        recarregar();
+    }
+}
 function setupEventListeners() {
     produtoForm.addEventListener('submit', handleFormSubmit);
     cancelBtn.addEventListener('click', cancelarEdicao);
@@ -89,6 +130,35 @@ function setupEventListeners() {
             buscarProdutos();
         }
     });
+
+    searchInput.addEventListener('input', function() {
+        clearTimeout(suggestTimeout);
+        suggestTimeout = setTimeout(carregarSugestoes, 150);
+    });
+}
+
+async function carregarSugestoes() {
+    const prefixo = searchInput.value.trim();
+    if (!prefixo) {
+        searchSuggestions.innerHTML = '';
+        return;
+    }
+
+    try {
+        const response = await fetch(`${API_BASE_URL}/suggest?prefix=${encodeURIComponent(prefixo)}&limite=8`);
+        if (!response.ok) {
+            return;
+        }
+        const sugestoes = await response.json();
+        searchSuggestions.innerHTML = '';
+        sugestoes.forEach(sugestao => {
+            const option = document.createElement('option');
+            option.value = sugestao.nome;
+            searchSuggestions.appendChild(option);
+        });
+    } catch (error) {
+        console.error('Erro ao carregar sugestões:', error);
+    }
 }
 
 async function apiRequest(url, options = {}) {
@@ -227,7 +297,7 @@ function renderizarRelatorios(produtos) {
             <td>${produto.descricao || ''}</td>
             <td>R$ ${parseFloat(produto.preco).toFixed(2)}</td>
             <td>${produto.quantidade}</td>
-            <td>${produto.categoria ? produto.categoria.nome : ''}</td>
+            <td>${produto.categoriaNome || ''}</td>
         `;
         reportsTbody.appendChild(row);
     });
@@ -274,7 +344,7 @@ function renderizarProdutos(produtos) {
             <td>${produto.descricao || '-'}</td>
             <td>R$ ${produto.preco.toFixed(2).replace('.', ',')}</td>
             <td>${produto.quantidade}</td>
-            <td>${produto.categoria ? produto.categoria.nome : '-'}</td>
+            <td>${produto.categoriaNome || '-'}</td>
             <td>
                 <div class="action-buttons">
                     <button onclick="editarProduto(${produto.id})" class="success">Editar</button>
@@ -314,7 +384,7 @@ async function handleFormSubmit(e) {
         }
         
         limparFormulario();
-        carregarProdutos();
+        recarregarSemEventos(carregarProdutos);
     } catch (error) {
         console.error('Erro ao salvar produto:', error);
     }
@@ -353,7 +423,7 @@ async function deletarProduto(id) {
             method: 'DELETE'
         });
         showSuccess('Produto excluído com sucesso!');
-        carregarProdutos();
+        recarregarSemEventos(carregarProdutos);
     } catch (error) {
         console.error('Erro ao deletar produto:', error);
     }
@@ -533,8 +603,7 @@ async function handleCategoryFormSubmit(e) {
         }
 
         limparFormularioCategoria();
-        carregarCategoriasModal();
-        carregarCategorias();
+        recarregarSemEventos(carregarCategorias);
     } catch (error) {
         console.error('Erro detalhado:', error);
         showCategoriesError('Erro ao salvar categoria: ' + error.message);
@@ -587,8 +656,7 @@ async function deletarCategoria(id) {
         }
 
         showCategoriesSuccess('Categoria excluída com sucesso!');
-        carregarCategoriasModal();
-        carregarCategorias();
+        recarregarSemEventos(carregarCategorias);
     } catch (error) {
         console.error('Erro ao deletar categoria:', error);
         showCategoriesError('Erro ao deletar categoria: ' + error.message);
@@ -1,26 +1,48 @@
 package com.teste.produto;
 
+import com.teste.produto.dto.PaginaCursor;
+import com.teste.produto.dto.ProdutoResumo;
+import com.teste.produto.exception.EstoqueInsuficienteException;
 import com.teste.produto.exception.NomeJaExisteException;
+import com.teste.produto.exception.ProdutoComReservasException;
+import com.teste.produto.exception.VersaoConflitanteException;
 import com.teste.produto.model.Categoria;
 import com.teste.produto.model.Produto;
 import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.LapideRepository;
 import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.service.AcumuladorEstoque;
+import com.teste.produto.service.EstoqueReservado;
+import com.teste.produto.service.IndicePrefixoProduto;
+import com.teste.produto.service.IndiceTrigramaProduto;
+import com.teste.produto.service.LivroEstoqueService;
+import com.teste.produto.service.ProdutoCache;
 import com.teste.produto.service.ProdutoService;
+import com.teste.produto.service.ValorEstoqueService;
+import com.teste.produto.util.Cursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +57,34 @@ class ProdutoServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ValorEstoqueService valorEstoqueService;
+
+    @Mock
+    private IndiceTrigramaProduto indiceTrigramaProduto;
+
+    @Mock
+    private IndicePrefixoProduto indicePrefixoProduto;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AcumuladorEstoque acumuladorEstoque;
+
+    @Mock
+    private EstoqueReservado estoqueReservado;
+
+    @Mock
+    private LivroEstoqueService livroEstoqueService;
+
+    @Mock
+    private LapideRepository lapideRepository;
+
+    @Spy
+    private ProdutoCache produtoCache = new ProdutoCache(new ConcurrentMapCacheManager(ProdutoCache.NOME),
+            mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ProdutoService produtoService;
 
@@ -54,21 +104,25 @@ class ProdutoServiceTest {
         produto.setPreco(new BigDecimal("99.99"));
         produto.setQuantidade(10);
         produto.setCategoria(categoria);
+
+        lenient().when(acumuladorEstoque.substituirQuantidade(any(), any()))
+                .thenAnswer(chamada -> chamada.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
     void testListarTodos() {
         // Arrange
-        List<Produto> produtos = Arrays.asList(produto);
-        when(produtoRepository.findAll()).thenReturn(produtos);
+        when(produtoRepository.listarResumos()).thenReturn(List.of(resumo(produto)));
 
         // Act
-        List<Produto> resultado = produtoService.listarTodos();
+        List<ProdutoResumo> resultado = produtoService.listarTodos();
 
         // Assert
         assertEquals(1, resultado.size());
-        assertEquals(produto.getNome(), resultado.get(0).getNome());
-        verify(produtoRepository).findAll();
+        assertEquals(produto.getNome(), resultado.get(0).nome());
+        assertEquals(categoria.getNome(), resultado.get(0).categoriaNome());
+        verify(produtoRepository).listarResumos();
+        verify(produtoRepository, never()).findAll();
     }
 
     @Test
@@ -85,6 +139,24 @@ class ProdutoServiceTest {
         verify(produtoRepository).findById(1L);
     }
 
+    @Test
+    void testBuscarPorIdUsaCacheAteAlteracao() {
+        // Arrange
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.saveAndFlush(any(Produto.class))).thenReturn(produto);
+
+        // Act
+        produtoService.buscarPorId(1L);
+        produtoService.buscarPorId(1L);
+        produtoService.atualizar(1L, produto);
+        Optional<Produto> resultado = produtoService.buscarPorId(1L);
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        verify(produtoRepository, times(3)).findById(1L);
+        verify(produtoCache).invalidar(1L);
+    }
+
     @Test
     void testSalvarProdutoNovo() {
         // Arrange
@@ -93,8 +165,7 @@ class ProdutoServiceTest {
         novoProduto.setPreco(new BigDecimal("50.00"));
         novoProduto.setQuantidade(5);
 
-        when(produtoRepository.existsByNomeIgnoreCase(anyString())).thenReturn(false);
-        when(produtoRepository.save(any(Produto.class))).thenReturn(novoProduto);
+        when(produtoRepository.saveAndFlush(any(Produto.class))).thenReturn(novoProduto);
 
         // Act
         Produto resultado = produtoService.salvar(novoProduto);
@@ -102,8 +173,7 @@ class ProdutoServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals(novoProduto.getNome(), resultado.getNome());
-        verify(produtoRepository).existsByNomeIgnoreCase(novoProduto.getNome());
-        verify(produtoRepository).save(novoProduto);
+        verify(produtoRepository).saveAndFlush(novoProduto);
     }
 
     @Test
@@ -112,17 +182,19 @@ class ProdutoServiceTest {
         Produto novoProduto = new Produto();
         novoProduto.setNome("Produto Existente");
 
-        when(produtoRepository.existsByNomeIgnoreCase(anyString())).thenReturn(true);
+        when(produtoRepository.saveAndFlush(any(Produto.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_PRODUTOS_NOME_NORMALIZADO_INDEX_F\"")));
 
         // Act & Assert
-        NomeJaExisteException exception = assertThrows(
-            NomeJaExisteException.class,
+        DataIntegrityViolationException exception = assertThrows(
+            DataIntegrityViolationException.class,
             () -> produtoService.salvar(novoProduto)
         );
 
-        assertEquals("Já existe um produto com este nome", exception.getMessage());
-        verify(produtoRepository).existsByNomeIgnoreCase(novoProduto.getNome());
-        verify(produtoRepository, never()).save(any());
+        assertEquals("Já existe um produto com este nome",
+                NomeJaExisteException.daViolacao(exception).map(Exception::getMessage).orElse(null));
+        verifyNoInteractions(valorEstoqueService, eventPublisher);
     }
 
     @Test
@@ -135,8 +207,7 @@ class ProdutoServiceTest {
         produtoAtualizado.setQuantidade(20);
 
         when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
-        when(produtoRepository.existsByNomeIgnoreCase(anyString())).thenReturn(false);
-        when(produtoRepository.save(any(Produto.class))).thenReturn(produto);
+        when(produtoRepository.saveAndFlush(any(Produto.class))).thenReturn(produto);
 
         // Act
         Produto resultado = produtoService.atualizar(1L, produtoAtualizado);
@@ -144,7 +215,36 @@ class ProdutoServiceTest {
         // Assert
         assertNotNull(resultado);
         verify(produtoRepository).findById(1L);
-        verify(produtoRepository).save(produto);
+        verify(produtoRepository).saveAndFlush(produto);
+        verify(valorEstoqueService).aplicar(1L, new BigDecimal("2999.90"));
+    }
+
+    @Test
+    void testAtualizarProdutoComVersaoDesatualizada() {
+        // Arrange
+        produto.setVersao(5L);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+
+        // Act & Assert
+        assertThrows(VersaoConflitanteException.class, () -> produtoService.atualizar(1L, produto, 4L));
+
+        verify(produtoRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(valorEstoqueService, eventPublisher);
+    }
+
+    @Test
+    void testAtualizarProdutoAbaixoDoReservado() {
+        // Arrange
+        Produto produtoAtualizado = new Produto("Produto Atualizado", null, new BigDecimal("99.99"), 2);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(estoqueReservado.reservado(1L)).thenReturn(3);
+
+        // Act & Assert
+        assertThrows(EstoqueInsuficienteException.class, () -> produtoService.atualizar(1L, produtoAtualizado));
+
+        assertEquals(10, produto.getQuantidade());
+        verify(produtoRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(valorEstoqueService, eventPublisher);
     }
 
     @Test
@@ -160,26 +260,40 @@ class ProdutoServiceTest {
 
         assertEquals("Produto não encontrado com ID: 1", exception.getMessage());
         verify(produtoRepository).findById(1L);
-        verify(produtoRepository, never()).save(any());
+        verify(produtoRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void testDeletarProduto() {
         // Arrange
-        when(produtoRepository.existsById(1L)).thenReturn(true);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
 
         // Act
         produtoService.deletar(1L);
 
         // Assert
-        verify(produtoRepository).existsById(1L);
-        verify(produtoRepository).deleteById(1L);
+        verify(produtoRepository).findById(1L);
+        verify(produtoRepository).delete(produto);
+        verify(valorEstoqueService).aplicar(1L, new BigDecimal("-999.90"));
+    }
+
+    @Test
+    void testDeletarProdutoComReservas() {
+        // Arrange
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(estoqueReservado.reservado(1L)).thenReturn(1);
+
+        // Act & Assert
+        assertThrows(ProdutoComReservasException.class, () -> produtoService.deletar(1L));
+
+        verify(produtoRepository, never()).delete(any());
+        verifyNoInteractions(valorEstoqueService, lapideRepository);
     }
 
     @Test
     void testDeletarProdutoInexistente() {
         // Arrange
-        when(produtoRepository.existsById(1L)).thenReturn(false);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
@@ -188,23 +302,40 @@ class ProdutoServiceTest {
         );
 
         assertEquals("Produto não encontrado com ID: 1", exception.getMessage());
-        verify(produtoRepository).existsById(1L);
-        verify(produtoRepository, never()).deleteById(any());
+        verify(produtoRepository).findById(1L);
+        verify(produtoRepository, never()).delete(any());
+        verifyNoInteractions(valorEstoqueService);
     }
 
     @Test
     void testBuscarPorNome() {
         // Arrange
-        List<Produto> produtos = Arrays.asList(produto);
-        when(produtoRepository.findByNomeContainingIgnoreCase("Produto")).thenReturn(produtos);
+        when(produtoRepository.findResumosByNomeContendo("Produto")).thenReturn(List.of(resumo(produto)));
 
         // Act
-        List<Produto> resultado = produtoService.buscarPorNome("Produto");
+        List<ProdutoResumo> resultado = produtoService.buscarPorNome("Produto", null);
 
         // Assert
         assertEquals(1, resultado.size());
-        assertEquals(produto.getNome(), resultado.get(0).getNome());
-        verify(produtoRepository).findByNomeContainingIgnoreCase("Produto");
+        assertEquals(produto.getNome(), resultado.get(0).nome());
+        verify(produtoRepository).findResumosByNomeContendo("Produto");
+    }
+
+    @Test
+    void testBuscarPorNomeUsaIndiceNaOrdemDeRelevancia() {
+        // Arrange
+        Produto outro = new Produto("Teste de Produto", null, new BigDecimal("10.00"), 1);
+        outro.setId(2L);
+        when(indiceTrigramaProduto.isPronto()).thenReturn(true);
+        when(indiceTrigramaProduto.buscar("produto", 5)).thenReturn(List.of(1L, 2L));
+        when(produtoRepository.findResumosByIdIn(List.of(1L, 2L))).thenReturn(List.of(resumo(outro), resumo(produto)));
+
+        // Act
+        List<ProdutoResumo> resultado = produtoService.buscarPorNome("produto", 5);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), resultado.stream().map(ProdutoResumo::id).toList());
+        verify(produtoRepository, never()).findResumosByNomeContendo(any());
     }
 
     @Test
@@ -226,61 +357,110 @@ class ProdutoServiceTest {
     void testBuscarProdutosComQuantidadeBaixaPaginado() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Produto> page = new PageImpl<>(Arrays.asList(produto), pageable, 1);
-        when(produtoRepository.findProdutosComQuantidadeBaixa(10, pageable)).thenReturn(page);
+        Page<ProdutoResumo> page = new PageImpl<>(List.of(resumo(produto)), pageable, 1);
+        when(produtoRepository.findResumosComQuantidadeBaixa(10, pageable)).thenReturn(page);
 
         // Act
-        Page<Produto> resultado = produtoService.buscarProdutosComQuantidadeBaixa(10, pageable);
+        Page<ProdutoResumo> resultado = produtoService.buscarProdutosComQuantidadeBaixa(10, pageable);
 
         // Assert
         assertEquals(1, resultado.getContent().size());
-        assertEquals(produto.getNome(), resultado.getContent().get(0).getNome());
+        assertEquals(produto.getNome(), resultado.getContent().get(0).nome());
         assertEquals(0, resultado.getNumber());
-        verify(produtoRepository).findProdutosComQuantidadeBaixa(10, pageable);
+        verify(produtoRepository).findResumosComQuantidadeBaixa(10, pageable);
     }
 
     @Test
     void testCalcularValorTotalEstoque() {
         // Arrange
         BigDecimal valorTotal = new BigDecimal("999.90");
-        when(produtoRepository.calcularValorTotalEstoque()).thenReturn(valorTotal);
+        when(valorEstoqueService.total()).thenReturn(valorTotal);
 
         // Act
         BigDecimal resultado = produtoService.calcularValorTotalEstoque();
 
         // Assert
         assertEquals(valorTotal, resultado);
-        verify(produtoRepository).calcularValorTotalEstoque();
+        verify(valorEstoqueService).total();
+        verifyNoInteractions(produtoRepository);
     }
 
     @Test
     void testCalcularValorTotalEstoqueNull() {
         // Arrange
-        when(produtoRepository.calcularValorTotalEstoque()).thenReturn(null);
+        when(valorEstoqueService.total()).thenReturn(null);
 
         // Act
         BigDecimal resultado = produtoService.calcularValorTotalEstoque();
 
         // Assert
         assertEquals(BigDecimal.ZERO, resultado);
-        verify(produtoRepository).calcularValorTotalEstoque();
+        verify(valorEstoqueService).total();
     }
 
     @Test
     void testBuscarProdutosPorCategoria() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Produto> page = new PageImpl<>(Arrays.asList(produto), pageable, 1);
-        when(produtoRepository.findByCategoriaId(1L, pageable)).thenReturn(page);
+        Page<ProdutoResumo> page = new PageImpl<>(List.of(resumo(produto)), pageable, 1);
+        when(produtoRepository.findResumosByCategoriaId(1L, pageable)).thenReturn(page);
 
         // Act
-        Page<Produto> resultado = produtoService.buscarProdutosPorCategoria(1L, pageable);
+        Page<ProdutoResumo> resultado = produtoService.buscarProdutosPorCategoria(1L, pageable);
 
         // Assert
         assertEquals(1, resultado.getContent().size());
-        assertEquals(produto.getNome(), resultado.getContent().get(0).getNome());
-        assertEquals(categoria.getId(), resultado.getContent().get(0).getCategoria().getId());
-        verify(produtoRepository).findByCategoriaId(1L, pageable);
+        assertEquals(produto.getNome(), resultado.getContent().get(0).nome());
+        assertEquals(categoria.getNome(), resultado.getContent().get(0).categoriaNome());
+        verify(produtoRepository).findResumosByCategoriaId(1L, pageable);
+    }
+
+    @Test
+    void testListarPorCursorPrimeiraPagina() {
+        // Arrange
+        Produto segundo = new Produto();
+        segundo.setId(2L);
+        when(produtoRepository.findProximosPorId(0L, Limit.of(2))).thenReturn(Arrays.asList(resumo(produto), resumo(segundo)));
+
+        // Act
+        PaginaCursor<ProdutoResumo> resultado = produtoService.listarPorCursor(null, 1);
+
+        // Assert
+        assertEquals(1, resultado.getConteudo().size());
+        assertTrue(resultado.isPossuiProxima());
+        assertEquals("1", Cursor.decodificar(resultado.getProximoCursor(), 1)[0]);
+    }
+
+    @Test
+    void testBuscarProdutosComQuantidadeBaixaPorCursorUltimaPagina() {
+        // Arrange
+        String cursor = Cursor.codificar(5, 3L);
+        when(produtoRepository.findProximosComQuantidadeBaixa(10, 5, 3L, Limit.of(11)))
+                .thenReturn(Arrays.asList(resumo(produto)));
+
+        // Act
+        PaginaCursor<ProdutoResumo> resultado = produtoService.buscarProdutosComQuantidadeBaixaPorCursor(10, cursor, 10);
+
+        // Assert
+        assertEquals(1, resultado.getConteudo().size());
+        assertFalse(resultado.isPossuiProxima());
+        assertNull(resultado.getProximoCursor());
+    }
+
+    @Test
+    void testBuscarProdutosPorCategoriaPorCursorInvalido() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> produtoService.buscarProdutosPorCategoriaPorCursor(1L, "nao-e-um-cursor", 10)
+        );
+
+        assertEquals("Cursor inválido", exception.getMessage());
+        verifyNoInteractions(produtoRepository);
     }
-}
 
+    private static ProdutoResumo resumo(Produto produto) {
+        return new ProdutoResumo(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                produto.getQuantidade(), produto.getCategoria() != null ? produto.getCategoria().getNome() : null);
+    }
+}
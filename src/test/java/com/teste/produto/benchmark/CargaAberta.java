@@ -0,0 +1,150 @@
+package com.teste.produto.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Carga em laço aberto: as requisições partem numa taxa fixa, sem esperar as respostas anteriores,
+ * sorteadas entre as operações conforme o peso de cada uma. A latência conta a partir do instante
+ * em que a requisição deveria ter partido, então um atraso do gerador ou do servidor aparece nos
+ * percentis em vez de só reduzir a taxa (omissão coordenada).
+ */
+final class CargaAberta {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient http;
+    private final List<Operacao> operacoes;
+    private final int pesoTotal;
+    private final double taxa;
+    private final int maximoPendentes;
+    private final Random sorteio = new Random(42);
+    private final AtomicInteger pendentes = new AtomicInteger();
+
+    CargaAberta(HttpClient http, List<Operacao> operacoes, double taxa, int maximoPendentes) {
+        this.http = http;
+        this.operacoes = operacoes;
+        this.pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+        this.taxa = taxa;
+        this.maximoPendentes = maximoPendentes;
+        if (pesoTotal <= 0 || taxa <= 0) {
+            throw new IllegalArgumentException("Informe ao menos uma operação com peso e uma taxa positiva");
+        }
+    }
+
+    /** Dispara requisições durante a duração e espera as pendentes; devolve as medidas de cada operação. */
+    Map<String, Medicao> executar(Duration duracao) throws InterruptedException {
+        Map<String, Medicao> medicoes = new LinkedHashMap<>();
+        operacoes.forEach(operacao -> medicoes.put(operacao.nome(), new Medicao()));
+
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / taxa);
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Operacao operacao = sortear();
+            Medicao medicao = medicoes.get(operacao.nome());
+            // Limita a memória se o servidor parar de responder; o descarte aparece no relatório
+            if (pendentes.get() >= maximoPendentes) {
+                medicao.descartadas.increment();
+                continue;
+            }
+            disparar(operacao.requisicao().get(), medicao, previsto);
+        }
+        long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (pendentes.get() > 0 && System.nanoTime() < prazo) {
+            Thread.sleep(10);
+        }
+        return medicoes;
+    }
+
+    private void disparar(HttpRequest requisicao, Medicao medicao, long previsto) {
+        pendentes.incrementAndGet();
+        http.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()).whenComplete((resposta, erro) -> {
+            long latenciaUs = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - previsto);
+            medicao.latencias.recordValue(Math.min(latenciaUs, LATENCIA_MAXIMA_US));
+            if (erro != null || resposta.statusCode() >= 400) {
+                medicao.erros.increment();
+            }
+            pendentes.decrementAndGet();
+        });
+    }
+
+    private Operacao sortear() {
+        int valor = sorteio.nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            valor -= operacao.peso();
+            if (valor < 0) {
+                return operacao;
+            }
+        }
+        return operacoes.get(operacoes.size() - 1);
+    }
+
+    record Operacao(String nome, int peso, Supplier<HttpRequest> requisicao) {
+    }
+
+    static final class Medicao {
+        final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        final LongAdder erros = new LongAdder();
+        final LongAdder descartadas = new LongAdder();
+    }
+
+    /** Percentis em milissegundos de uma operação, ou do total quando o nome é "total". */
+    record Resultado(String nome, long requisicoes, double vazao, double p50Ms, double p99Ms, double p999Ms,
+                     double maximoMs, long erros, long descartadas) {
+
+        static List<Resultado> de(Map<String, Medicao> medicoes, Duration duracao) {
+            List<Resultado> resultados = new ArrayList<>();
+            Histogram total = new Histogram(LATENCIA_MAXIMA_US, 3);
+            long erros = 0;
+            long descartadas = 0;
+            for (Map.Entry<String, Medicao> entrada : medicoes.entrySet()) {
+                Medicao medicao = entrada.getValue();
+                resultados.add(de(entrada.getKey(), medicao.latencias, medicao.erros.sum(), medicao.descartadas.sum(), duracao));
+                total.add(medicao.latencias);
+                erros += medicao.erros.sum();
+                descartadas += medicao.descartadas.sum();
+            }
+            resultados.add(de("total", total, erros, descartadas, duracao));
+            return resultados;
+        }
+
+        private static Resultado de(String nome, Histogram latencias, long erros, long descartadas, Duration duracao) {
+            long requisicoes = latencias.getTotalCount();
+            return new Resultado(nome, requisicoes, requisicoes / (duracao.toMillis() / 1000.0),
+                    percentilMs(latencias, 50), percentilMs(latencias, 99), percentilMs(latencias, 99.9),
+                    requisicoes == 0 ? 0 : latencias.getMaxValue() / 1000.0, erros, descartadas);
+        }
+
+        private static double percentilMs(Histogram latencias, double percentil) {
+            return latencias.getTotalCount() == 0 ? 0 : latencias.getValueAtPercentile(percentil) / 1000.0;
+        }
+
+        static void imprimir(List<Resultado> resultados) {
+            System.out.printf("%-20s %9s %8s %9s %9s %9s %9s %7s %11s%n",
+                    "", "req", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "máx ms", "erros", "descartadas");
+            resultados.forEach(resultado -> System.out.printf("%-20s %9d %8.1f %9.2f %9.2f %9.2f %9.2f %7d %11d%n",
+                    resultado.nome(), resultado.requisicoes(), resultado.vazao(), resultado.p50Ms(), resultado.p99Ms(),
+                    resultado.p999Ms(), resultado.maximoMs(), resultado.erros(), resultado.descartadas()));
+        }
+    }
+}
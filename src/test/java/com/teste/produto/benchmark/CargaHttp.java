@@ -0,0 +1,85 @@
+package com.teste.produto.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carga em laço fechado para os benchmarks: cada cliente envia a próxima requisição assim que
+ * recebe a resposta da anterior, até o fim da duração.
+ */
+final class CargaHttp {
+
+    private final HttpClient http;
+    private final HttpRequest requisicao;
+    private final int clientes;
+    private final Duration duracao;
+    private final ConcurrentLinkedQueue<Long> latencias = new ConcurrentLinkedQueue<>();
+    private final LongAdder erros = new LongAdder();
+    private final CountDownLatch concluidos;
+    private long fim;
+
+    CargaHttp(HttpClient http, URI uri, int clientes, Duration duracao) {
+        this.http = http;
+        this.requisicao = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build();
+        this.clientes = clientes;
+        this.duracao = duracao;
+        this.concluidos = new CountDownLatch(clientes);
+    }
+
+    void executar() throws InterruptedException {
+        fim = System.nanoTime() + duracao.toNanos();
+        for (int i = 0; i < clientes; i++) {
+            disparar();
+        }
+        concluidos.await();
+    }
+
+    private void disparar() {
+        long inicio = System.nanoTime();
+        http.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()).whenComplete((resposta, erro) -> {
+            if (erro != null || resposta.statusCode() != 200) {
+                erros.increment();
+            } else {
+                latencias.add(System.nanoTime() - inicio);
+            }
+            if (System.nanoTime() < fim) {
+                disparar();
+            } else {
+                concluidos.countDown();
+            }
+        });
+    }
+
+    Resultado resultado(String nome, int picoThreads) {
+        long[] ordenadas = latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Resultado(nome, ordenadas.length, ordenadas.length / (duracao.toMillis() / 1000.0),
+                percentilMs(ordenadas, 0.50), percentilMs(ordenadas, 0.99),
+                ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1e6, erros.sum(), picoThreads);
+    }
+
+    private static double percentilMs(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(percentil * ordenadas.length) - 1);
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    record Resultado(String nome, long requisicoes, double vazao, double p50Ms, double p99Ms,
+                     double maximoMs, long erros, int picoThreads) {
+
+        static void imprimir(List<Resultado> resultados) {
+            System.out.printf("%-24s %10s %10s %10s %10s %8s %8s%n", "", "req/s", "p50 ms", "p99 ms", "máx ms", "erros", "threads");
+            resultados.forEach(resultado -> System.out.printf("%-24s %10.0f %10.1f %10.1f %10.1f %8d %8d%n",
+                    resultado.nome(), resultado.vazao(), resultado.p50Ms(), resultado.p99Ms(), resultado.maximoMs(),
+                    resultado.erros(), resultado.picoThreads()));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.teste.produto.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.teste.produto.ProdutoManagerApplication;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.service.IndiceTrigramaProduto;
+import com.teste.produto.service.ValorEstoqueService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de carga com um mix de leituras e escritas em taxa fixa (laço aberto), com os percentis
+ * p50, p99 e p99.9 de cada operação medidos com HdrHistogram. Sobe a aplicação numa porta livre,
+ * semeia o catálogo, aquece e mede; o relatório sai no console e em JSON, para comparar antes e
+ * depois de uma mudança. Gerador e aplicação dividem a mesma JVM: compare execuções na mesma máquina.
+ *
+ * <p>Fora da suíte normal: {@code mvn -Pbenchmark test -Dtest=CargaMistaBenchmark}, com
+ * {@code -Dcarga.taxa} (req/s), {@code -Dcarga.duracao}, {@code -Dcarga.aquecimento},
+ * {@code -Dcarga.produtos}, {@code -Dcarga.mix} (operação:peso separados por vírgula, ex.
+ * {@code buscar:80,criar-produto:20}) e {@code -Dcarga.saida} (arquivo JSON).
+ */
+@Tag("benchmark")
+class CargaMistaBenchmark {
+
+    private static final String MIX_PADRAO = "buscar:40,pesquisar:15,estoque-baixo:10,valor-estoque:10,"
+            + "criar-produto:8,atualizar-produto:10,criar-categoria:2,atualizar-categoria:5";
+    private static final String[] PALAVRAS = {"Notebook", "Mouse", "Teclado", "Monitor", "Cabo", "Headset", "Webcam", "Impressora"};
+    private static final int CATEGORIAS = 10;
+
+    private final AtomicLong novos = new AtomicLong();
+    private final List<Produto> produtos = new ArrayList<>();
+    private final List<Categoria> categorias = new ArrayList<>();
+    private String base;
+
+    @Test
+    void executarCarga() throws Exception {
+        double taxa = Double.parseDouble(System.getProperty("carga.taxa", "200"));
+        Duration duracao = Duration.parse(System.getProperty("carga.duracao", "PT30S"));
+        Duration aquecimento = Duration.parse(System.getProperty("carga.aquecimento", "PT10S"));
+        int quantidadeProdutos = Integer.getInteger("carga.produtos", 1000);
+        String mix = System.getProperty("carga.mix", MIX_PADRAO);
+        Path saida = Path.of(System.getProperty("carga.saida", "target/carga/resultado.json"));
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ProdutoManagerApplication.class)
+                .run("--server.port=0",
+                        "--reativo.porta=-1",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-carga",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.teste.produto=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate=WARN");
+        ExecutorService executorCliente = Executors.newFixedThreadPool(4);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executorCliente)
+                .build();
+        try (contexto) {
+            semear(contexto, quantidadeProdutos);
+            base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            CargaAberta carga = new CargaAberta(http, operacoes(mix), taxa, 10_000);
+
+            carga.executar(aquecimento);
+            Map<String, CargaAberta.Medicao> medicoes = carga.executar(duracao);
+            List<CargaAberta.Resultado> resultados = CargaAberta.Resultado.de(medicoes, duracao);
+
+            System.out.printf("%n%.0f req/s em laço aberto por %s, %d produtos, mix %s%n", taxa, duracao, quantidadeProdutos, mix);
+            CargaAberta.Resultado.imprimir(resultados);
+            Files.createDirectories(saida.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(saida.toFile(), new Relatorio(taxa, duracao.toString(), quantidadeProdutos, mix, resultados));
+            System.out.println("Relatório gravado em " + saida.toAbsolutePath());
+
+            assertTrue(resultados.get(resultados.size() - 1).requisicoes() > 0);
+        } finally {
+            executorCliente.shutdownNow();
+        }
+    }
+
+    private List<CargaAberta.Operacao> operacoes(String mix) {
+        List<CargaAberta.Operacao> operacoes = new ArrayList<>();
+        for (String item : mix.split(",")) {
+            String[] partes = item.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Item do mix inválido (use operação:peso): " + item);
+            }
+            operacoes.add(new CargaAberta.Operacao(partes[0], Integer.parseInt(partes[1]), requisicao(partes[0])));
+        }
+        return operacoes;
+    }
+
+    private Supplier<HttpRequest> requisicao(String operacao) {
+        return switch (operacao) {
+            case "buscar" -> () -> get("/api/products/" + produto().getId());
+            case "pesquisar" -> () -> get("/api/products/search?limite=20&nome=" + PALAVRAS[aleatorio(PALAVRAS.length)].toLowerCase(Locale.ROOT));
+            case "estoque-baixo" -> () -> get("/api/products/low-stock?quantidade=5&size=20");
+            case "valor-estoque" -> () -> get("/api/products/stock-value");
+            case "criar-produto" -> () -> enviar("POST", "/api/products",
+                    produtoJson("Produto Carga Novo " + novos.incrementAndGet(), aleatorio(100)));
+            case "atualizar-produto" -> () -> {
+                Produto produto = produto();
+                return enviar("PUT", "/api/products/" + produto.getId(), produtoJson(produto.getNome(), aleatorio(100)));
+            };
+            case "criar-categoria" -> () -> enviar("POST", "/api/categorias",
+                    categoriaJson("Categoria Carga Nova " + novos.incrementAndGet()));
+            case "atualizar-categoria" -> () -> {
+                Categoria categoria = categorias.get(aleatorio(categorias.size()));
+                return enviar("PUT", "/api/categorias/" + categoria.getId(), categoriaJson(categoria.getNome()));
+            };
+            default -> throw new IllegalArgumentException("Operação desconhecida no mix: " + operacao);
+        };
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho)).timeout(Duration.ofSeconds(60)).build();
+    }
+
+    private HttpRequest enviar(String metodo, String caminho, String json) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String produtoJson(String nome, int quantidade) {
+        return String.format(Locale.ROOT, "{\"nome\":\"%s\",\"descricao\":\"Carga %d\",\"preco\":%d.90,\"quantidade\":%d}",
+                nome, quantidade, 10 + quantidade, quantidade);
+    }
+
+    private static String categoriaJson(String nome) {
+        return String.format(Locale.ROOT, "{\"nome\":\"%s\",\"descricao\":\"Carga %d\"}", nome, aleatorio(1000));
+    }
+
+    private Produto produto() {
+        return produtos.get(aleatorio(produtos.size()));
+    }
+
+    private static int aleatorio(int limite) {
+        return ThreadLocalRandom.current().nextInt(limite);
+    }
+
+    // Carga direta pelos repositórios; índices de busca e valor do estoque são reconstruídos no fim
+    private void semear(ConfigurableApplicationContext contexto, int quantidade) {
+        for (int i = 0; i < CATEGORIAS; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setNome("Categoria Carga " + i);
+            categorias.add(categoria);
+        }
+        categorias.replaceAll(contexto.getBean(CategoriaRepository.class)::save);
+
+        ProdutoRepository produtoRepository = contexto.getBean(ProdutoRepository.class);
+        List<Produto> lote = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Produto produto = new Produto(PALAVRAS[i % PALAVRAS.length] + " Carga " + i, "Produto semeado " + i,
+                    BigDecimal.valueOf(10 + i % 990, 0).add(new BigDecimal("0.90")), i % 100);
+            produto.setCategoria(categorias.get(i % CATEGORIAS));
+            lote.add(produto);
+            if (lote.size() == 500 || i == quantidade - 1) {
+                produtos.addAll(produtoRepository.saveAll(lote));
+                lote.clear();
+            }
+        }
+        contexto.getBean(IndiceTrigramaProduto.class).reconstruir();
+        contexto.getBean(ValorEstoqueService.class).reconciliar();
+    }
+
+    record Relatorio(double taxa, String duracao, int produtos, String mix, List<CargaAberta.Resultado> resultados) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.teste.produto.benchmark;
+
+import com.teste.produto.ProdutoManagerApplication;
+import com.teste.produto.config.ServidorReativo;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.ProdutoRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara as leituras do MVC (Tomcat + JPA) com as do servidor reativo (Netty + R2DBC) na mesma
+ * aplicação e no mesmo banco, com muitos clientes simultâneos. Clientes e servidores dividem a
+ * mesma JVM: os números servem para comparar as pilhas, não como capacidade absoluta.
+ *
+ * <p>Fora da suíte normal: {@code mvn -Pbenchmark test -Dtest=LeituraReativaBenchmark}, com
+ * {@code -Dbenchmark.clientes}, {@code -Dbenchmark.duracao} e {@code -Dbenchmark.produtos}.
+ */
+@Tag("benchmark")
+class LeituraReativaBenchmark {
+
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(3);
+
+    @Test
+    void compararMvcEReativo() throws Exception {
+        int clientes = Integer.getInteger("benchmark.clientes", 1000);
+        Duration duracao = Duration.parse(System.getProperty("benchmark.duracao", "PT20S"));
+        int produtos = Integer.getInteger("benchmark.produtos", 200);
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ProdutoManagerApplication.class)
+                .run("--server.port=0",
+                        "--reativo.porta=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-leitura",
+                        "--reativo.r2dbc.url=r2dbc:h2:mem:///benchmark-leitura",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.teste.produto=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate=WARN");
+        ExecutorService executorCliente = Executors.newFixedThreadPool(4);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executorCliente)
+                .build();
+        try (contexto) {
+            Long categoriaId = popular(contexto, produtos);
+            String mvc = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            String reativo = "http://localhost:" + contexto.getBean(ServidorReativo.class).getPorta();
+
+            List<CargaHttp.Resultado> resultados = new ArrayList<>();
+            resultados.add(medir(http, "mvc categoria", URI.create(mvc + "/api/products/category/" + categoriaId + "?size=50"), clientes, duracao));
+            resultados.add(medir(http, "reativo categoria", URI.create(reativo + "/api/products/category/" + categoriaId + "?limite=50"), clientes, duracao));
+            resultados.add(medir(http, "mvc estoque baixo", URI.create(mvc + "/api/products/low-stock?quantidade=5&size=50"), clientes, duracao));
+            resultados.add(medir(http, "reativo estoque baixo", URI.create(reativo + "/api/products/low-stock?quantidade=5&limite=50"), clientes, duracao));
+
+            System.out.printf("%n%d clientes, %s por cenário, %d produtos na categoria%n", clientes, duracao, produtos);
+            CargaHttp.Resultado.imprimir(resultados);
+            assertTrue(resultados.stream().allMatch(resultado -> resultado.requisicoes() > 0));
+        } finally {
+            executorCliente.shutdownNow();
+        }
+    }
+
+    private CargaHttp.Resultado medir(HttpClient http, String nome, URI uri, int clientes, Duration duracao) throws InterruptedException {
+        new CargaHttp(http, uri, clientes, AQUECIMENTO).executar();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        CargaHttp carga = new CargaHttp(http, uri, clientes, duracao);
+        carga.executar();
+        return carga.resultado(nome, threads.getPeakThreadCount());
+    }
+
+    private Long popular(ConfigurableApplicationContext contexto, int quantidade) {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Categoria Benchmark");
+        categoria = contexto.getBean(CategoriaRepository.class).save(categoria);
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Produto produto = new Produto("Produto Benchmark " + i, "Descrição " + i, new BigDecimal("9.90"), i % 10);
+            produto.setCategoria(categoria);
+            produtos.add(produto);
+        }
+        contexto.getBean(ProdutoRepository.class).saveAll(produtos);
+        return categoria.getId();
+    }
+}
@@ -0,0 +1,101 @@
+package com.teste.produto.benchmark;
+
+import com.teste.produto.ProdutoManagerApplication;
+import com.teste.produto.repository.ProdutoRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o Tomcat com threads de plataforma e com virtual threads (perfil virtual-threads) sob
+ * carga de I/O: cada requisição espera uma latência simulada, como uma chamada remota, e consulta o
+ * banco. Clientes e aplicação rodam na mesma JVM, então os números servem para comparar os modos,
+ * não como capacidade absoluta.
+ *
+ * <p>Fora da suíte normal: {@code mvn -Pbenchmark test}, com {@code -Dbenchmark.clientes},
+ * {@code -Dbenchmark.duracao} e {@code -Dbenchmark.latencia}. O modo virtual exige Java 21 e é
+ * pulado nas versões anteriores.
+ */
+@Tag("benchmark")
+class ModoThreadsBenchmark {
+
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(3);
+
+    @Test
+    void compararModos() throws Exception {
+        int clientes = Integer.getInteger("benchmark.clientes", 1000);
+        Duration duracao = Duration.parse(System.getProperty("benchmark.duracao", "PT20S"));
+        Duration latencia = Duration.parse(System.getProperty("benchmark.latencia", "PT0.05S"));
+
+        List<CargaHttp.Resultado> resultados = new ArrayList<>();
+        resultados.add(medir("plataforma", null, clientes, duracao, latencia));
+        if (Runtime.version().feature() >= 21) {
+            resultados.add(medir("virtual", "virtual-threads", clientes, duracao, latencia));
+        } else {
+            System.out.println("Modo virtual pulado: requer Java 21 (em execução: " + Runtime.version() + ")");
+        }
+
+        System.out.printf("%n%d clientes, %s por modo, latência simulada %s%n", clientes, duracao, latencia);
+        CargaHttp.Resultado.imprimir(resultados);
+        assertTrue(resultados.stream().allMatch(resultado -> resultado.requisicoes() > 0));
+    }
+
+    private CargaHttp.Resultado medir(String modo, String perfil, int clientes, Duration duracao, Duration latencia) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ProdutoManagerApplication.class)
+                .initializers(contexto -> ((GenericApplicationContext) contexto)
+                        .registerBean("rotaBenchmark", RouterFunction.class, () -> rota(contexto, latencia)));
+        if (perfil != null) {
+            builder.profiles(perfil);
+        }
+        ExecutorService executorCliente = Executors.newFixedThreadPool(4);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executorCliente)
+                .build();
+        // Como argumentos, para valer sobre o application.properties
+        try (ConfigurableApplicationContext contexto = builder.run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + modo,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.teste.produto=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate=WARN")) {
+            URI uri = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/benchmark/io");
+            new CargaHttp(http, uri, clientes, AQUECIMENTO).executar();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            CargaHttp carga = new CargaHttp(http, uri, clientes, duracao);
+            carga.executar();
+            return carga.resultado(modo, threads.getPeakThreadCount());
+        } finally {
+            executorCliente.shutdownNow();
+        }
+    }
+
+    // Simula uma chamada remota lenta seguida de uma consulta ao banco
+    private static RouterFunction<ServerResponse> rota(ConfigurableApplicationContext contexto, Duration latencia) {
+        return RouterFunctions.route()
+                .GET("/benchmark/io", requisicao -> {
+                    Thread.sleep(latencia.toMillis());
+                    return ServerResponse.ok().body(contexto.getBean(ProdutoRepository.class).count());
+                })
+                .build();
+    }
+}
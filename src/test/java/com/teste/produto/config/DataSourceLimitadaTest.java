@@ -0,0 +1,72 @@
+package com.teste.produto.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataSourceLimitadaTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection conexao;
+
+    @Test
+    void testAlemDoLimiteEsperaEDesiste() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(conexao);
+        DataSourceLimitada limitada = new DataSourceLimitada(dataSource, 2, Duration.ofMillis(50));
+
+        // Act
+        limitada.getConnection();
+        limitada.getConnection();
+
+        // Assert
+        assertEquals(2, limitada.getEmUso());
+        assertThrows(SQLTransientConnectionException.class, limitada::getConnection);
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void testFecharDevolveAPermissaoUmaVez() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(conexao);
+        DataSourceLimitada limitada = new DataSourceLimitada(dataSource, 1, Duration.ofMillis(50));
+
+        // Act
+        Connection primeira = limitada.getConnection();
+        primeira.close();
+        primeira.close();
+        Connection segunda = limitada.getConnection();
+
+        // Assert
+        assertEquals(1, limitada.getEmUso());
+        assertThrows(SQLTransientConnectionException.class, limitada::getConnection);
+        segunda.close();
+        assertEquals(0, limitada.getEmUso());
+        verify(conexao, times(2)).close();
+    }
+
+    @Test
+    void testFalhaAoObterConexaoDevolveAPermissao() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("banco indisponível"));
+        DataSourceLimitada limitada = new DataSourceLimitada(dataSource, 1, Duration.ofMillis(50));
+
+        // Act & Assert
+        assertThrows(SQLException.class, limitada::getConnection);
+        assertEquals(0, limitada.getEmUso());
+    }
+}
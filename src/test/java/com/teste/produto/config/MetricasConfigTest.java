@@ -0,0 +1,62 @@
+package com.teste.produto.config;
+
+import com.teste.produto.service.CategoriaService;
+import com.teste.produto.service.ProdutoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricasConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Test
+    void testMetodosDosServicosERepositoriosSaoMedidos() {
+        produtoService.buscarPorId(1L);
+        categoriaService.listarTodas();
+
+        Timer servico = registry.find("catalogo.servico")
+                .tags("class", ProdutoService.class.getName(), "method", "buscarPorId").timer();
+        assertNotNull(servico);
+        assertTrue(servico.count() > 0);
+        assertNotNull(registry.find("catalogo.servico").tags("method", "listarTodas").timer());
+        assertNotNull(registry.find("spring.data.repository.invocations")
+                .tags("repository", "CategoriaRepository", "method", "findAll").timer());
+    }
+
+    @Test
+    void testEndpointPrometheusExpoeHibernateEPoolDeConexoes() throws Exception {
+        categoriaService.listarTodas();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("catalogo_servico_seconds_bucket")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+}
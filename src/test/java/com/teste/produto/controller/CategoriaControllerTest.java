@@ -1,13 +1,16 @@
 package com.teste.produto.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.produto.event.CategoriaAlteradaEvent;
 import com.teste.produto.model.Categoria;
 import com.teste.produto.service.CategoriaService;
+import com.teste.produto.service.VersaoCatalogo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -21,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CategoriaController.class)
+@Import(VersaoCatalogo.class)
 class CategoriaControllerTest {
 
     @Autowired
@@ -32,6 +36,9 @@ class CategoriaControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
     private Categoria categoria;
 
     @BeforeEach
@@ -60,6 +67,30 @@ class CategoriaControllerTest {
         verify(categoriaService).listarTodas();
     }
 
+    @Test
+    void testListarTodasNaoModificada() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/categorias").header("If-None-Match", versaoCatalogo.etagCategorias()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", versaoCatalogo.etagCategorias()));
+
+        verifyNoInteractions(categoriaService);
+    }
+
+    @Test
+    void testListarTodasAposAlteracao() throws Exception {
+        // Arrange
+        String etagAnterior = versaoCatalogo.etagCategorias();
+        versaoCatalogo.aoAlterarCategoria(CategoriaAlteradaEvent.atualizada(1L, "Eletrônicos"));
+        when(categoriaService.listarTodas()).thenReturn(List.of(categoria));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/categorias").header("If-None-Match", etagAnterior))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", versaoCatalogo.etagCategorias()))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
     @Test
     void testCriar() throws Exception {
         // Arrange
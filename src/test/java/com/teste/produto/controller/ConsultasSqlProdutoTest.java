@@ -0,0 +1,118 @@
+package com.teste.produto.controller;
+
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.service.CategoriaService;
+import com.teste.produto.service.ProdutoService;
+import com.teste.produto.util.ContadorSql;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Quantos comandos SQL cada listagem executa. Os produtos ficam espalhados por várias categorias:
+ * se a categoria voltar a ser carregada um a um (N+1), as contagens sobem e o teste falha.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConsultasSqlProdutoTest {
+
+    private static final int CATEGORIAS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    private final List<Produto> produtos = new ArrayList<>();
+    private Categoria primeiraCategoria;
+
+    @BeforeEach
+    void semear() {
+        String sufixo = Long.toString(System.nanoTime(), 36);
+        for (int i = 0; i < CATEGORIAS; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setNome("Categoria Consultas " + sufixo + " " + i);
+            categoria = categoriaService.salvar(categoria);
+            if (primeiraCategoria == null) {
+                primeiraCategoria = categoria;
+            }
+            for (int j = 0; j < 2; j++) {
+                Produto produto = new Produto("Consultas " + sufixo + " " + i + "-" + j, null, new BigDecimal("1.00"), 0);
+                produto.setCategoria(categoria);
+                produtos.add(produtoService.salvar(produto));
+            }
+        }
+        ContadorSql.zerar();
+    }
+
+    @Test
+    void testListarTodos() throws Exception {
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[-1].categoriaNome").exists());
+        ContadorSql.assertComandos(1);
+    }
+
+    @Test
+    void testBuscarPorId() throws Exception {
+        mockMvc.perform(get("/api/products/" + produtos.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoria.nome").value(primeiraCategoria.getNome()));
+        ContadorSql.assertComandos(1);
+    }
+
+    @Test
+    void testBuscarPorNome() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("nome", "Consultas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoriaNome").exists());
+        ContadorSql.assertComandos(1);
+    }
+
+    @Test
+    void testEstoqueBaixo() throws Exception {
+        mockMvc.perform(get("/api/products/low-stock").param("quantidade", "0").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].categoriaNome").exists());
+        ContadorSql.assertComandos(1);
+    }
+
+    @Test
+    void testPorCategoria() throws Exception {
+        mockMvc.perform(get("/api/products/category/" + primeiraCategoria.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].categoriaNome").value(primeiraCategoria.getNome()));
+        ContadorSql.assertComandos(1);
+    }
+
+    @Test
+    void testScroll() throws Exception {
+        mockMvc.perform(get("/api/products/scroll").param("size", "100"))
+                .andExpect(status().isOk());
+        ContadorSql.assertComandos(1);
+    }
+
+    @Test
+    void testAlteracoes() throws Exception {
+        mockMvc.perform(get("/api/products/changes").param("since", "0"))
+                .andExpect(status().isOk());
+        // Produtos, categorias e lápides alterados: uma consulta cada
+        ContadorSql.assertComandos(3);
+    }
+}
@@ -0,0 +1,109 @@
+package com.teste.produto.controller;
+
+import com.teste.produto.model.Produto;
+import com.teste.produto.model.Reserva;
+import com.teste.produto.service.ProdutoService;
+import com.teste.produto.service.ReservaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Atualizações e remoções de produtos com reservas em aberto: a quantidade não fica abaixo do
+ * reservado e o produto não é removido enquanto houver reservas ativas ou confirmadas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProdutoComReservasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Test
+    void testAtualizarAbaixoDoReservadoERecusado() throws Exception {
+        Produto produto = criarProduto("Produto Reservado Atualizado", 10);
+        reservaService.reservar(produto.getId(), 4, null);
+
+        mockMvc.perform(put("/api/products/" + produto.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo(produto, 3)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensagem").value(
+                        "A quantidade do produto ID " + produto.getId() + " não pode ficar abaixo do reservado: 4"));
+        mockMvc.perform(put("/api/products/" + produto.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo(produto, 4)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidade").value(4));
+    }
+
+    @Test
+    void testLoteAbaixoDoReservadoRecusaOItem() throws Exception {
+        Produto produto = criarProduto("Produto Reservado em Lote", 10);
+        reservaService.reservar(produto.getId(), 4, null);
+
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + corpo(produto, 3) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("ERRO"))
+                .andExpect(jsonPath("$[0].mensagem").value(
+                        "A quantidade do produto ID " + produto.getId() + " não pode ficar abaixo do reservado: 4"));
+
+        assertEquals(10, produtoService.buscarPorId(produto.getId()).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void testDeletarComReservaAtivaERecusado() throws Exception {
+        Produto produto = criarProduto("Produto Reservado Removido", 5);
+        Reserva reserva = reservaService.reservar(produto.getId(), 1, null);
+
+        mockMvc.perform(delete("/api/products/" + produto.getId()))
+                .andExpect(status().isConflict());
+
+        reservaService.liberar(reserva.getId());
+        mockMvc.perform(delete("/api/products/" + produto.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testDeletarComReservaConfirmadaNaoBaixadaERecusado() throws Exception {
+        Produto produto = criarProduto("Produto Confirmado Removido", 5);
+        Reserva reserva = reservaService.reservar(produto.getId(), 2, null);
+        reservaService.confirmar(reserva.getId());
+
+        mockMvc.perform(delete("/api/products/" + produto.getId()))
+                .andExpect(status().isConflict());
+
+        reservaService.aplicarConfirmadas();
+        mockMvc.perform(delete("/api/products/" + produto.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    private Produto criarProduto(String nome, int quantidade) {
+        return produtoService.salvar(new Produto(nome, null, new BigDecimal("5.00"), quantidade));
+    }
+
+    private String corpo(Produto produto, int quantidade) {
+        return "{\"id\":" + produto.getId() + ",\"nome\":\"" + produto.getNome()
+                + "\",\"preco\":5.00,\"quantidade\":" + quantidade + "}";
+    }
+}
@@ -1,22 +1,50 @@
 package com.teste.produto.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.produto.dto.AlteracoesCatalogo;
+import com.teste.produto.dto.PaginaCursor;
+import com.teste.produto.dto.ProdutoResumo;
+import com.teste.produto.dto.ResultadoItemLote;
+import com.teste.produto.dto.SugestaoProduto;
+import com.teste.produto.dto.ValorEstoquePorCategoria;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.exception.VersaoConflitanteException;
 import com.teste.produto.model.Categoria;
+import com.teste.produto.model.MovimentacaoEstoque;
 import com.teste.produto.model.Produto;
+import com.teste.produto.service.AcumuladorEstoque;
+import com.teste.produto.service.CanalEventosCatalogo;
+import com.teste.produto.service.EstoqueService;
+import com.teste.produto.service.ExportacaoProdutoService;
+import com.teste.produto.service.LivroEstoqueService;
+import com.teste.produto.service.ProdutoLoteService;
 import com.teste.produto.service.ProdutoService;
+import com.teste.produto.service.SincronizacaoCatalogoService;
+import com.teste.produto.service.ValorEstoqueService;
+import com.teste.produto.service.VersaoCatalogo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +55,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProdutoController.class)
+@Import(VersaoCatalogo.class)
 class ProdutoControllerTest {
 
     @Autowired
@@ -35,10 +64,38 @@ class ProdutoControllerTest {
     @MockBean
     private ProdutoService produtoService;
 
+    @MockBean
+    private ExportacaoProdutoService exportacaoProdutoService;
+
+    @MockBean
+    private ProdutoLoteService produtoLoteService;
+
+    @MockBean
+    private ValorEstoqueService valorEstoqueService;
+
+    @MockBean
+    private EstoqueService estoqueService;
+
+    @MockBean
+    private AcumuladorEstoque acumuladorEstoque;
+
+    @MockBean
+    private LivroEstoqueService livroEstoqueService;
+
+    @MockBean
+    private CanalEventosCatalogo canalEventosCatalogo;
+
+    @MockBean
+    private SincronizacaoCatalogoService sincronizacaoCatalogoService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
     private Produto produto;
+    private ProdutoResumo resumo;
     private Categoria categoria;
 
     @BeforeEach
@@ -54,13 +111,16 @@ class ProdutoControllerTest {
         produto.setPreco(new BigDecimal("99.99"));
         produto.setQuantidade(10);
         produto.setCategoria(categoria);
+        produto.setVersao(3L);
+
+        resumo = new ProdutoResumo(1L, "Produto Teste", "Descrição do produto teste", new BigDecimal("99.99"), 10,
+                categoria.getNome());
     }
 
     @Test
     void testListarTodos() throws Exception {
         // Arrange
-        List<Produto> produtos = Arrays.asList(produto);
-        when(produtoService.listarTodos()).thenReturn(produtos);
+        when(produtoService.listarTodos()).thenReturn(List.of(resumo));
 
         // Act & Assert
         mockMvc.perform(get("/api/products"))
@@ -70,38 +130,120 @@ class ProdutoControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].nome").value("Produto Teste"))
                 .andExpect(jsonPath("$[0].preco").value(99.99))
-                .andExpect(jsonPath("$[0].quantidade").value(10));
+                .andExpect(jsonPath("$[0].quantidade").value(10))
+                .andExpect(jsonPath("$[0].categoriaNome").value(categoria.getNome()))
+                .andExpect(jsonPath("$[0].descricao").value("Descrição do produto teste"));
 
         verify(produtoService).listarTodos();
     }
 
+    @Test
+    void testListarTodosNaoModificado() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products").header("If-None-Match", versaoCatalogo.etagProdutos()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(produtoService);
+    }
+
+    @Test
+    void testListarTodosAposAlteracaoDeProduto() throws Exception {
+        // Arrange
+        String etagAnterior = versaoCatalogo.etagProdutos();
+        versaoCatalogo.aoAlterarProduto(ProdutoAlteradoEvent.atualizado(1L, "Produto Teste"));
+        when(produtoService.listarTodos()).thenReturn(List.of(resumo));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products").header("If-None-Match", etagAnterior))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", versaoCatalogo.etagProdutos()))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
     @Test
     void testBuscarPorIdExistente() throws Exception {
         // Arrange
-        when(produtoService.buscarPorId(1L)).thenReturn(Optional.of(produto));
+        when(produtoService.buscarComPendentes(1L)).thenReturn(Optional.of(new AcumuladorEstoque.Leitura(produto, false)));
 
         // Act & Assert
         mockMvc.perform(get("/api/products/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.versao").value(3))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.nome").value("Produto Teste"))
                 .andExpect(jsonPath("$.preco").value(99.99))
                 .andExpect(jsonPath("$.quantidade").value(10));
 
-        verify(produtoService).buscarPorId(1L);
+        verify(produtoService).buscarComPendentes(1L);
+    }
+
+    @Test
+    void testBuscarPorIdNaoModificado() throws Exception {
+        // Arrange
+        when(produtoService.buscarComPendentes(1L)).thenReturn(Optional.of(new AcumuladorEstoque.Leitura(produto, false)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testBuscarPorIdComEstoquePendenteNaoTemEtag() throws Exception {
+        // Arrange
+        when(produtoService.buscarComPendentes(1L)).thenReturn(Optional.of(new AcumuladorEstoque.Leitura(produto, true)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.quantidade").value(10));
+    }
+
+    @Test
+    void testBuscarPorIdEtagMudaComACategoria() throws Exception {
+        // Arrange: a categoria foi renomeada desde a ETag que o cliente guardou
+        categoria.setVersao(1L);
+        when(produtoService.buscarComPendentes(1L)).thenReturn(Optional.of(new AcumuladorEstoque.Leitura(produto, false)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"3.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.1\""))
+                .andExpect(jsonPath("$.categoria.nome").value(categoria.getNome()));
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"3.1\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testAtualizarComIfMatchDaEtagComCategoria() throws Exception {
+        // Arrange
+        produto.setVersao(4L);
+        when(produtoService.atualizar(eq(1L), any(Produto.class), eq(3L))).thenReturn(produto);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/1")
+                .header("If-Match", "\"3.7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(produto)))
+                .andExpect(status().isOk());
+
+        verify(produtoService).atualizar(eq(1L), any(Produto.class), eq(3L));
     }
 
     @Test
     void testBuscarPorIdInexistente() throws Exception {
         // Arrange
-        when(produtoService.buscarPorId(999L)).thenReturn(Optional.empty());
+        when(produtoService.buscarComPendentes(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         mockMvc.perform(get("/api/products/999"))
                 .andExpect(status().isNotFound());
 
-        verify(produtoService).buscarPorId(999L);
+        verify(produtoService).buscarComPendentes(999L);
     }
 
     @Test
@@ -179,6 +321,22 @@ class ProdutoControllerTest {
         verify(produtoService).salvar(any(Produto.class));
     }
 
+    @Test
+    void testCriarComNomeDuplicado() throws Exception {
+        // Arrange
+        Produto novoProduto = new Produto("Produto Teste", null, new BigDecimal("99.99"), 10);
+        when(produtoService.salvar(any(Produto.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_PRODUTOS_NOME_NORMALIZADO_INDEX_F\"")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoProduto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensagem").value("Já existe um produto com este nome"));
+    }
+
     @Test
     void testAtualizar() throws Exception {
         // Arrange
@@ -196,8 +354,9 @@ class ProdutoControllerTest {
         produtoRetorno.setPreco(new BigDecimal("199.99"));
         produtoRetorno.setQuantidade(15);
         produtoRetorno.setCategoria(categoria);
+        produtoRetorno.setVersao(4L);
 
-        when(produtoService.atualizar(eq(1L), any(Produto.class))).thenReturn(produtoRetorno);
+        when(produtoService.atualizar(eq(1L), any(Produto.class), isNull())).thenReturn(produtoRetorno);
 
         // Act & Assert
         mockMvc.perform(put("/api/products/1")
@@ -208,9 +367,37 @@ class ProdutoControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.nome").value("Produto Atualizado"))
                 .andExpect(jsonPath("$.preco").value(199.99))
-                .andExpect(jsonPath("$.quantidade").value(15));
+                .andExpect(jsonPath("$.quantidade").value(15))
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(produtoService).atualizar(eq(1L), any(Produto.class), isNull());
+    }
+
+    @Test
+    void testAtualizarComIfMatchDesatualizado() throws Exception {
+        // Arrange
+        when(produtoService.atualizar(eq(1L), any(Produto.class), eq(2L)))
+                .thenThrow(new VersaoConflitanteException());
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(produto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.mensagem").exists());
+    }
+
+    @Test
+    void testAtualizarComIfMatchFraco() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/products/1")
+                .header("If-Match", "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(produto)))
+                .andExpect(status().isPreconditionFailed());
 
-        verify(produtoService).atualizar(eq(1L), any(Produto.class));
+        verify(produtoService, never()).atualizar(any(), any(), any());
     }
 
     @Test
@@ -228,7 +415,7 @@ class ProdutoControllerTest {
                 .andExpect(jsonPath("$.mensagem").exists());
 
         // Não verifica o service porque a validação falha antes
-        verify(produtoService, never()).atualizar(eq(999L), any(Produto.class));
+        verify(produtoService, never()).atualizar(eq(999L), any(Produto.class), isNull());
     }
 
     @Test
@@ -241,7 +428,7 @@ class ProdutoControllerTest {
         produtoAtualizado.setQuantidade(10);
         produtoAtualizado.setCategoria(categoria);
 
-        when(produtoService.atualizar(eq(999L), any(Produto.class)))
+        when(produtoService.atualizar(eq(999L), any(Produto.class), isNull()))
                 .thenThrow(new IllegalArgumentException("Produto não encontrado"));
 
         // Act & Assert
@@ -251,7 +438,128 @@ class ProdutoControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Produto não encontrado"));
 
-        verify(produtoService).atualizar(eq(999L), any(Produto.class));
+        verify(produtoService).atualizar(eq(999L), any(Produto.class), isNull());
+    }
+
+    @Test
+    void testAjustarEstoque() throws Exception {
+        // Arrange
+        produto.setQuantidade(7);
+        produto.setVersao(4L);
+        when(estoqueService.ajustar(1L, -3)).thenReturn(produto);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\": -3}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.quantidade").value(7));
+    }
+
+    @Test
+    void testAjustarEstoqueEmWriteBehind() throws Exception {
+        // Arrange
+        produto.setQuantidade(12);
+        when(acumuladorEstoque.isHabilitado()).thenReturn(true);
+        when(acumuladorEstoque.acumular(1L, 2)).thenReturn(produto);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\": 2}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.quantidade").value(12));
+
+        verifyNoInteractions(estoqueService);
+    }
+
+    @Test
+    void testAssinarEventosRepassaUltimoEventoId() throws Exception {
+        // Arrange
+        when(canalEventosCatalogo.assinar("abc-7")).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "abc-7"))
+                .andExpect(request().asyncStarted());
+
+        verify(canalEventosCatalogo).assinar("abc-7");
+    }
+
+    @Test
+    void testListarMovimentacoesNoIntervalo() throws Exception {
+        // Arrange
+        Instant de = Instant.parse("2026-01-01T00:00:00Z");
+        Instant ate = Instant.parse("2026-02-01T00:00:00Z");
+        MovimentacaoEstoque movimentacao = new MovimentacaoEstoque(1L, -2, 8, MovimentacaoEstoque.Motivo.AJUSTE,
+                Instant.parse("2026-01-15T10:00:00Z"));
+        when(livroEstoqueService.listar(eq(1L), eq(de), eq(ate), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(movimentacao), PageRequest.of(0, 50), 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1/movements")
+                .param("de", "2026-01-01T00:00:00Z")
+                .param("ate", "2026-02-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].delta").value(-2))
+                .andExpect(jsonPath("$.content[0].quantidadeResultante").value(8))
+                .andExpect(jsonPath("$.content[0].motivo").value("AJUSTE"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testListarAlteracoesDesdeVersao() throws Exception {
+        // Arrange
+        when(sincronizacaoCatalogoService.alteracoesDesde(10L, 2)).thenReturn(new AlteracoesCatalogo(
+                12L, true, List.of(produto), List.of(), List.of(7L), List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/changes")
+                .param("since", "10")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(12))
+                .andExpect(jsonPath("$.maisAlteracoes").value(true))
+                .andExpect(jsonPath("$.ressincronizar").value(false))
+                .andExpect(jsonPath("$.produtos[0].nome").value("Produto Teste"))
+                .andExpect(jsonPath("$.produtosRemovidos[0]").value(7));
+    }
+
+    @Test
+    void testAjustarEstoqueInsuficiente() throws Exception {
+        // Arrange
+        when(estoqueService.ajustar(1L, -50)).thenThrow(new EstoqueInsuficienteException(1L));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\": -50}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensagem").value("Estoque insuficiente para o produto ID: 1"));
+    }
+
+    @Test
+    void testAjustarEstoqueSemDelta() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(estoqueService);
+    }
+
+    @Test
+    void testAjustarEstoqueComDeltaForaDoLimite() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\": 2147483647}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(estoqueService);
     }
 
     @Test
@@ -283,25 +591,39 @@ class ProdutoControllerTest {
     @Test
     void testBuscarPorNome() throws Exception {
         // Arrange
-        List<Produto> produtos = Arrays.asList(produto);
-        when(produtoService.buscarPorNome("Teste")).thenReturn(produtos);
+        when(produtoService.buscarPorNome("Teste", 5)).thenReturn(List.of(resumo));
 
         // Act & Assert
         mockMvc.perform(get("/api/products/search")
-                .param("nome", "Teste"))
+                .param("nome", "Teste")
+                .param("limite", "5"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].nome").value("Produto Teste"));
 
-        verify(produtoService).buscarPorNome("Teste");
+        verify(produtoService).buscarPorNome("Teste", 5);
+    }
+
+    @Test
+    void testSugerir() throws Exception {
+        // Arrange
+        when(produtoService.sugerir("peri", 10)).thenReturn(List.of(new SugestaoProduto(2L, "Periférico USB")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/suggest")
+                .param("prefix", "peri"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Periférico USB"));
+
+        verify(produtoService).sugerir("peri", 10);
     }
 
     @Test
     void testBuscarProdutosComQuantidadeBaixa() throws Exception {
         // Arrange
-        List<Produto> produtos = Arrays.asList(produto);
-        Page<Produto> page = new PageImpl<>(produtos, PageRequest.of(0, 10), 1);
+        Page<ProdutoResumo> page = new PageImpl<>(List.of(resumo), PageRequest.of(0, 10), 1);
         when(produtoService.buscarProdutosComQuantidadeBaixa(eq(10), any(Pageable.class)))
                 .thenReturn(page);
 
@@ -334,11 +656,27 @@ class ProdutoControllerTest {
         verify(produtoService).calcularValorTotalEstoque();
     }
 
+    @Test
+    void testListarValorEstoquePorCategoria() throws Exception {
+        // Arrange
+        when(valorEstoqueService.listarPorCategoria()).thenReturn(List.of(
+                new ValorEstoquePorCategoria(0L, null, new BigDecimal("10.00")),
+                new ValorEstoquePorCategoria(2L, "Periféricos", new BigDecimal("1490.00"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/stock-value/by-category"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].categoria").value("Periféricos"))
+                .andExpect(jsonPath("$[1].valor").value(1490.00));
+
+        verify(valorEstoqueService).listarPorCategoria();
+    }
+
     @Test
     void testBuscarProdutosPorCategoria() throws Exception {
         // Arrange
-        List<Produto> produtos = Arrays.asList(produto);
-        Page<Produto> page = new PageImpl<>(produtos, PageRequest.of(0, 10), 1);
+        Page<ProdutoResumo> page = new PageImpl<>(List.of(resumo), PageRequest.of(0, 10), 1);
         when(produtoService.buscarProdutosPorCategoria(eq(1L), any(Pageable.class)))
                 .thenReturn(page);
 
@@ -354,4 +692,79 @@ class ProdutoControllerTest {
 
         verify(produtoService).buscarProdutosPorCategoria(eq(1L), any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testListarPorCursor() throws Exception {
+        // Arrange
+        PaginaCursor<ProdutoResumo> pagina = new PaginaCursor<>(Arrays.asList(resumo), "MQ");
+        when(produtoService.listarPorCursor(null, 1)).thenReturn(pagina);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/scroll")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Produto Teste"))
+                .andExpect(jsonPath("$.conteudo[0].categoriaNome").value(categoria.getNome()))
+                .andExpect(jsonPath("$.proximoCursor").value("MQ"))
+                .andExpect(jsonPath("$.possuiProxima").value(true));
+
+        verify(produtoService).listarPorCursor(null, 1);
+    }
+
+    @Test
+    void testBuscarProdutosPorCategoriaPorCursorInvalido() throws Exception {
+        // Arrange
+        when(produtoService.buscarProdutosPorCategoriaPorCursor(1L, "invalido", 10))
+                .thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/category/1/scroll")
+                .param("cursor", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Cursor inválido"));
+    }
+
+    @Test
+    void testExportar() throws Exception {
+        // Arrange
+        when(exportacaoProdutoService.exportarCatalogo(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(0);
+            saida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        // Act & Assert
+        MvcResult resultado = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(exportacaoProdutoService).exportarCatalogo(any(OutputStream.class));
+    }
+
+    @Test
+    void testProcessarLote() throws Exception {
+        // Arrange
+        List<ResultadoItemLote> resultados = Arrays.asList(
+                new ResultadoItemLote(0, ResultadoItemLote.Status.CRIADO, 10L, null),
+                ResultadoItemLote.erro(1, "Já existe um produto com este nome"));
+        when(produtoLoteService.processar(any(InputStream.class))).thenReturn(resultados);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"nome\":\"A\"},{\"nome\":\"B\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CRIADO"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].status").value("ERRO"))
+                .andExpect(jsonPath("$[1].mensagem").value("Já existe um produto com este nome"));
+
+        verify(produtoLoteService).processar(any(InputStream.class));
+    }
+}
@@ -0,0 +1,109 @@
+package com.teste.produto.controller;
+
+import com.teste.produto.model.Produto;
+import com.teste.produto.service.ProdutoReativoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoReativoHandlerTest {
+
+    @Mock
+    private ProdutoReativoService produtoReativoService;
+
+    private WebTestClient client;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToRouterFunction(new ProdutoReativoHandler(produtoReativoService).rotas()).build();
+        produto = new Produto("Produto Teste", "Descrição", new BigDecimal("10.00"), 3);
+        produto.setId(1L);
+    }
+
+    @Test
+    void testBuscarPorId() {
+        // Arrange
+        when(produtoReativoService.buscarPorId(1L)).thenReturn(Mono.just(produto));
+
+        // Act & Assert
+        client.get().uri("/api/products/1").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.nome").isEqualTo("Produto Teste");
+    }
+
+    @Test
+    void testBuscarPorIdInexistente() {
+        // Arrange
+        when(produtoReativoService.buscarPorId(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        client.get().uri("/api/products/99").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void testBuscarComQuantidadeBaixaEmNdjson() {
+        // Arrange
+        Produto outro = new Produto("Outro", null, new BigDecimal("1.00"), 1);
+        outro.setId(2L);
+        when(produtoReativoService.buscarComQuantidadeBaixa(5, 100)).thenReturn(Flux.just(outro, produto));
+
+        // Act
+        List<Produto> resultado = client.get().uri("/api/products/low-stock?quantidade=5")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(Produto.class).getResponseBody()
+                .collectList().block();
+
+        // Assert
+        assertEquals(List.of(2L, 1L), resultado.stream().map(Produto::getId).toList());
+    }
+
+    @Test
+    void testBuscarPorCategoriaEmJson() {
+        // Arrange
+        when(produtoReativoService.buscarPorCategoria(3L, 20)).thenReturn(Flux.just(produto));
+
+        // Act & Assert
+        client.get().uri("/api/products/category/3?limite=20").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].id").isEqualTo(1);
+    }
+
+    @Test
+    void testParametroInvalido() {
+        // Act & Assert
+        client.get().uri("/api/products/low-stock?quantidade=muitos").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.mensagem").exists();
+        client.get().uri("/api/products/search").exchange().expectStatus().isBadRequest();
+        verifyNoInteractions(produtoReativoService);
+    }
+
+    @Test
+    void testCalcularValorTotalEstoque() {
+        // Arrange
+        when(produtoReativoService.calcularValorTotalEstoque()).thenReturn(Mono.just(new BigDecimal("123.45")));
+
+        // Act & Assert
+        client.get().uri("/api/products/stock-value").exchange()
+                .expectStatus().isOk()
+                .expectBody(BigDecimal.class).isEqualTo(new BigDecimal("123.45"));
+    }
+}
@@ -0,0 +1,206 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.EstatisticasAcumuladorEstoque;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AcumuladorEstoqueTest {
+
+    @Mock
+    private EstoqueService estoqueService;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private ProdutoCache produtoCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final EstoqueReservado estoqueReservado = new EstoqueReservado();
+    private AcumuladorEstoque acumuladorEstoque;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        acumuladorEstoque = new AcumuladorEstoque(estoqueService, produtoRepository, produtoCache,
+                estoqueReservado, transactionManager, true, 1000, true);
+        produto = new Produto("Produto Disputado", null, new BigDecimal("10.00"), 10);
+        produto.setId(1L);
+        lenient().when(produtoCache.buscar(eq(1L), any())).thenReturn(Optional.of(produto));
+    }
+
+    @Test
+    void testDescargaGravaUmUpdatePorProduto() {
+        // Act
+        acumuladorEstoque.acumular(1L, -2);
+        acumuladorEstoque.acumular(1L, -3);
+        Produto visivel = acumuladorEstoque.acumular(1L, 1);
+        acumuladorEstoque.descarregarPendentes();
+
+        // Assert
+        assertEquals(6, visivel.getQuantidade());
+        assertEquals(10, produto.getQuantidade());
+        verify(estoqueService).ajustar(1L, -4);
+        EstatisticasAcumuladorEstoque estatisticas = acumuladorEstoque.estatisticas();
+        assertEquals(1, estatisticas.getAtualizacoesGravadas());
+        assertEquals(3.0, estatisticas.getRazaoCoalescencia());
+        assertEquals(0, estatisticas.getProdutosPendentes());
+    }
+
+    @Test
+    void testRecusaDeltaQueDeixariaEstoqueNegativo() {
+        // Arrange
+        acumuladorEstoque.acumular(1L, -8);
+
+        // Act & Assert
+        assertThrows(EstoqueInsuficienteException.class, () -> acumuladorEstoque.acumular(1L, -3));
+        assertEquals(2, acumuladorEstoque.comPendentes(1L, () -> Optional.of(produto)).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void testRecusaDeltaQuePassariaDaQuantidadeMaxima() {
+        // Arrange
+        produto.setQuantidade(Produto.MAXIMO_QUANTIDADE - 5);
+        acumuladorEstoque.acumular(1L, 3);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> acumuladorEstoque.acumular(1L, 3));
+        assertEquals(Produto.MAXIMO_QUANTIDADE - 2,
+                acumuladorEstoque.comPendentes(1L, () -> Optional.of(produto)).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void testRecusaDeltaQueInvadiriaOReservado() {
+        // Arrange
+        estoqueReservado.reservar(1L, 6, 10);
+        acumuladorEstoque.acumular(1L, -3);
+
+        // Act & Assert
+        assertThrows(EstoqueInsuficienteException.class, () -> acumuladorEstoque.acumular(1L, -2));
+        assertEquals(7, acumuladorEstoque.comPendentes(1L, () -> Optional.of(produto)).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void testFalhaNaDescargaMantemDeltaPendente() {
+        // Arrange
+        acumuladorEstoque.acumular(1L, 5);
+        doThrow(new IllegalStateException("banco indisponível")).when(estoqueService).ajustar(1L, 5);
+
+        // Act
+        acumuladorEstoque.descarregarPendentes();
+
+        // Assert
+        assertEquals(15, acumuladorEstoque.comPendentes(1L, () -> Optional.of(produto)).orElseThrow().getQuantidade());
+        assertEquals(1, acumuladorEstoque.estatisticas().getProdutosPendentes());
+    }
+
+    @Test
+    void testLeituraInformaSeSomouPendentes() {
+        // Arrange
+        acumuladorEstoque.acumular(1L, 2);
+
+        // Act & Assert
+        AcumuladorEstoque.Leitura comDelta = acumuladorEstoque.lerComPendentes(1L, () -> Optional.of(produto)).orElseThrow();
+        assertTrue(comDelta.comPendentes());
+        assertEquals(12, comDelta.produto().getQuantidade());
+        acumuladorEstoque.descarregarPendentes();
+        assertFalse(acumuladorEstoque.lerComPendentes(1L, () -> Optional.of(produto)).orElseThrow().comPendentes());
+    }
+
+    @Test
+    void testReservaValidaContraODeltaPendente() {
+        // Arrange: o -8 já foi aceito, então só restam 2 para reservar
+        acumuladorEstoque.acumular(1L, -8);
+
+        // Act & Assert
+        assertThrows(EstoqueInsuficienteException.class, () -> acumuladorEstoque.validarComPendentes(1L,
+                () -> Optional.of(produto), lido -> {
+                    estoqueReservado.reservar(1L, 10, lido.orElseThrow().getQuantidade());
+                    return null;
+                }));
+        acumuladorEstoque.validarComPendentes(1L, () -> Optional.of(produto), lido -> {
+            estoqueReservado.reservar(1L, 2, lido.orElseThrow().getQuantidade());
+            return null;
+        });
+        assertEquals(2, estoqueReservado.reservado(1L));
+        assertThrows(EstoqueInsuficienteException.class, () -> acumuladorEstoque.acumular(1L, -1));
+    }
+
+    @Test
+    void testSubstituirQuantidadeGravaPendentesAntesESeguraAcumulos() throws Exception {
+        // Arrange
+        acumuladorEstoque.acumular(1L, 3);
+        ExecutorService outra = Executors.newSingleThreadExecutor();
+        List<Future<Produto>> acumulo = new ArrayList<>();
+
+        try {
+            // Act
+            acumuladorEstoque.substituirQuantidade(List.of(1L), () -> {
+                verify(estoqueService).ajustar(1L, 3);
+                acumulo.add(outra.submit(() -> acumuladorEstoque.acumular(1L, 1)));
+                assertThrows(TimeoutException.class, () -> acumulo.get(0).get(200, TimeUnit.MILLISECONDS));
+                return null;
+            });
+
+            // Assert: o acúmulo só entra depois do commit da substituição
+            acumulo.get(0).get(5, TimeUnit.SECONDS);
+            assertTrue(acumuladorEstoque.lerComPendentes(1L, () -> Optional.of(produto)).orElseThrow().comPendentes());
+        } finally {
+            outra.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDeltaRecusadoNaDescargaNaoVoltaAFila() {
+        // Arrange
+        acumuladorEstoque.acumular(1L, -4);
+        doThrow(new EstoqueInsuficienteException(1L)).when(estoqueService).ajustar(1L, -4);
+
+        // Act
+        acumuladorEstoque.descarregarPendentes();
+        acumuladorEstoque.descarregarPendentes();
+
+        // Assert
+        verify(estoqueService, times(1)).ajustar(1L, -4);
+        assertEquals(0, acumuladorEstoque.estatisticas().getProdutosPendentes());
+        assertEquals(10, acumuladorEstoque.comPendentes(1L, () -> Optional.of(produto)).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void testAtingirMaximoDePendentesGravaNaHora() {
+        // Arrange
+        AcumuladorEstoque limitado = new AcumuladorEstoque(estoqueService, produtoRepository, produtoCache,
+                estoqueReservado, transactionManager, true, 2, true);
+
+        // Act
+        limitado.acumular(1L, 1);
+        limitado.acumular(1L, 1);
+
+        // Assert
+        verify(estoqueService).ajustar(1L, 2);
+    }
+}
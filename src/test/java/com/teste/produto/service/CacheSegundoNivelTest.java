@@ -0,0 +1,96 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.ProdutoResumo;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.util.ContadorSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache de segundo nível e de consultas contra o banco real: a segunda leitura não vai ao banco
+ * e toda gravação aparece na leitura seguinte.
+ */
+@SpringBootTest
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testCategoriaPorIdELista() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Categoria Cache");
+        categoria = categoriaService.salvar(categoria);
+        categoriaService.buscarPorId(categoria.getId());
+        categoriaService.listarTodas();
+
+        ContadorSql.zerar();
+        assertEquals("Categoria Cache", categoriaService.buscarPorId(categoria.getId()).orElseThrow().getNome());
+        List<Categoria> todas = categoriaService.listarTodas();
+        ContadorSql.assertComandos(0);
+        assertTrue(todas.stream().anyMatch(c -> c.getNome().equals("Categoria Cache")));
+    }
+
+    @Test
+    void testAtualizacaoDaCategoriaApareceNaLeituraSeguinte() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Categoria Cache Antiga");
+        categoria = categoriaService.salvar(categoria);
+        categoriaService.buscarPorId(categoria.getId());
+        categoriaService.listarTodas();
+
+        Categoria alterada = new Categoria();
+        alterada.setNome("Categoria Cache Nova");
+        categoriaService.atualizar(categoria.getId(), alterada);
+
+        assertEquals("Categoria Cache Nova", categoriaService.buscarPorId(categoria.getId()).orElseThrow().getNome());
+        List<String> nomes = categoriaService.listarTodas().stream().map(Categoria::getNome).toList();
+        assertTrue(nomes.contains("Categoria Cache Nova"));
+        assertFalse(nomes.contains("Categoria Cache Antiga"));
+    }
+
+    @Test
+    void testEstoqueBaixoVemDoCacheERefleteOAjuste() {
+        Produto produto = produtoService.salvar(new Produto("Produto Cache Estoque", null, new BigDecimal("2.00"), 1));
+        estoqueBaixo();
+
+        ContadorSql.zerar();
+        assertTrue(estoqueBaixo().stream().anyMatch(resumo -> resumo.id().equals(produto.getId())));
+        ContadorSql.assertComandos(0);
+
+        estoqueService.ajustar(produto.getId(), 1000);
+
+        assertTrue(estoqueBaixo().stream().noneMatch(resumo -> resumo.id().equals(produto.getId())));
+        assertEquals(1001, produtoService.buscarPorId(produto.getId()).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void testProdutoFicaSoNoCacheDoSpring() {
+        Produto produto = produtoService.salvar(new Produto("Produto Cache Único", null, new BigDecimal("2.00"), 1));
+        produtoService.buscarPorId(produto.getId());
+
+        assertFalse(entityManagerFactory.getCache().contains(Produto.class, produto.getId()));
+    }
+
+    private List<ProdutoResumo> estoqueBaixo() {
+        return produtoService.buscarProdutosComQuantidadeBaixa(5, PageRequest.of(0, 1000)).getContent();
+    }
+}
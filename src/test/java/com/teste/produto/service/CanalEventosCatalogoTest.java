@@ -0,0 +1,134 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.EventoCatalogo;
+import com.teste.produto.event.CategoriaAlteradaEvent;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.exception.AssinaturaIndisponivelException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanalEventosCatalogoTest {
+
+    @Test
+    void testEntregaEventosNaOrdemDePublicacao() {
+        CanalEventosCatalogo canal = canal(new SyncTaskExecutor(), 16);
+        EmissorGravador emissor = new EmissorGravador();
+        canal.assinar(emissor, null);
+
+        canal.aoAlterarProduto(ProdutoAlteradoEvent.criado(5L, "Mouse"));
+        canal.aoAlterarCategoria(CategoriaAlteradaEvent.removida(2L));
+
+        List<String> eventos = emissor.eventos();
+        assertEquals(2, eventos.size());
+        assertTrue(eventos.get(0).endsWith("-1\nevent:produto\ndata:CRIADO 5\n\n"), eventos.get(0));
+        assertTrue(eventos.get(1).endsWith("-2\nevent:categoria\ndata:REMOVIDA 2\n\n"), eventos.get(1));
+    }
+
+    @Test
+    void testAssinanteLentoDescartaPendentesERecebeResync() {
+        ExecutorManual executor = new ExecutorManual();
+        CanalEventosCatalogo canal = canal(executor, 4);
+        EmissorGravador emissor = new EmissorGravador();
+        canal.assinar(emissor, null);
+
+        for (long id = 1; id <= 10; id++) {
+            canal.aoAlterarProduto(ProdutoAlteradoEvent.atualizado(id, "Produto " + id));
+        }
+        executor.executarTudo();
+
+        List<String> eventos = emissor.eventos();
+        assertTrue(eventos.get(0).contains("event:resync"), eventos.get(0));
+        assertTrue(eventos.get(eventos.size() - 1).contains("data:ATUALIZADO 10"));
+        assertTrue(eventos.size() < 10);
+        assertTrue(canal.getRessincronizacoes() > 0);
+    }
+
+    @Test
+    void testReconexaoRecebeOsEventosPerdidos() {
+        CanalEventosCatalogo canal = canal(new SyncTaskExecutor(), 16);
+        EmissorGravador primeiro = new EmissorGravador();
+        canal.assinar(primeiro, null);
+        canal.aoAlterarProduto(ProdutoAlteradoEvent.criado(1L, "A"));
+        canal.aoAlterarProduto(ProdutoAlteradoEvent.criado(2L, "B"));
+        canal.aoAlterarProduto(ProdutoAlteradoEvent.removido(1L, "A"));
+
+        EmissorGravador reconectado = new EmissorGravador();
+        canal.assinar(reconectado, idDe(primeiro.eventos().get(0)));
+
+        List<String> eventos = reconectado.eventos();
+        assertEquals(2, eventos.size());
+        assertTrue(eventos.get(0).contains("data:CRIADO 2"));
+        assertTrue(eventos.get(1).contains("data:REMOVIDO 1"));
+    }
+
+    @Test
+    void testReconexaoComIdDeOutraExecucaoRecebeResync() {
+        CanalEventosCatalogo canal = canal(new SyncTaskExecutor(), 16);
+        canal.aoAlterarProduto(ProdutoAlteradoEvent.criado(1L, "A"));
+
+        EmissorGravador emissor = new EmissorGravador();
+        canal.assinar(emissor, "outra-execucao-1");
+
+        assertEquals(1, emissor.eventos().size());
+        assertTrue(emissor.eventos().get(0).contains("event:resync"));
+    }
+
+    @Test
+    void testLimiteDeAssinantes() {
+        CanalEventosCatalogo canal = new CanalEventosCatalogo(new SyncTaskExecutor(), Duration.ofMinutes(1), 16, 16, 1);
+        canal.assinar(new EmissorGravador(), null);
+
+        assertThrows(AssinaturaIndisponivelException.class, () -> canal.assinar(new EmissorGravador(), null));
+        assertEquals(1, canal.getAssinantes());
+    }
+
+    private CanalEventosCatalogo canal(TaskExecutor executor, int tamanhoBuffer) {
+        return new CanalEventosCatalogo(executor, Duration.ofMinutes(1), tamanhoBuffer, 16, 100);
+    }
+
+    private String idDe(String evento) {
+        return evento.substring(evento.indexOf("id:") + 3, evento.indexOf('\n', evento.indexOf("id:")));
+    }
+
+    // Grava o texto de cada evento enviado; os dados são resumidos em "tipo id"
+    static class EmissorGravador extends SseEmitter {
+        private final List<String> enviados = new ArrayList<>();
+
+        @Override
+        public synchronized void send(SseEventBuilder evento) {
+            StringBuilder texto = new StringBuilder();
+            evento.build().forEach(parte -> texto.append(parte.getData() instanceof EventoCatalogo dados
+                    ? dados.getTipo() + " " + dados.getId()
+                    : parte.getData()));
+            enviados.add(texto.toString());
+        }
+
+        // Descarta os comentários de manutenção da conexão
+        synchronized List<String> eventos() {
+            return enviados.stream().filter(texto -> !texto.startsWith(":")).toList();
+        }
+    }
+
+    static class ExecutorManual implements TaskExecutor {
+        private final List<Runnable> tarefas = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable tarefa) {
+            tarefas.add(tarefa);
+        }
+
+        void executarTudo() {
+            while (!tarefas.isEmpty()) {
+                tarefas.remove(0).run();
+            }
+        }
+    }
+}
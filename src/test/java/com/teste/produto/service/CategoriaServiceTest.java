@@ -1,7 +1,10 @@
 package com.teste.produto.service;
 
+import com.teste.produto.event.CategoriaAlteradaEvent;
+import com.teste.produto.exception.NomeJaExisteException;
 import com.teste.produto.model.Categoria;
 import com.teste.produto.repository.CategoriaRepository;
+import com.teste.produto.repository.LapideRepository;
 import com.teste.produto.repository.ProdutoRepository;
 import com.teste.produto.service.CategoriaService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +34,15 @@ class CategoriaServiceTest {
     @Mock
     private ProdutoRepository produtoRepository;
 
+    @Mock
+    private LapideRepository lapideRepository;
+
+    @Mock
+    private ValorEstoqueService valorEstoqueService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -77,8 +92,7 @@ class CategoriaServiceTest {
         novaCategoria.setNome("Nova Categoria");
         novaCategoria.setDescricao("Nova descrição");
 
-        when(categoriaRepository.existsByNomeIgnoreCase(anyString())).thenReturn(false);
-        when(categoriaRepository.save(any(Categoria.class))).thenReturn(novaCategoria);
+        when(categoriaRepository.saveAndFlush(any(Categoria.class))).thenReturn(novaCategoria);
 
         // Act
         Categoria resultado = categoriaService.salvar(novaCategoria);
@@ -86,8 +100,8 @@ class CategoriaServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals(novaCategoria.getNome(), resultado.getNome());
-        verify(categoriaRepository).existsByNomeIgnoreCase(novaCategoria.getNome());
-        verify(categoriaRepository).save(novaCategoria);
+        verify(categoriaRepository).saveAndFlush(novaCategoria);
+        verify(valorEstoqueService).registrarCategoria(novaCategoria.getId());
     }
 
     @Test
@@ -96,17 +110,18 @@ class CategoriaServiceTest {
         Categoria novaCategoria = new Categoria();
         novaCategoria.setNome("Categoria Existente");
 
-        when(categoriaRepository.existsByNomeIgnoreCase(anyString())).thenReturn(true);
+        when(categoriaRepository.saveAndFlush(any(Categoria.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_CATEGORIA_NOME_NORMALIZADO_INDEX_5\"")));
 
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
+        DataIntegrityViolationException exception = assertThrows(
+            DataIntegrityViolationException.class,
             () -> categoriaService.salvar(novaCategoria)
         );
 
-        assertEquals("Já existe uma categoria com este nome", exception.getMessage());
-        verify(categoriaRepository).existsByNomeIgnoreCase(novaCategoria.getNome());
-        verify(categoriaRepository, never()).save(any());
+        assertEquals("Já existe uma categoria com este nome",
+                NomeJaExisteException.daViolacao(exception).map(Exception::getMessage).orElse(null));
     }
 
     @Test
@@ -117,8 +132,7 @@ class CategoriaServiceTest {
         categoriaAtualizada.setDescricao("Nova descrição");
 
         when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
-        when(categoriaRepository.existsByNomeIgnoreCase(anyString())).thenReturn(false);
-        when(categoriaRepository.save(any(Categoria.class))).thenReturn(categoria);
+        when(categoriaRepository.saveAndFlush(any(Categoria.class))).thenReturn(categoria);
 
         // Act
         Categoria resultado = categoriaService.atualizar(1L, categoriaAtualizada);
@@ -126,7 +140,7 @@ class CategoriaServiceTest {
         // Assert
         assertNotNull(resultado);
         verify(categoriaRepository).findById(1L);
-        verify(categoriaRepository).save(categoria);
+        verify(categoriaRepository).saveAndFlush(categoria);
     }
 
     @Test
@@ -142,7 +156,7 @@ class CategoriaServiceTest {
 
         assertEquals("Categoria não encontrada com ID: 1", exception.getMessage());
         verify(categoriaRepository).findById(1L);
-        verify(categoriaRepository, never()).save(any());
+        verify(categoriaRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -158,6 +172,7 @@ class CategoriaServiceTest {
         verify(categoriaRepository).existsById(1L);
         verify(produtoRepository).existsByCategoriaId(1L);
         verify(categoriaRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(any(CategoriaAlteradaEvent.class));
     }
 
     @Test
@@ -174,6 +189,7 @@ class CategoriaServiceTest {
         assertEquals("Categoria não encontrada com ID: 1", exception.getMessage());
         verify(categoriaRepository).existsById(1L);
         verify(categoriaRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -0,0 +1,107 @@
+package com.teste.produto.service;
+
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retiradas simultâneas do mesmo produto contra o banco real: nenhuma se perde e o estoque
+ * nunca fica negativo.
+ */
+@SpringBootTest
+class EstoqueConcorrenciaTest {
+
+    private static final int THREADS = 16;
+    private static final int ESTOQUE_INICIAL = 10;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private ValorEstoqueService valorEstoqueService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Test
+    void testRetiradasConcorrentesNaoPerdemAtualizacoes() throws Exception {
+        Produto produto = produtoService.salvar(
+                new Produto("Produto Retiradas Concorrentes", null, new BigDecimal("3.00"), ESTOQUE_INICIAL));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        int falhas = 0;
+        try {
+            List<Future<Produto>> resultados = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return estoqueService.ajustar(produto.getId(), -1);
+                }));
+            }
+            largada.countDown();
+            for (Future<Produto> resultado : resultados) {
+                try {
+                    resultado.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(EstoqueInsuficienteException.class, e.getCause());
+                    falhas++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS - ESTOQUE_INICIAL, falhas);
+        assertEquals(0, produtoService.buscarPorId(produto.getId()).orElseThrow().getQuantidade());
+        assertTrue(valorEstoqueService.reconciliar().isConsistente());
+    }
+
+    @Test
+    void testPrimeirosProdutosConcorrentesDeUmaCategoriaNova() throws Exception {
+        Categoria nova = new Categoria();
+        nova.setNome("Categoria Primeiros Produtos");
+        Categoria categoria = categoriaService.salvar(nova);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Produto>> resultados = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Produto produto = new Produto("Produto Categoria Nova " + i, null, new BigDecimal("2.00"), 1);
+                produto.setCategoria(categoria);
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return produtoService.salvar(produto);
+                }));
+            }
+            largada.countDown();
+            // Nenhuma criação falha disputando o INSERT da linha do valor da categoria
+            for (Future<Produto> resultado : resultados) {
+                assertNotNull(resultado.get(30, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(valorEstoqueService.reconciliar().isConsistente());
+    }
+}
@@ -0,0 +1,166 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.MovimentoEstoque;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.MovimentacaoEstoque;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstoqueServiceTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private ProdutoCache produtoCache;
+
+    @Mock
+    private ValorEstoqueService valorEstoqueService;
+
+    @Mock
+    private LivroEstoqueService livroEstoqueService;
+
+    @Mock
+    private EstoqueReservado estoqueReservado;
+
+    @Mock
+    private RelogioAlteracoes relogioAlteracoes;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private EstoqueService estoqueService;
+
+    @Test
+    void testAjustarEmLoteSomaMovimentosEAtualizaEmOrdemDeId() {
+        // Arrange
+        when(produtoRepository.ajustarQuantidade(anyLong(), anyInt(), anyInt(), anyInt(), anyLong())).thenReturn(1);
+        when(produtoRepository.findAllById(any())).thenReturn(List.of(
+                produto(5L, 2L, "10.00", 8),
+                produto(2L, 2L, "2.50", 1)));
+
+        // Act
+        List<Produto> resultado = estoqueService.ajustar(List.of(
+                new MovimentoEstoque(5L, -1),
+                new MovimentoEstoque(2L, 3),
+                new MovimentoEstoque(5L, -1)));
+
+        // Assert
+        InOrder ordem = inOrder(produtoRepository);
+        ordem.verify(produtoRepository).ajustarQuantidade(eq(2L), eq(3), eq(0), anyInt(), anyLong());
+        ordem.verify(produtoRepository).ajustarQuantidade(eq(5L), eq(-2), eq(0), anyInt(), anyLong());
+        verify(valorEstoqueService).aplicar(Map.of(2L, new BigDecimal("-12.50")));
+        assertEquals(List.of(2L, 5L), resultado.stream().map(Produto::getId).toList());
+        verify(eventPublisher, times(2)).publishEvent(any(ProdutoAlteradoEvent.class));
+    }
+
+    @Test
+    void testAjustarComEstoqueInsuficiente() {
+        // Arrange
+        when(produtoRepository.ajustarQuantidade(eq(1L), eq(-100), anyInt(), anyInt(), anyLong())).thenReturn(0);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto(1L, 2L, "1.00", 5)));
+
+        // Act & Assert
+        EstoqueInsuficienteException exception = assertThrows(EstoqueInsuficienteException.class,
+                () -> estoqueService.ajustar(1L, -100));
+
+        assertEquals(1L, exception.getProdutoId());
+        verifyNoInteractions(valorEstoqueService, produtoCache, eventPublisher);
+    }
+
+    @Test
+    void testAjustarNaoBaixaAbaixoDoReservado() {
+        // Arrange
+        when(estoqueReservado.reservado(1L)).thenReturn(4);
+        when(produtoRepository.ajustarQuantidade(eq(1L), eq(-3), eq(4), anyInt(), anyLong())).thenReturn(0);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto(1L, 2L, "1.00", 6)));
+
+        // Act & Assert
+        assertThrows(EstoqueInsuficienteException.class, () -> estoqueService.ajustar(1L, -3));
+    }
+
+    @Test
+    void testBaixaDeReservasConsomeOReservado() {
+        // Arrange
+        when(produtoRepository.ajustarQuantidade(anyLong(), anyInt(), anyInt(), anyInt(), anyLong())).thenReturn(1);
+        when(produtoRepository.findAllById(any())).thenReturn(List.of(produto(1L, 2L, "1.00", 0)));
+
+        // Act
+        estoqueService.ajustar(1L, -3, MovimentacaoEstoque.Motivo.RESERVA);
+
+        // Assert
+        verify(produtoRepository).ajustarQuantidade(eq(1L), eq(-3), eq(0), anyInt(), anyLong());
+        verifyNoInteractions(estoqueReservado);
+    }
+
+    @Test
+    void testAjustarAlemDaQuantidadeMaxima() {
+        // Arrange
+        when(produtoRepository.ajustarQuantidade(eq(1L), eq(1), eq(0), eq(Produto.MAXIMO_QUANTIDADE), anyLong())).thenReturn(0);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto(1L, 2L, "1.00", Produto.MAXIMO_QUANTIDADE)));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> estoqueService.ajustar(1L, 1));
+        verifyNoInteractions(valorEstoqueService, produtoCache, eventPublisher);
+    }
+
+    @Test
+    void testAjustarProdutoInexistente() {
+        // Arrange
+        when(produtoRepository.ajustarQuantidade(eq(99L), eq(1), eq(0), anyInt(), anyLong())).thenReturn(0);
+        when(produtoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> estoqueService.ajustar(99L, 1));
+        verifyNoInteractions(valorEstoqueService);
+    }
+
+    @Test
+    void testAjustarEmLoteSemProdutoId() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> estoqueService.ajustar(List.of(new MovimentoEstoque(null, 1))));
+        verifyNoInteractions(produtoRepository);
+    }
+
+    @Test
+    void testAjustarEmLoteComDeltaQueEstouraAQuantidade() {
+        // Arrange
+        List<MovimentoEstoque> movimentos = List.of(
+                new MovimentoEstoque(1L, Integer.MAX_VALUE), new MovimentoEstoque(1L, 1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> estoqueService.ajustar(movimentos));
+        verifyNoInteractions(produtoRepository);
+    }
+
+    private Produto produto(Long id, Long categoriaId, String preco, int quantidade) {
+        Categoria categoria = new Categoria();
+        categoria.setId(categoriaId);
+        Produto produto = new Produto("Produto " + id, null, new BigDecimal(preco), quantidade);
+        produto.setId(id);
+        produto.setCategoria(categoria);
+        return produto;
+    }
+}
@@ -0,0 +1,101 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.ImportacaoJob;
+import com.teste.produto.dto.ResultadoItemLote;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.CategoriaRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoProdutoServiceTest {
+
+    @Mock
+    private ProdutoLoteService produtoLoteService;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    private ImportacaoProdutoService importacaoProdutoService;
+
+    @BeforeEach
+    void setUp() {
+        importacaoProdutoService = new ImportacaoProdutoService(produtoLoteService, categoriaRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), new SyncTaskExecutor());
+    }
+
+    @Test
+    void testImportarCsv() throws Exception {
+        // Arrange
+        Categoria perifericos = new Categoria();
+        perifericos.setId(2L);
+        perifericos.setNome("Periféricos");
+        when(categoriaRepository.findAll()).thenReturn(List.of(perifericos));
+        Map<Integer, Produto> gravados = new HashMap<>();
+        when(produtoLoteService.gravarLote(anyMap())).thenAnswer(invocation -> {
+            Map<Integer, Produto> itens = invocation.getArgument(0);
+            gravados.putAll(itens);
+            return itens.keySet().stream()
+                    .map(linha -> new ResultadoItemLote(linha, ResultadoItemLote.Status.CRIADO, (long) linha, null))
+                    .collect(Collectors.toList());
+        });
+        String csv = "nome;descricao;preco;quantidade;categoria\n"
+                + "Mouse;\"Sem fio; com \"\"USB\"\"\";45,90;10;periféricos\n"
+                + "Cabo;;0;1;\n"
+                + "Hub;\"Quatro portas\nUSB 3\";99.90;2;Inexistente\n"
+                + "Teclado;;120;abc;\n"
+                + "Webcam;;129.90;3;\n";
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "produtos.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ImportacaoJob job = importacaoProdutoService.iniciar(arquivo);
+
+        // Assert
+        assertEquals(ImportacaoJob.Status.CONCLUIDO, job.getStatus());
+        assertEquals(5, job.getLinhasProcessadas());
+        assertEquals(2, job.getProdutosCriados());
+        assertEquals(3, job.getTotalErros());
+        assertEquals(List.of(3, 4, 6), job.getErros().stream().map(ImportacaoJob.ErroLinha::getLinha).collect(Collectors.toList()));
+        assertEquals("Categoria não encontrada: Inexistente", job.getErros().get(1).getMensagem());
+
+        verify(produtoLoteService, times(1)).gravarLote(anyMap());
+        Produto mouse = gravados.get(2);
+        assertEquals("Sem fio; com \"USB\"", mouse.getDescricao());
+        assertEquals("45.90", mouse.getPreco().toPlainString());
+        assertSame(perifericos, mouse.getCategoria());
+        assertTrue(importacaoProdutoService.buscarPorId(job.getId()).isPresent());
+    }
+
+    @Test
+    void testImportarCsvSemColunaObrigatoria() throws Exception {
+        // Arrange
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "produtos.csv", "text/csv",
+                "nome,preco\nMouse,10\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ImportacaoJob job = importacaoProdutoService.iniciar(arquivo);
+
+        // Assert
+        assertEquals(ImportacaoJob.Status.FALHOU, job.getStatus());
+        assertEquals("Cabeçalho do CSV sem a coluna obrigatória: quantidade", job.getMensagem());
+        verifyNoInteractions(produtoLoteService);
+    }
+}
@@ -0,0 +1,55 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.SugestaoProduto;
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IndicePrefixoProdutoTest {
+
+    private IndicePrefixoProduto indice;
+
+    @BeforeEach
+    void setUp() {
+        ProdutoRepository.IdNome webcam = mock(ProdutoRepository.IdNome.class);
+        when(webcam.getId()).thenReturn(1L);
+        when(webcam.getNome()).thenReturn("Webcam HD");
+        ProdutoRepository produtoRepository = mock(ProdutoRepository.class);
+        when(produtoRepository.streamIdNome()).thenReturn(Stream.of(webcam));
+
+        indice = new IndicePrefixoProduto(produtoRepository);
+        indice.reconstruir();
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(2L, "Periférico USB"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(3L, "Hub Periférico"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(4L, "Perfume"));
+    }
+
+    @Test
+    void testSugerirIgnoraAcentosEPriorizaInicioDoNome() {
+        assertEquals(List.of(2L, 3L), ids(indice.sugerir("PERIFE", 10)));
+        assertEquals(List.of(4L, 2L, 3L), ids(indice.sugerir("per", 10)));
+        assertEquals(List.of(4L), ids(indice.sugerir("per", 1)));
+        assertEquals("Webcam HD", indice.sugerir("hd", 10).get(0).getNome());
+        assertTrue(indice.sugerir(" ", 10).isEmpty());
+    }
+
+    @Test
+    void testAlteracoesAtualizamAsSugestoes() {
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.atualizado(2L, "Teclado USB"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.removido(4L, "Perfume"));
+
+        assertEquals(List.of(3L), ids(indice.sugerir("per", 10)));
+        assertEquals(List.of(2L), ids(indice.sugerir("usb", 10)));
+    }
+
+    private List<Long> ids(List<SugestaoProduto> sugestoes) {
+        return sugestoes.stream().map(SugestaoProduto::getId).toList();
+    }
+}
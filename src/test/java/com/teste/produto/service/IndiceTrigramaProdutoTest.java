@@ -0,0 +1,63 @@
+package com.teste.produto.service;
+
+import com.teste.produto.event.ProdutoAlteradoEvent;
+import com.teste.produto.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IndiceTrigramaProdutoTest {
+
+    private IndiceTrigramaProduto indice;
+
+    @BeforeEach
+    void setUp() {
+        ProdutoRepository produtoRepository = mock(ProdutoRepository.class);
+        when(produtoRepository.streamIdNome()).thenReturn(Stream.empty());
+        indice = new IndiceTrigramaProduto(produtoRepository);
+        indice.reconstruir();
+
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(1L, "Suporte para Monitor"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(2L, "Monitor Samsung"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(3L, "Monitor"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(4L, "Cabo Eletrônico"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.criado(5L, "Submonitorado"));
+    }
+
+    @Test
+    void testBuscarOrdenaPorRelevanciaERespeitaLimite() {
+        assertTrue(indice.isPronto());
+        assertEquals(List.of(3L, 2L, 1L, 5L), indice.buscar("MONITOR", 10));
+        assertEquals(List.of(3L, 2L), indice.buscar("monitor", 2));
+        assertEquals(List.of(), indice.buscar("monitores", 10));
+    }
+
+    @Test
+    void testBuscarIgnoraAcentosETermosCurtos() {
+        assertEquals(List.of(4L), indice.buscar("eletronico", 10));
+        assertEquals(List.of(4L), indice.buscar("ELETRÔ", 10));
+        assertEquals(List.of(4L), indice.buscar("ca", 10));
+    }
+
+    @Test
+    void testTermosCurtosSoEncontramInicioDePalavra() {
+        assertEquals(List.of(3L, 2L, 1L), indice.buscar("M", 10));
+        assertEquals(List.of(1L), indice.buscar("pa", 10));
+        assertEquals(List.of(), indice.buscar("on", 10));
+        assertEquals(List.of(), indice.buscar("", 10));
+    }
+
+    @Test
+    void testAlteracoesAtualizamOIndice() {
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.atualizado(2L, "Tela Samsung"));
+        indice.aoAlterarProduto(ProdutoAlteradoEvent.removido(3L, "Monitor"));
+
+        assertEquals(List.of(1L, 5L), indice.buscar("monitor", 10));
+        assertEquals(List.of(2L), indice.buscar("tela", 10));
+    }
+}
@@ -0,0 +1,100 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.MovimentoEstoque;
+import com.teste.produto.dto.SaldoLivroEstoque;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.model.MovimentacaoEstoque;
+import com.teste.produto.model.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Livro de estoque contra o banco real: cada alteração de quantidade gera um lançamento com o
+ * motivo, e o saldo pelo livro continua igual à quantidade do produto após a compactação.
+ */
+@SpringBootTest
+class LivroEstoqueServiceTest {
+
+    @Autowired
+    private LivroEstoqueService livroEstoqueService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Test
+    void testAlteracoesDeQuantidadeGeramLancamentosComMotivo() {
+        Produto produto = produtoService.salvar(new Produto("Produto Livro Lançamentos", null, new BigDecimal("3.00"), 10));
+        estoqueService.ajustar(produto.getId(), -4);
+        Produto alterado = new Produto("Produto Livro Lançamentos", "Nova descrição", new BigDecimal("3.00"), 20);
+        produtoService.atualizar(produto.getId(), alterado);
+        // Atualização sem mudar a quantidade não gera lançamento
+        produtoService.atualizar(produto.getId(), alterado);
+
+        List<MovimentacaoEstoque> lancamentos = livroEstoqueService
+                .listar(produto.getId(), null, null, PageRequest.of(0, 10)).getContent();
+
+        assertEquals(List.of(MovimentacaoEstoque.Motivo.CADASTRO, MovimentacaoEstoque.Motivo.AJUSTE,
+                MovimentacaoEstoque.Motivo.ATUALIZACAO), lancamentos.stream().map(MovimentacaoEstoque::getMotivo).toList());
+        assertEquals(List.of(10, -4, 14), lancamentos.stream().map(MovimentacaoEstoque::getDelta).toList());
+        assertEquals(List.of(10, 6, 20), lancamentos.stream().map(MovimentacaoEstoque::getQuantidadeResultante).toList());
+    }
+
+    @Test
+    void testAjusteRecusadoNaoGeraLancamento() {
+        Produto produto = produtoService.salvar(new Produto("Produto Livro Recusado", null, new BigDecimal("3.00"), 1));
+        Produto outro = produtoService.salvar(new Produto("Produto Livro Recusado Outro", null, new BigDecimal("3.00"), 1));
+
+        assertThrows(EstoqueInsuficienteException.class, () -> estoqueService.ajustar(List.of(
+                new MovimentoEstoque(produto.getId(), 5),
+                new MovimentoEstoque(outro.getId(), -2))));
+
+        assertEquals(1, livroEstoqueService.listar(produto.getId(), null, null, PageRequest.of(0, 10)).getTotalElements());
+        assertTrue(livroEstoqueService.saldo(produto.getId()).isConsistente());
+    }
+
+    @Test
+    void testCompactacaoPreservaOSaldo() {
+        Produto produto = produtoService.salvar(new Produto("Produto Livro Compactado", null, new BigDecimal("3.00"), 7));
+        estoqueService.ajustar(produto.getId(), 5);
+        estoqueService.ajustar(produto.getId(), -2);
+
+        livroEstoqueService.compactarAnterioresA(Instant.now());
+        estoqueService.ajustar(produto.getId(), 1);
+
+        SaldoLivroEstoque saldo = livroEstoqueService.saldo(produto.getId());
+        assertEquals(10, saldo.getQuantidadeConsolidada());
+        assertEquals(1, saldo.getMovimentacoesRecentes());
+        assertEquals(11, saldo.getQuantidade());
+        assertTrue(saldo.isConsistente());
+        assertEquals(1, livroEstoqueService.listar(produto.getId(), null, null, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void testProdutoRemovidoZeraOSaldo() {
+        Produto produto = produtoService.salvar(new Produto("Produto Livro Removido", null, new BigDecimal("3.00"), 4));
+        produtoService.deletar(produto.getId());
+
+        SaldoLivroEstoque saldo = livroEstoqueService.saldo(produto.getId());
+        assertEquals(0, saldo.getQuantidade());
+        assertNull(saldo.getQuantidadeAtual());
+        assertTrue(saldo.isConsistente());
+    }
+
+    @Test
+    void testIntervaloInvalido() {
+        Instant agora = Instant.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> livroEstoqueService.listar(1L, agora, agora, PageRequest.of(0, 10)));
+    }
+}
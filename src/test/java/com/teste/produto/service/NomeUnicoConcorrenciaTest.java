@@ -0,0 +1,96 @@
+package com.teste.produto.service;
+
+import com.teste.produto.exception.NomeJaExisteException;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dispara criações simultâneas com o mesmo nome (variando acentos e maiúsculas) contra o banco
+ * real: apenas uma pode ser gravada, e as demais devem falhar pela restrição de nome único.
+ */
+@SpringBootTest
+class NomeUnicoConcorrenciaTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Test
+    void testCriacoesConcorrentesDeProdutoComMesmoNome() throws Exception {
+        String[] variacoes = {"Cadeira Ergonômica", "cadeira ergonomica", "CADEIRA ERGONÔMICA"};
+
+        List<String> falhas = executarEmParalelo(i -> () -> {
+            produtoService.salvar(new Produto(variacoes[i % variacoes.length], null, new BigDecimal("10.00"), 1));
+            return null;
+        });
+
+        assertEquals(THREADS - 1, falhas.size());
+        falhas.forEach(mensagem -> assertEquals("Já existe um produto com este nome", mensagem));
+        assertEquals(1, produtoService.buscarPorNome("cadeira ergonomica", null).size());
+    }
+
+    @Test
+    void testCriacoesConcorrentesDeCategoriaComMesmoNome() throws Exception {
+        List<String> falhas = executarEmParalelo(i -> () -> {
+            Categoria categoria = new Categoria();
+            categoria.setNome(i % 2 == 0 ? "Acessórios" : "acessorios");
+            categoriaService.salvar(categoria);
+            return null;
+        });
+
+        assertEquals(THREADS - 1, falhas.size());
+        falhas.forEach(mensagem -> assertEquals("Já existe uma categoria com este nome", mensagem));
+    }
+
+    // Retorna a mensagem de NomeJaExisteException correspondente a cada tentativa que falhou
+    private List<String> executarEmParalelo(IntFunction<Callable<Void>> tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Void> criar = tarefa.apply(i);
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return criar.call();
+                }));
+            }
+            largada.countDown();
+
+            List<String> falhas = new ArrayList<>();
+            for (Future<Void> resultado : resultados) {
+                try {
+                    resultado.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    DataIntegrityViolationException violacao = assertInstanceOf(DataIntegrityViolationException.class, e.getCause());
+                    falhas.add(NomeJaExisteException.daViolacao(violacao).map(Exception::getMessage).orElse(violacao.getMessage()));
+                }
+            }
+            return falhas;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
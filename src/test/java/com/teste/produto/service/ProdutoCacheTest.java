@@ -0,0 +1,56 @@
+package com.teste.produto.service;
+
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache de produtos por ID contra o banco real: a categoria guardada junto com o produto
+ * acompanha as alterações da categoria, e quem altera o produto lido não altera o cache.
+ */
+@SpringBootTest
+class ProdutoCacheTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Test
+    void testRenomearCategoriaApareceNaLeituraDoProduto() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Categoria Cache Produto");
+        categoria = categoriaService.salvar(categoria);
+        Produto produto = new Produto("Produto Cache Categoria", null, new BigDecimal("5.00"), 1);
+        produto.setCategoria(categoria);
+        Long id = produtoService.salvar(produto).getId();
+        assertEquals("Categoria Cache Produto", produtoService.buscarPorId(id).orElseThrow().getCategoria().getNome());
+
+        Categoria renomeada = new Categoria();
+        renomeada.setNome("Categoria Cache Renomeada");
+        categoriaService.atualizar(categoria.getId(), renomeada);
+
+        assertEquals("Categoria Cache Renomeada", produtoService.buscarPorId(id).orElseThrow().getCategoria().getNome());
+    }
+
+    @Test
+    void testCadaLeituraRecebeUmaInstanciaPropria() {
+        Long id = produtoService.salvar(new Produto("Produto Cache Copia", null, new BigDecimal("5.00"), 3)).getId();
+
+        Produto lido = produtoService.buscarPorId(id).orElseThrow();
+        lido.setNome("Alterado Fora do Cache");
+        lido.setQuantidade(99);
+
+        Produto releitura = produtoService.buscarPorId(id).orElseThrow();
+        assertNotSame(lido, releitura);
+        assertEquals("Produto Cache Copia", releitura.getNome());
+        assertEquals(3, releitura.getQuantidade());
+    }
+}
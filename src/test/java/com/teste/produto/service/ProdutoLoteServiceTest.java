@@ -0,0 +1,193 @@
+package com.teste.produto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.produto.dto.ResultadoItemLote;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoLoteServiceTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private ProdutoCache produtoCache;
+
+    @Mock
+    private ValorEstoqueService valorEstoqueService;
+
+    @Mock
+    private LivroEstoqueService livroEstoqueService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AcumuladorEstoque acumuladorEstoque;
+
+    @Mock
+    private EstoqueReservado estoqueReservado;
+
+    private ProdutoLoteService produtoLoteService;
+
+    @BeforeEach
+    void setUp() {
+        produtoLoteService = new ProdutoLoteService(produtoRepository, produtoCache, valorEstoqueService, livroEstoqueService,
+                acumuladorEstoque, estoqueReservado, eventPublisher, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        lenient().when(acumuladorEstoque.substituirQuantidade(any(), any()))
+                .thenAnswer(chamada -> chamada.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    void testProcessarLoteCriaEAtualiza() throws Exception {
+        // Arrange
+        Produto existente = new Produto("Mouse", "Antigo", new BigDecimal("10.00"), 1);
+        existente.setId(7L);
+        when(produtoRepository.findByNomesNormalizados(anySet())).thenReturn(Collections.emptyList());
+        when(produtoRepository.findAllById(anySet())).thenReturn(List.of(existente));
+        AtomicLong sequencia = new AtomicLong(100);
+        when(produtoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Produto> novos = invocation.getArgument(0);
+            novos.forEach(produto -> produto.setId(sequencia.incrementAndGet()));
+            return novos;
+        });
+
+        // Act
+        List<ResultadoItemLote> resultados = produtoLoteService.processar(json("["
+                + "{\"nome\":\"Teclado\",\"preco\":10.5,\"quantidade\":3},"
+                + "{\"id\":7,\"nome\":\"Mouse Novo\",\"preco\":20,\"quantidade\":4}"
+                + "]"));
+
+        // Assert
+        assertEquals(2, resultados.size());
+        assertEquals(ResultadoItemLote.Status.CRIADO, resultados.get(0).getStatus());
+        assertEquals(101L, resultados.get(0).getId());
+        assertEquals(ResultadoItemLote.Status.ATUALIZADO, resultados.get(1).getStatus());
+        assertEquals("Mouse Novo", existente.getNome());
+        assertEquals(4, existente.getQuantidade());
+        verify(produtoRepository, times(1)).findByNomesNormalizados(anySet());
+        verify(produtoRepository).flush();
+        verify(produtoCache).invalidar(101L);
+        verify(produtoCache).invalidar(7L);
+        // Teclado: +31.50; Mouse: 20 x 4 - 10 x 1 = +70.00, ambos sem categoria
+        verify(valorEstoqueService).aplicar(Map.of(0L, new BigDecimal("101.50")));
+        // Só o produto existente tem a quantidade substituída e os acúmulos pendentes descarregados
+        verify(acumuladorEstoque).substituirQuantidade(eq(List.of(7L)), any());
+    }
+
+    @Test
+    void testProcessarLoteNaoBaixaAbaixoDoReservado() throws Exception {
+        // Arrange
+        Produto existente = new Produto("Mouse", "Antigo", new BigDecimal("10.00"), 5);
+        existente.setId(7L);
+        when(produtoRepository.findByNomesNormalizados(anySet())).thenReturn(Collections.emptyList());
+        when(produtoRepository.findAllById(anySet())).thenReturn(List.of(existente));
+        when(estoqueReservado.reservado(7L)).thenReturn(3);
+
+        // Act
+        List<ResultadoItemLote> resultados = produtoLoteService.processar(json(
+                "[{\"id\":7,\"nome\":\"Mouse\",\"preco\":10,\"quantidade\":2}]"));
+
+        // Assert
+        assertEquals(1, resultados.size());
+        assertEquals(ResultadoItemLote.Status.ERRO, resultados.get(0).getStatus());
+        assertEquals("A quantidade do produto ID 7 não pode ficar abaixo do reservado: 3", resultados.get(0).getMensagem());
+        assertEquals(5, existente.getQuantidade());
+        verifyNoInteractions(produtoCache, eventPublisher);
+    }
+
+    @Test
+    void testProcessarLoteRejeitaInvalidosEDuplicados() throws Exception {
+        // Arrange
+        ProdutoRepository.IdNome existente = mock(ProdutoRepository.IdNome.class);
+        when(existente.getId()).thenReturn(1L);
+        when(existente.getNome()).thenReturn("Webcam HD");
+        when(produtoRepository.findByNomesNormalizados(anySet())).thenReturn(List.of(existente));
+
+        // Act
+        List<ResultadoItemLote> resultados = produtoLoteService.processar(json("["
+                + "{\"nome\":\"webcam hd\",\"preco\":10,\"quantidade\":1},"
+                + "{\"nome\":\"Cabo\",\"preco\":0,\"quantidade\":1},"
+                + "\"texto\","
+                + "{\"nome\":\"Hub USB\",\"preco\":50,\"quantidade\":2},"
+                + "{\"nome\":\"HUB usb\",\"preco\":50,\"quantidade\":2}"
+                + "]"));
+
+        // Assert
+        assertEquals(5, resultados.size());
+        assertEquals("Já existe um produto com este nome", resultados.get(0).getMensagem());
+        assertTrue(resultados.get(1).getMensagem().startsWith("preco:"));
+        assertEquals(ResultadoItemLote.Status.ERRO, resultados.get(2).getStatus());
+        assertEquals(ResultadoItemLote.Status.CRIADO, resultados.get(3).getStatus());
+        assertEquals("Já existe um produto com este nome", resultados.get(4).getMensagem());
+    }
+
+    @Test
+    void testFalhaNoBlocoRegravaItemAItem() throws Exception {
+        // Arrange: "Teclado" foi gravado em paralelo, entre a verificação dos nomes e o INSERT
+        when(produtoRepository.findByNomesNormalizados(anySet())).thenReturn(Collections.emptyList());
+        AtomicLong sequencia = new AtomicLong(100);
+        when(produtoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Produto> novos = invocation.getArgument(0);
+            novos.forEach(produto -> produto.setId(sequencia.incrementAndGet()));
+            if (novos.stream().anyMatch(produto -> produto.getNome().equals("Teclado"))) {
+                throw new DataIntegrityViolationException("insert",
+                        new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_PRODUTOS_NOME_NORMALIZADO\""));
+            }
+            return novos;
+        });
+
+        // Act
+        List<ResultadoItemLote> resultados = produtoLoteService.processar(json("["
+                + "{\"nome\":\"Mouse\",\"preco\":10,\"quantidade\":1},"
+                + "{\"nome\":\"Teclado\",\"preco\":10,\"quantidade\":1},"
+                + "{\"nome\":\"Monitor\",\"preco\":10,\"quantidade\":1}"
+                + "]"));
+
+        // Assert
+        assertEquals(ResultadoItemLote.Status.CRIADO, resultados.get(0).getStatus());
+        assertEquals("Já existe um produto com este nome", resultados.get(1).getMensagem());
+        assertEquals(ResultadoItemLote.Status.CRIADO, resultados.get(2).getStatus());
+        verify(produtoRepository, times(4)).saveAll(anyList());
+    }
+
+    @Test
+    void testProcessarCorpoQueNaoEArray() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> produtoLoteService.processar(json("{\"nome\":\"Teclado\"}"))
+        );
+
+        assertEquals("O corpo da requisição deve ser um array JSON de produtos", exception.getMessage());
+        verifyNoInteractions(produtoRepository);
+    }
+
+    private InputStream json(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
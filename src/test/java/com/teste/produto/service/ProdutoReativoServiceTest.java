@@ -0,0 +1,93 @@
+package com.teste.produto.service;
+
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import com.teste.produto.repository.ProdutoReativoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Leituras por R2DBC contra o mesmo banco em que os serviços JPA escrevem.
+ */
+@SpringBootTest
+class ProdutoReativoServiceTest {
+
+    @Autowired
+    private ProdutoReativoService produtoReativoService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProdutoReativoRepository produtoReativoRepository;
+
+    @Test
+    void testLeEscritasFeitasPeloJpa() {
+        Categoria nova = new Categoria();
+        nova.setNome("Categoria Reativa");
+        Categoria categoria = categoriaService.salvar(nova);
+        Produto produto = new Produto("Produto Reativo Gravado", "Pelo JPA", new BigDecimal("7.50"), 4);
+        produto.setCategoria(categoria);
+        Produto salvo = produtoService.salvar(produto);
+
+        StepVerifier.create(produtoReativoService.buscarPorId(salvo.getId()))
+                .assertNext(lido -> {
+                    assertEquals("Produto Reativo Gravado", lido.getNome());
+                    assertEquals(0, new BigDecimal("7.50").compareTo(lido.getPreco()));
+                    assertEquals(categoria.getId(), lido.getCategoria().getId());
+                    assertEquals(salvo.getVersaoAlteracao(), lido.getVersaoAlteracao());
+                })
+                .verifyComplete();
+        StepVerifier.create(produtoReativoService.buscarPorCategoria(categoria.getId(), 10).map(Produto::getId))
+                .expectNext(salvo.getId())
+                .verifyComplete();
+        StepVerifier.create(produtoReativoService.buscarPorNome("reativo gravado", 10).map(Produto::getId))
+                .expectNext(salvo.getId())
+                .verifyComplete();
+    }
+
+    @Test
+    void testBuscaSemIndiceTrataCuringasComoTexto() {
+        Produto comCuringa = produtoService.salvar(new Produto("Tecido Reativo 100% Algodão", null, new BigDecimal("1.00"), 1));
+        produtoService.salvar(new Produto("Tecido Reativo 1000 Fios", null, new BigDecimal("1.00"), 1));
+        produtoService.salvar(new Produto("Tecido Reativo A1B", null, new BigDecimal("1.00"), 1));
+
+        StepVerifier.create(produtoReativoRepository.findByNomeNormalizadoContendo("100%", 10).map(Produto::getId))
+                .expectNext(comCuringa.getId())
+                .verifyComplete();
+        StepVerifier.create(produtoReativoRepository.findByNomeNormalizadoContendo("reativo a_b", 10))
+                .verifyComplete();
+    }
+
+    @Test
+    void testListaRespeitaADemandaDoAssinante() {
+        for (int i = 0; i < 5; i++) {
+            produtoService.salvar(new Produto("Produto Reativo Demanda " + i, null, new BigDecimal("1.00"), i));
+        }
+
+        // Só o que foi pedido é entregue; o restante espera a próxima demanda
+        StepVerifier.create(produtoReativoService.buscarComQuantidadeBaixa(4, 3), 1)
+                .expectNextCount(1)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testValorTotalIgualAoDoMvc() {
+        StepVerifier.create(produtoReativoService.calcularValorTotalEstoque())
+                .assertNext(valor -> assertEquals(0, produtoService.calcularValorTotalEstoque().compareTo(valor)))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,131 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.MovimentoEstoque;
+import com.teste.produto.exception.EstoqueInsuficienteException;
+import com.teste.produto.exception.ReservaIndisponivelException;
+import com.teste.produto.model.Produto;
+import com.teste.produto.model.Reserva;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ciclo de vida das reservas contra o banco real: reserva, confirmação com baixa em lote,
+ * expiração e recuperação do estado em memória a partir das reservas gravadas.
+ */
+@SpringBootTest
+class ReservaServiceTest {
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private ProdutoCache produtoCache;
+
+    @Autowired
+    private ValorEstoqueService valorEstoqueService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testReservaAlemDoDisponivelERecusada() {
+        Produto produto = criarProduto("Produto Reserva Disponível", 5);
+
+        reservaService.reservar(produto.getId(), 4, null);
+
+        assertThrows(EstoqueInsuficienteException.class, () -> reservaService.reservar(produto.getId(), 2, null));
+        assertEquals(1, reservaService.disponibilidade(produto.getId()).getDisponivel());
+    }
+
+    @Test
+    void testConfirmarBaixaQuantidadeDoProduto() {
+        Produto produto = criarProduto("Produto Reserva Confirmada", 10);
+        Reserva reserva = reservaService.reservar(produto.getId(), 3, null);
+
+        assertEquals(Reserva.Status.CONFIRMADA, reservaService.confirmar(reserva.getId()).getStatus());
+        reservaService.aplicarConfirmadas();
+
+        assertEquals(7, produtoService.buscarPorId(produto.getId()).orElseThrow().getQuantidade());
+        assertNotNull(reservaService.buscar(reserva.getId()).getAplicadaEm());
+        assertEquals(0, reservaService.disponibilidade(produto.getId()).getReservado());
+        assertThrows(ReservaIndisponivelException.class, () -> reservaService.liberar(reserva.getId()));
+    }
+
+    @Test
+    void testReservaVencidaExpiraEDevolveODisponivel() {
+        Produto produto = criarProduto("Produto Reserva Expirada", 2);
+        Reserva reserva = reservaService.reservar(produto.getId(), 2, Duration.ofSeconds(1));
+
+        reservaService.expirarAte(Instant.now().plusSeconds(2));
+
+        assertEquals(Reserva.Status.EXPIRADA, reservaService.buscar(reserva.getId()).getStatus());
+        assertEquals(2, reservaService.disponibilidade(produto.getId()).getDisponivel());
+        assertThrows(ReservaIndisponivelException.class, () -> reservaService.confirmar(reserva.getId()));
+    }
+
+    @Test
+    void testRecuperarReconstroiReservasAtivas() {
+        Produto produto = criarProduto("Produto Reserva Recuperada", 6);
+        Reserva reserva = reservaService.reservar(produto.getId(), 4, null);
+
+        reservaService.recuperar();
+
+        assertEquals(4, reservaService.disponibilidade(produto.getId()).getReservado());
+        reservaService.liberar(reserva.getId());
+        assertEquals(6, reservaService.disponibilidade(produto.getId()).getDisponivel());
+    }
+
+    @Test
+    void testAjusteDiretoNaoBaixaOReservado() {
+        Produto produto = criarProduto("Produto Reserva Segurada", 5);
+        reservaService.reservar(produto.getId(), 4, null);
+
+        assertThrows(EstoqueInsuficienteException.class, () -> estoqueService.ajustar(produto.getId(), -2));
+        assertThrows(EstoqueInsuficienteException.class,
+                () -> estoqueService.ajustar(List.of(new MovimentoEstoque(produto.getId(), -2))));
+        assertEquals(4, estoqueService.ajustar(produto.getId(), -1).getQuantidade());
+    }
+
+    @Test
+    void testConfirmadaSemEstoqueTerminaComoNaoAplicada() {
+        Produto produto = criarProduto("Produto Reserva Não Aplicada", 5);
+        Reserva reserva = reservaService.reservar(produto.getId(), 4, null);
+        reservaService.confirmar(reserva.getId());
+        // A aplicação não deixa a quantidade abaixo do reservado; a baixa só falha se o banco for alterado por fora
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE produtos SET quantidade = 1 WHERE id = ?", produto.getId());
+            valorEstoqueService.aplicar(ValorEstoqueService.chave(produto), new BigDecimal("-20.00"));
+        });
+        produtoCache.invalidar(produto.getId());
+
+        reservaService.aplicarConfirmadas();
+
+        assertEquals(Reserva.Status.NAO_APLICADA, reservaService.buscar(reserva.getId()).getStatus());
+        assertEquals(0, reservaService.disponibilidade(produto.getId()).getReservado());
+        assertEquals(1, produtoService.buscarPorId(produto.getId()).orElseThrow().getQuantidade());
+    }
+
+    private Produto criarProduto(String nome, int quantidade) {
+        return produtoService.salvar(new Produto(nome, null, new BigDecimal("5.00"), quantidade));
+    }
+}
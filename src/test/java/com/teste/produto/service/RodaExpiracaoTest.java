@@ -0,0 +1,44 @@
+package com.teste.produto.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RodaExpiracaoTest {
+
+    private static final Instant INICIO = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void testAvancarRetornaSomenteVencidos() {
+        RodaExpiracao roda = new RodaExpiracao(Duration.ofSeconds(1), 8, INICIO);
+        roda.agendar("a", INICIO.plusSeconds(2));
+        roda.agendar("b", INICIO.plusSeconds(5));
+
+        assertEquals(List.of(), roda.avancar(INICIO.plusSeconds(1)));
+        assertEquals(List.of("a"), roda.avancar(INICIO.plusSeconds(3)));
+        assertEquals(List.of("b"), roda.avancar(INICIO.plusSeconds(5)));
+    }
+
+    @Test
+    void testItemAlemDeUmaVoltaAguardaAVoltaCerta() {
+        RodaExpiracao roda = new RodaExpiracao(Duration.ofSeconds(1), 4, INICIO);
+        roda.agendar("longo", INICIO.plusSeconds(10));
+
+        assertEquals(List.of(), roda.avancar(INICIO.plusSeconds(4)));
+        assertEquals(List.of(), roda.avancar(INICIO.plusSeconds(8)));
+        assertEquals(List.of("longo"), roda.avancar(INICIO.plusSeconds(10)));
+    }
+
+    @Test
+    void testVencimentoPassadoSaiNoProximoAvanco() {
+        RodaExpiracao roda = new RodaExpiracao(Duration.ofSeconds(1), 4, INICIO);
+        roda.avancar(INICIO.plusSeconds(20));
+        roda.agendar("atrasado", INICIO.plusSeconds(3));
+
+        assertEquals(List.of("atrasado"), roda.avancar(INICIO.plusSeconds(21)));
+    }
+}
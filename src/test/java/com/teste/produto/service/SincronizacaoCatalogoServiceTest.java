@@ -0,0 +1,110 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.AlteracoesCatalogo;
+import com.teste.produto.model.Categoria;
+import com.teste.produto.model.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sincronização incremental contra o banco real: cada alteração avança a versão e aparece uma
+ * única vez para quem sincroniza a partir da versão anterior.
+ */
+@SpringBootTest
+class SincronizacaoCatalogoServiceTest {
+
+    @Autowired
+    private SincronizacaoCatalogoService sincronizacaoCatalogoService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Test
+    void testRetornaAlteracoesERemocoesDesdeAVersao() {
+        long desde = ultimaVersao();
+        Categoria nova = new Categoria();
+        nova.setNome("Categoria Sincronizada");
+        Categoria categoria = categoriaService.salvar(nova);
+        Produto alterado = produtoService.salvar(new Produto("Produto Sincronizado Alterado", null, new BigDecimal("5.00"), 3));
+        Produto removido = produtoService.salvar(new Produto("Produto Sincronizado Removido", null, new BigDecimal("5.00"), 3));
+        estoqueService.ajustar(alterado.getId(), 2);
+        produtoService.deletar(removido.getId());
+
+        AlteracoesCatalogo alteracoes = sincronizacaoCatalogoService.alteracoesDesde(desde, 1000);
+
+        assertFalse(alteracoes.isRessincronizar());
+        assertEquals(List.of(categoria.getId()), alteracoes.getCategorias().stream().map(Categoria::getId).toList());
+        Produto sincronizado = alteracoes.getProdutos().stream()
+                .filter(produto -> produto.getId().equals(alterado.getId())).findFirst().orElseThrow();
+        assertEquals(5, sincronizado.getQuantidade());
+        assertTrue(alteracoes.getProdutos().stream().noneMatch(produto -> produto.getId().equals(removido.getId())));
+        assertEquals(List.of(removido.getId()), alteracoes.getProdutosRemovidos());
+
+        // Sem alterações novas, a versão retornada não traz nada
+        AlteracoesCatalogo seguinte = sincronizacaoCatalogoService.alteracoesDesde(alteracoes.getVersao(), 1000);
+        assertTrue(seguinte.getProdutos().isEmpty());
+        assertTrue(seguinte.getProdutosRemovidos().isEmpty());
+        assertEquals(alteracoes.getVersao(), seguinte.getVersao());
+    }
+
+    @Test
+    void testPaginaPeloLimite() {
+        long desde = ultimaVersao();
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            criados.add(produtoService.salvar(new Produto("Produto Sincronizado Página " + i, null, new BigDecimal("1.00"), 1)).getId());
+        }
+
+        List<Long> recebidos = new ArrayList<>();
+        int paginas = 0;
+        AlteracoesCatalogo pagina;
+        do {
+            pagina = sincronizacaoCatalogoService.alteracoesDesde(desde, 2);
+            pagina.getProdutos().forEach(produto -> recebidos.add(produto.getId()));
+            desde = pagina.getVersao();
+            paginas++;
+        } while (pagina.isMaisAlteracoes());
+
+        assertTrue(recebidos.containsAll(criados));
+        assertEquals(recebidos.size(), recebidos.stream().distinct().count());
+        assertTrue(paginas >= 3);
+    }
+
+    @Test
+    void testVersaoAnteriorALapidesDescartadasPedeRessincronizacao() {
+        long desde = ultimaVersao();
+        Produto produto = produtoService.salvar(new Produto("Produto Sincronizado Descartado", null, new BigDecimal("1.00"), 1));
+        produtoService.deletar(produto.getId());
+
+        sincronizacaoCatalogoService.descartarLapidesAnterioresA(Instant.now().plusSeconds(1));
+        AlteracoesCatalogo alteracoes = sincronizacaoCatalogoService.alteracoesDesde(desde, 100);
+
+        assertTrue(alteracoes.isRessincronizar());
+        assertTrue(alteracoes.getVersao() > desde);
+        assertFalse(sincronizacaoCatalogoService.alteracoesDesde(alteracoes.getVersao(), 100).isRessincronizar());
+    }
+
+    @Test
+    void testVersaoFuturaPedeRessincronizacao() {
+        assertTrue(sincronizacaoCatalogoService.alteracoesDesde(Long.MAX_VALUE, 100).isRessincronizar());
+        assertThrows(IllegalArgumentException.class, () -> sincronizacaoCatalogoService.alteracoesDesde(-1, 100));
+    }
+
+    private long ultimaVersao() {
+        return sincronizacaoCatalogoService.alteracoesDesde(Long.MAX_VALUE, 1).getVersao();
+    }
+}
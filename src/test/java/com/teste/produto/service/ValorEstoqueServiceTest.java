@@ -0,0 +1,83 @@
+package com.teste.produto.service;
+
+import com.teste.produto.dto.ReconciliacaoValorEstoque;
+import com.teste.produto.model.ValorEstoqueCategoria;
+import com.teste.produto.repository.ProdutoRepository;
+import com.teste.produto.repository.ValorEstoqueCategoriaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ValorEstoqueServiceTest {
+
+    @Mock
+    private ValorEstoqueCategoriaRepository valorEstoqueCategoriaRepository;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @InjectMocks
+    private ValorEstoqueService valorEstoqueService;
+
+    @Test
+    void testAplicarCriaCategoriaAindaSemRegistro() {
+        // Arrange
+        when(valorEstoqueCategoriaRepository.somar(2L, new BigDecimal("50.00"))).thenReturn(1);
+        when(valorEstoqueCategoriaRepository.somar(3L, new BigDecimal("-10.00"))).thenReturn(0);
+
+        // Act
+        valorEstoqueService.aplicar(Map.of(
+                1L, BigDecimal.ZERO,
+                2L, new BigDecimal("50.00"),
+                3L, new BigDecimal("-10.00")));
+
+        // Assert
+        verify(valorEstoqueCategoriaRepository, never()).somar(eq(1L), any());
+        ArgumentCaptor<ValorEstoqueCategoria> captor = ArgumentCaptor.forClass(ValorEstoqueCategoria.class);
+        verify(valorEstoqueCategoriaRepository).save(captor.capture());
+        assertEquals(3L, captor.getValue().getCategoriaId());
+        assertEquals(new BigDecimal("-10.00"), captor.getValue().getValor());
+    }
+
+    @Test
+    void testReconciliarCorrigeEInformaDivergencias() {
+        // Arrange
+        ValorEstoqueCategoria correta = new ValorEstoqueCategoria(2L, new BigDecimal("100.00"));
+        ValorEstoqueCategoria divergente = new ValorEstoqueCategoria(3L, new BigDecimal("80.00"));
+        when(valorEstoqueCategoriaRepository.findAllParaReconciliacao()).thenReturn(List.of(correta, divergente));
+        List<ProdutoRepository.ValorPorCategoria> calculados = List.of(
+                valorPorCategoria(2L, "100.00"),
+                valorPorCategoria(3L, "90.00"));
+        when(produtoRepository.somarValorEstoquePorCategoria()).thenReturn(calculados);
+
+        // Act
+        ReconciliacaoValorEstoque resultado = valorEstoqueService.reconciliar();
+
+        // Assert
+        assertFalse(resultado.isConsistente());
+        assertEquals(new BigDecimal("190.00"), resultado.getValorTotal());
+        assertEquals(1, resultado.getDivergencias().size());
+        assertEquals(3L, resultado.getDivergencias().get(0).getCategoriaId());
+        assertEquals(new BigDecimal("90.00"), divergente.getValor());
+        verify(valorEstoqueCategoriaRepository, never()).save(any());
+    }
+
+    private ProdutoRepository.ValorPorCategoria valorPorCategoria(Long categoriaId, String valor) {
+        ProdutoRepository.ValorPorCategoria linha = mock(ProdutoRepository.ValorPorCategoria.class);
+        when(linha.getCategoriaId()).thenReturn(categoriaId);
+        when(linha.getValor()).thenReturn(new BigDecimal(valor));
+        return linha;
+    }
+}
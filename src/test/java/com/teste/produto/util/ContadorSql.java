@@ -0,0 +1,38 @@
+package com.teste.produto.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Conta os comandos SQL que o Hibernate prepara na thread atual. Registrado para todos os testes
+ * em {@code config/application.properties}; a contagem por thread ignora as tarefas agendadas.
+ *
+ * <pre>
+ * ContadorSql.zerar();
+ * mockMvc.perform(get("/api/products"));
+ * ContadorSql.assertComandos(1);
+ * </pre>
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<Integer> COMANDOS = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        COMANDOS.set(COMANDOS.get() + 1);
+        return sql;
+    }
+
+    public static void zerar() {
+        COMANDOS.set(0);
+    }
+
+    public static int comandos() {
+        return COMANDOS.get();
+    }
+
+    public static void assertComandos(int esperados) {
+        assertEquals(esperados, comandos(), "comandos SQL executados");
+    }
+}